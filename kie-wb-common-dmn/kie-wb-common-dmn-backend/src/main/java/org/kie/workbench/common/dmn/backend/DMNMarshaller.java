@@ -27,7 +27,6 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -166,13 +165,18 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                                                                                                                                                              dmnToStunner(dmn))));
 
         Optional<org.kie.dmn.model.api.dmndi.DMNDiagram> dmnDDDiagram = findDMNDiagram(dmnXml);
+        // DMNDI elements are indexed once by dmnElementRef, so each lookup below does not scan the whole diagram.
+        Map<String, DMNShape> dmnShapes = indexDMNDiagramElements(dmnDDDiagram,
+                                                                  DMNShape.class);
+        Map<String, DMNEdge> dmnEdges = indexDMNDiagramElements(dmnDDDiagram,
+                                                                DMNEdge.class);
 
         for (Entry<org.kie.dmn.model.api.DRGElement, Node> kv : elems.values()) {
             org.kie.dmn.model.api.DRGElement elem = kv.getKey();
             Node currentNode = kv.getValue();
 
             // Stunner rely on relative positioning for Edge connections, so need to cycle on DMNShape first.
-            ddExtAugmentStunner(dmnDDDiagram, currentNode);
+            ddExtAugmentStunner(dmnShapes, currentNode);
         }
 
         for (Entry<org.kie.dmn.model.api.DRGElement, Node> kv : elems.values()) {
@@ -191,7 +195,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                         connectEdge(myEdge,
                                     requiredNode,
                                     currentNode);
-                        setConnectionMagnets(myEdge, ir.getId(), dmnXml);
+                        setConnectionMagnets(myEdge, ir.getId(), dmnEdges);
                     }
                     if (ir.getRequiredDecision() != null) {
                         String reqInputID = getId(ir.getRequiredDecision());
@@ -201,7 +205,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                         connectEdge(myEdge,
                                     requiredNode,
                                     currentNode);
-                        setConnectionMagnets(myEdge, ir.getId(), dmnXml);
+                        setConnectionMagnets(myEdge, ir.getId(), dmnEdges);
                     }
                 }
                 for (org.kie.dmn.model.api.KnowledgeRequirement kr : decision.getKnowledgeRequirement()) {
@@ -212,7 +216,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                     connectEdge(myEdge,
                                 requiredNode,
                                 currentNode);
-                    setConnectionMagnets(myEdge, kr.getId(), dmnXml);
+                    setConnectionMagnets(myEdge, kr.getId(), dmnEdges);
                 }
                 for (org.kie.dmn.model.api.AuthorityRequirement kr : decision.getAuthorityRequirement()) {
                     String reqInputID = getId(kr.getRequiredAuthority());
@@ -222,7 +226,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                     connectEdge(myEdge,
                                 requiredNode,
                                 currentNode);
-                    setConnectionMagnets(myEdge, kr.getId(), dmnXml);
+                    setConnectionMagnets(myEdge, kr.getId(), dmnEdges);
                 }
             } else if (elem instanceof org.kie.dmn.model.api.BusinessKnowledgeModel) {
                 org.kie.dmn.model.api.BusinessKnowledgeModel bkm = (org.kie.dmn.model.api.BusinessKnowledgeModel) elem;
@@ -234,7 +238,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                     connectEdge(myEdge,
                                 requiredNode,
                                 currentNode);
-                    setConnectionMagnets(myEdge, kr.getId(), dmnXml);
+                    setConnectionMagnets(myEdge, kr.getId(), dmnEdges);
                 }
                 for (org.kie.dmn.model.api.AuthorityRequirement kr : bkm.getAuthorityRequirement()) {
                     String reqInputID = getId(kr.getRequiredAuthority());
@@ -244,7 +248,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                     connectEdge(myEdge,
                                 requiredNode,
                                 currentNode);
-                    setConnectionMagnets(myEdge, kr.getId(), dmnXml);
+                    setConnectionMagnets(myEdge, kr.getId(), dmnEdges);
                 }
             } else if (elem instanceof org.kie.dmn.model.api.KnowledgeSource) {
                 org.kie.dmn.model.api.KnowledgeSource ks = (org.kie.dmn.model.api.KnowledgeSource) elem;
@@ -257,7 +261,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                         connectEdge(myEdge,
                                     requiredNode,
                                     currentNode);
-                        setConnectionMagnets(myEdge, ir.getId(), dmnXml);
+                        setConnectionMagnets(myEdge, ir.getId(), dmnEdges);
                     }
                     if (ir.getRequiredDecision() != null) {
                         String reqInputID = getId(ir.getRequiredDecision());
@@ -267,7 +271,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                         connectEdge(myEdge,
                                     requiredNode,
                                     currentNode);
-                        setConnectionMagnets(myEdge, ir.getId(), dmnXml);
+                        setConnectionMagnets(myEdge, ir.getId(), dmnEdges);
                     }
                     if (ir.getRequiredAuthority() != null) {
                         String reqInputID = getId(ir.getRequiredAuthority());
@@ -277,7 +281,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                         connectEdge(myEdge,
                                     requiredNode,
                                     currentNode);
-                        setConnectionMagnets(myEdge, ir.getId(), dmnXml);
+                        setConnectionMagnets(myEdge, ir.getId(), dmnEdges);
                     }
                 }
             }
@@ -286,7 +290,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
         Map<String, Node<View<TextAnnotation>, ?>> textAnnotations = dmnXml.getArtifact().stream().filter(org.kie.dmn.model.api.TextAnnotation.class::isInstance).map(org.kie.dmn.model.api.TextAnnotation.class::cast)
                 .collect(Collectors.toMap(org.kie.dmn.model.api.TextAnnotation::getId,
                                           textAnnotationConverter::nodeFromDMN));
-        textAnnotations.values().forEach(n -> ddExtAugmentStunner(dmnDDDiagram, n));
+        textAnnotations.values().forEach(n -> ddExtAugmentStunner(dmnShapes, n));
 
         List<org.kie.dmn.model.api.Association> associations = dmnXml.getArtifact().stream().filter(org.kie.dmn.model.api.Association.class::isInstance).map(org.kie.dmn.model.api.Association.class::cast).collect(
                 Collectors.toList());
@@ -310,7 +314,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
             connectEdge(myEdge,
                         sourceNode,
                         targetNode);
-            setConnectionMagnets(myEdge, a.getId(), dmnXml);
+            setConnectionMagnets(myEdge, a.getId(), dmnEdges);
         }
 
         Graph graph = factoryManager.newDiagram("prova",
@@ -383,18 +387,10 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
     }
 
     @SuppressWarnings("unchecked")
-    private void setConnectionMagnets(final Edge edge, String dmnEdgeElementRef, org.kie.dmn.model.api.Definitions dmnXml) {
+    private void setConnectionMagnets(final Edge edge, String dmnEdgeElementRef, Map<String, DMNEdge> dmnEdges) {
         final ViewConnector connectionContent = (ViewConnector) edge.getContent();
 
-        Optional<org.kie.dmn.model.api.dmndi.DMNDiagram> dmnDiagram = findDMNDiagram(dmnXml);
-        Optional<DMNEdge> dmnEdge = Optional.empty();
-        if (dmnDiagram.isPresent()) {
-            dmnEdge = dmnDiagram.get().getDMNDiagramElement().stream()
-                                .filter(DMNEdge.class::isInstance)
-                                .map(DMNEdge.class::cast)
-                                .filter(e -> e.getDmnElementRef().getLocalPart().equals(dmnEdgeElementRef))
-                                .findFirst();
-        }
+        Optional<DMNEdge> dmnEdge = Optional.ofNullable(dmnEdgeElementRef).map(dmnEdges::get);
         if (dmnEdge.isPresent()) {
             DMNEdge e = dmnEdge.get();
             Point source = e.getWaypoint().get(0);
@@ -554,38 +550,67 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
         return marshaller.marshal(definitions);
     }
 
-    private void ddExtAugmentStunner(Optional<org.kie.dmn.model.api.dmndi.DMNDiagram> dmnDDDiagram, Node currentNode) {
+    /**
+     * Indexes the DMNDI elements of the given type by the local part of their dmnElementRef. When several elements
+     * refer to the same DMN element the first one wins, as it did when the diagram was scanned for each lookup.
+     */
+    static <T> Map<String, T> indexDMNDiagramElements(final Optional<org.kie.dmn.model.api.dmndi.DMNDiagram> dmnDDDiagram,
+                                                    final Class<T> type) {
+        final Map<String, T> result = new HashMap<>();
         if (!dmnDDDiagram.isPresent()) {
-            return;
+            return result;
+        }
+        for (Object element : dmnDDDiagram.get().getDMNDiagramElement()) {
+            if (type.isInstance(element)) {
+                final T typed = type.cast(element);
+                final QName elementRef = dmnElementRefOf(typed);
+                if (null != elementRef) {
+                    result.putIfAbsent(elementRef.getLocalPart(),
+                                       typed);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static QName dmnElementRefOf(final Object element) {
+        if (element instanceof DMNShape) {
+            return ((DMNShape) element).getDmnElementRef();
+        } else if (element instanceof DMNEdge) {
+            return ((DMNEdge) element).getDmnElementRef();
         }
+        return null;
+    }
 
-        Stream<DMNShape> drgShapeStream = dmnDDDiagram.get().getDMNDiagramElement().stream().filter(DMNShape.class::isInstance).map(DMNShape.class::cast);
+    private void ddExtAugmentStunner(Map<String, DMNShape> dmnShapes, Node currentNode) {
+        if (dmnShapes.isEmpty()) {
+            return;
+        }
 
         View content = (View) currentNode.getContent();
         if (content.getDefinition() instanceof Decision) {
             Decision d = (Decision) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(dmnShapes, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof InputData) {
             InputData d = (InputData) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(dmnShapes, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof BusinessKnowledgeModel) {
             BusinessKnowledgeModel d = (BusinessKnowledgeModel) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(dmnShapes, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof KnowledgeSource) {
             KnowledgeSource d = (KnowledgeSource) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(dmnShapes, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof TextAnnotation) {
             TextAnnotation d = (TextAnnotation) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(dmnShapes, d.getId(), upperLeftBound(content), d.getDimensionsSet(), lowerRightBound(content), d.getBackgroundSet(), d::setFontSet);
         }
     }
 
-    private void internalAugment(Stream<DMNShape> drgShapeStream, Id id, Bound ul, RectangleDimensionsSet dimensionsSet, Bound lr, BackgroundSet bgset, Consumer<FontSet> fontSetSetter) {
-        Optional<DMNShape> drgShapeOpt = drgShapeStream.filter(shape -> shape.getDmnElementRef().getLocalPart().equals(id.getValue())).findFirst();
-        if (!drgShapeOpt.isPresent()) {
+    private void internalAugment(Map<String, DMNShape> dmnShapes, Id id, Bound ul, RectangleDimensionsSet dimensionsSet, Bound lr, BackgroundSet bgset, Consumer<FontSet> fontSetSetter) {
+        DMNShape drgShape = null != id.getValue() ? dmnShapes.get(id.getValue()) : null;
+        if (null == drgShape) {
             return;
         }
-        DMNShape drgShape = drgShapeOpt.get();
 
         if (ul != null) {
             ((BoundImpl) ul).setX(xOfShape(drgShape));
@@ -39,6 +39,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.enterprise.inject.spi.BeanManager;
+import javax.xml.namespace.QName;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
@@ -423,6 +424,61 @@ public class DMNMarshallerTest {
         assertDMNStyle("Monospaced", 32, 55, 66, 77, (DMNStyle) mydecision.getStyle());
     }
 
+    @Test
+    public void testIndexDMNDiagramElementsFirstShapeWins() {
+        final org.kie.dmn.model.api.dmndi.DMNDiagram diagram = new org.kie.dmn.model.v1_2.dmndi.DMNDiagram();
+        final DMNShape first = newShape("_decision");
+        final DMNShape second = newShape("_decision");
+        diagram.getDMNDiagramElement().add(first);
+        diagram.getDMNDiagramElement().add(second);
+
+        final Map<String, DMNShape> shapes = DMNMarshaller.indexDMNDiagramElements(Optional.of(diagram),
+                                                                                   DMNShape.class);
+
+        assertEquals(1, shapes.size());
+        assertThat(shapes.get("_decision")).isSameAs(first);
+    }
+
+    @Test
+    public void testIndexDMNDiagramElementsSkipsShapesWithoutElementRef() {
+        final org.kie.dmn.model.api.dmndi.DMNDiagram diagram = new org.kie.dmn.model.v1_2.dmndi.DMNDiagram();
+        final DMNShape shape = newShape("_decision");
+        diagram.getDMNDiagramElement().add(new org.kie.dmn.model.v1_2.dmndi.DMNShape());
+        diagram.getDMNDiagramElement().add(shape);
+
+        final Map<String, DMNShape> shapes = DMNMarshaller.indexDMNDiagramElements(Optional.of(diagram),
+                                                                                   DMNShape.class);
+
+        assertEquals(1, shapes.size());
+        assertThat(shapes.get("_decision")).isSameAs(shape);
+    }
+
+    @Test
+    public void testIndexDMNDiagramElementsEdgeWithoutDMNDI() {
+        final org.kie.dmn.model.api.dmndi.DMNDiagram diagram = new org.kie.dmn.model.v1_2.dmndi.DMNDiagram();
+        final DMNEdge edge = new org.kie.dmn.model.v1_2.dmndi.DMNEdge();
+        edge.setDmnElementRef(new QName("_requirement"));
+        diagram.getDMNDiagramElement().add(newShape("_decision"));
+        diagram.getDMNDiagramElement().add(edge);
+
+        final Map<String, DMNEdge> edges = DMNMarshaller.indexDMNDiagramElements(Optional.of(diagram),
+                                                                                 DMNEdge.class);
+
+        assertEquals(1, edges.size());
+        assertThat(edges.get("_requirement")).isSameAs(edge);
+        // a requirement without DMNDI has no edge, its connections fall back to the node centers
+        assertNull(edges.get("_otherRequirement"));
+        assertNull(edges.get("_decision"));
+        assertTrue(DMNMarshaller.indexDMNDiagramElements(Optional.empty(),
+                                                         DMNEdge.class).isEmpty());
+    }
+
+    private static DMNShape newShape(String dmnElementRef) {
+        final DMNShape shape = new org.kie.dmn.model.v1_2.dmndi.DMNShape();
+        shape.setDmnElementRef(new QName(dmnElementRef));
+        return shape;
+    }
+
     private void assertDMNStyle(String fontName, double fontSize, int r, int g, int b, DMNStyle style) {
         assertEquals(fontName, style.getFontFamily());
         assertEquals(fontSize, style.getFontSize(), 0);
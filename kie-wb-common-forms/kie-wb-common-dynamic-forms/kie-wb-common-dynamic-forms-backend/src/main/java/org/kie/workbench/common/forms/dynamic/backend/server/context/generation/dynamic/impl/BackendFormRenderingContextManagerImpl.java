@@ -17,8 +17,12 @@
 package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.enterprise.context.SessionScoped;
 import javax.inject.Inject;
@@ -34,22 +38,65 @@ import org.kie.workbench.common.forms.model.FormDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the form rendering contexts of the session.
+ * <p>
+ * The number of contexts is bounded by the {@value #MAX_CONTEXTS_PROPERTY} system property: when it's
+ * exceeded the least recently accessed contexts are evicted. The contexts that haven't been accessed
+ * for the milliseconds given by the {@value #EXPIRATION_PROPERTY} system property are removed too. The
+ * expiration is disabled by default (zero): the contexts already live as long as the http session and a
+ * task form can be left open and submitted at any time while the session is alive, so a shorter
+ * expiration would make its submit fail. Both checks are done when the contexts are registered or looked
+ * up, so no background tasks are needed.
+ */
 @SessionScoped
 public class BackendFormRenderingContextManagerImpl implements BackendFormRenderingContextManager {
 
+    static final String MAX_CONTEXTS_PROPERTY = "org.kie.forms.renderingContexts.max";
+    static final int DEFAULT_MAX_CONTEXTS = 100;
+
+    static final String EXPIRATION_PROPERTY = "org.kie.forms.renderingContexts.expiration";
+    static final long DEFAULT_EXPIRATION = 0;
+
     private static final Logger logger = LoggerFactory.getLogger(BackendFormRenderingContextManagerImpl.class);
 
-    protected Map<Long, BackendFormRenderingContextImpl> contexts = new HashMap<>();
+    // The context ids are timestamps, kept unique among all the sessions.
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+
+    protected Map<Long, ContextEntry> contexts = new ConcurrentHashMap<>();
 
     protected FieldValueMarshallerRegistry registry;
 
     protected ContextModelConstraintsExtractor constraintsExtractor;
 
+    protected int maxContexts;
+
+    protected long expiration;
+
+    protected AtomicLong evictedContexts = new AtomicLong();
+
+    protected AtomicLong expiredContexts = new AtomicLong();
+
     @Inject
     public BackendFormRenderingContextManagerImpl(FieldValueMarshallerRegistry registry,
                                                   ContextModelConstraintsExtractor constraintsExtractor) {
+        this(registry,
+             constraintsExtractor,
+             Integer.getInteger(MAX_CONTEXTS_PROPERTY,
+                                DEFAULT_MAX_CONTEXTS),
+             Long.getLong(EXPIRATION_PROPERTY,
+                          DEFAULT_EXPIRATION));
+    }
+
+    BackendFormRenderingContextManagerImpl(FieldValueMarshallerRegistry registry,
+                                           ContextModelConstraintsExtractor constraintsExtractor,
+                                           int maxContexts,
+                                           long expiration) {
         this.registry = registry;
         this.constraintsExtractor = constraintsExtractor;
+        this.maxContexts = Math.max(1,
+                                    maxContexts);
+        this.expiration = expiration;
     }
 
     @Override
@@ -67,14 +114,16 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
                                                        Map<String, String> params,
                                                        FormDefinition... nestedForms) {
 
-        MapModelRenderingContext clientRenderingContext = new MapModelRenderingContext(String.valueOf(System.currentTimeMillis()));
+        long timestamp = nextTimestamp();
+
+        MapModelRenderingContext clientRenderingContext = new MapModelRenderingContext(String.valueOf(timestamp));
 
         clientRenderingContext.setRootForm(rootForm);
 
         Arrays.stream(nestedForms).forEach(form -> clientRenderingContext.getAvailableForms().put(form.getId(),
                                                                                                   form));
 
-        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl(System.currentTimeMillis(),
+        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl(timestamp,
                                                                                       clientRenderingContext,
                                                                                       formData,
                                                                                       classLoader,
@@ -101,7 +150,10 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
         clientRenderingContext.setModel(clientFormData);
 
         contexts.put(context.getTimestamp(),
-                     context);
+                     new ContextEntry(context,
+                                      currentTime()));
+
+        evictContexts();
 
         return context;
     }
@@ -110,7 +162,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
     public BackendFormRenderingContext updateContextData(long timestamp,
                                                          Map<String, Object> formValues) {
 
-        BackendFormRenderingContextImpl context = contexts.get(timestamp);
+        BackendFormRenderingContextImpl context = lookupContext(timestamp);
 
         if (context == null) {
             throw new IllegalArgumentException("Unable to find context with id '" + timestamp + "'");
@@ -139,11 +191,119 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
     @Override
     public BackendFormRenderingContext getContext(Long timestamp) {
-        return contexts.get(timestamp);
+        return lookupContext(timestamp);
     }
 
     @Override
     public boolean removeContext(Long timestamp) {
-        return contexts.remove(timestamp) != null;
+        return timestamp != null && contexts.remove(timestamp) != null;
+    }
+
+    public int getLiveContextsCount() {
+        return contexts.size();
+    }
+
+    public long getEvictedContextsCount() {
+        return evictedContexts.get();
+    }
+
+    public long getExpiredContextsCount() {
+        return expiredContexts.get();
+    }
+
+    /**
+     * @return the average number of form data entries held by the live contexts, the size of the
+     * entry values is not measured.
+     */
+    public double getAverageFormDataEntries() {
+        return contexts.values().stream()
+                .map(entry -> entry.context.getFormData())
+                .mapToInt(formData -> formData != null ? formData.size() : 0)
+                .average()
+                .orElse(0);
+    }
+
+    protected BackendFormRenderingContextImpl lookupContext(Long timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+
+        ContextEntry entry = contexts.get(timestamp);
+
+        if (entry == null) {
+            return null;
+        }
+
+        long now = currentTime();
+
+        if (isExpired(entry,
+                      now)) {
+            if (contexts.remove(timestamp,
+                                entry)) {
+                expiredContexts.incrementAndGet();
+            }
+            return null;
+        }
+
+        entry.lastAccess = now;
+
+        return entry.context;
+    }
+
+    protected void evictContexts() {
+        long now = currentTime();
+
+        contexts.forEach((timestamp, entry) -> {
+            if (isExpired(entry,
+                          now) && contexts.remove(timestamp,
+                                                  entry)) {
+                expiredContexts.incrementAndGet();
+            }
+        });
+
+        while (contexts.size() > maxContexts) {
+            Optional<Map.Entry<Long, ContextEntry>> eldest = contexts.entrySet().stream()
+                    .min(Comparator.comparingLong(contextEntry -> contextEntry.getValue().lastAccess));
+
+            if (!eldest.isPresent()) {
+                break;
+            }
+
+            if (contexts.remove(eldest.get().getKey(),
+                                eldest.get().getValue())) {
+                evictedContexts.incrementAndGet();
+                logger.debug("Rendering context '{}' evicted, the maximum of {} contexts was exceeded",
+                             eldest.get().getKey(),
+                             maxContexts);
+            }
+        }
+    }
+
+    protected boolean isExpired(ContextEntry entry,
+                                long now) {
+        return expiration > 0 && now - entry.lastAccess > expiration;
+    }
+
+    protected long nextTimestamp() {
+        long now = currentTime();
+        return lastTimestamp.updateAndGet(last -> Math.max(now,
+                                                           last + 1));
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    protected static class ContextEntry {
+
+        protected final BackendFormRenderingContextImpl context;
+
+        protected volatile long lastAccess;
+
+        public ContextEntry(BackendFormRenderingContextImpl context,
+                            long lastAccess) {
+            this.context = context;
+            this.lastAccess = lastAccess;
+        }
     }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.marshalling.FieldValueMarshallerRegistry;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.validation.ContextModelConstraintsExtractor;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BackendFormRenderingContextManagerImplTest {
+
+    @Mock
+    private FieldValueMarshallerRegistry registry;
+
+    @Mock
+    private ContextModelConstraintsExtractor constraintsExtractor;
+
+    private long now = 1000;
+
+    private BackendFormRenderingContextManagerImpl contextManager;
+
+    @Test
+    public void testContextIdsAreUnique() {
+        init(100,
+             0);
+
+        Set<Long> timestamps = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            timestamps.add(registerContext());
+        }
+
+        assertEquals(10,
+                     timestamps.size());
+        assertEquals(10,
+                     contextManager.getLiveContextsCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedContextsAreEvicted() {
+        init(2,
+             0);
+
+        Long first = registerContext();
+        now++;
+        Long second = registerContext();
+        now++;
+        assertNotNull(contextManager.getContext(first));
+        now++;
+        Long third = registerContext();
+
+        assertNotNull(contextManager.getContext(first));
+        assertNull(contextManager.getContext(second));
+        assertNotNull(contextManager.getContext(third));
+        assertEquals(2,
+                     contextManager.getLiveContextsCount());
+        assertEquals(1,
+                     contextManager.getEvictedContextsCount());
+    }
+
+    @Test
+    public void testContextsExpire() {
+        init(100,
+             1000);
+
+        Long first = registerContext();
+        now += 600;
+        Long second = registerContext();
+        now += 600;
+
+        assertNull(contextManager.getContext(first));
+        assertNotNull(contextManager.getContext(second));
+
+        //each access extends the expiration.
+        now += 600;
+        assertNotNull(contextManager.getContext(second));
+
+        now += 1001;
+        registerContext();
+
+        assertEquals(1,
+                     contextManager.getLiveContextsCount());
+        assertEquals(2,
+                     contextManager.getExpiredContextsCount());
+        assertEquals(0,
+                     contextManager.getEvictedContextsCount());
+    }
+
+    @Test
+    public void testIdleContextsCanBeSubmittedByDefault() {
+        contextManager = new BackendFormRenderingContextManagerImpl(registry,
+                                                                    constraintsExtractor) {
+            @Override
+            protected long currentTime() {
+                return now;
+            }
+        };
+
+        Long timestamp = registerContext();
+
+        //a task form left open for a whole day.
+        now += 24 * 60 * 60 * 1000;
+
+        assertNotNull(contextManager.updateContextData(timestamp,
+                                                       new HashMap<>()));
+        assertEquals(0,
+                     contextManager.getExpiredContextsCount());
+    }
+
+    @Test
+    public void testSubmitExpiredContext() {
+        init(100,
+             1000);
+
+        Long timestamp = registerContext();
+        now += 1001;
+
+        try {
+            contextManager.updateContextData(timestamp,
+                                             new HashMap<>());
+            fail("Expired contexts shouldn't be updated");
+        } catch (IllegalArgumentException ex) {
+            assertEquals(1,
+                         contextManager.getExpiredContextsCount());
+            assertEquals(0,
+                         contextManager.getLiveContextsCount());
+        }
+    }
+
+    @Test
+    public void testAverageFormDataEntries() {
+        init(100,
+             0);
+
+        Map<String, Object> formData = new HashMap<>();
+        formData.put("name",
+                     "John");
+        formData.put("lastName",
+                     "Doe");
+
+        Long timestamp = registerContext();
+        contextManager.registerContext(new FormDefinition(),
+                                       formData,
+                                       getClass().getClassLoader());
+
+        assertEquals(1,
+                     contextManager.getAverageFormDataEntries(),
+                     0.01);
+
+        contextManager.removeContext(timestamp);
+
+        assertEquals(2,
+                     contextManager.getAverageFormDataEntries(),
+                     0.01);
+    }
+
+    private void init(int maxContexts,
+                      long expiration) {
+        contextManager = new BackendFormRenderingContextManagerImpl(registry,
+                                                                    constraintsExtractor,
+                                                                    maxContexts,
+                                                                    expiration) {
+            @Override
+            protected long currentTime() {
+                return now;
+            }
+        };
+    }
+
+    private Long registerContext() {
+        return contextManager.registerContext(new FormDefinition(),
+                                              new HashMap<>(),
+                                              getClass().getClassLoader()).getTimestamp();
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaFormModel;
+import org.kie.workbench.common.forms.services.backend.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps an in-memory index of the forms of each module, by form id and by model type, so the forms
+ * can be found without scanning and deserializing all the forms in the module.
+ * <p>
+ * The index for a module is built on the first lookup on it and then kept up to date from the vfs
+ * resource events: the changed form files are marked as dirty and read again on the next lookup on
+ * the module. The deserialized {@link FormDefinition}s are kept in a bounded cache, validated against
+ * the hash of the file content, so unchanged forms are not deserialized again. The cache size is given
+ * by the {@value #CACHE_SIZE_PROPERTY} system property.
+ * <p>
+ * The cached definitions are shared by all the lookups, so they must not be modified.
+ */
+@ApplicationScoped
+public class VFSFormDefinitionIndex {
+
+    static final String CACHE_SIZE_PROPERTY = "org.kie.forms.editor.formDefinitionCache.size";
+    static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(VFSFormDefinitionIndex.class);
+
+    private IOService ioService;
+
+    private FormDefinitionSerializer serializer;
+
+    private final Map<String, ModuleForms> modules = new ConcurrentHashMap<>();
+
+    private Map<String, CachedForm> definitions;
+
+    public VFSFormDefinitionIndex() {
+        //Zero-arg constructor for CDI proxying
+    }
+
+    @Inject
+    public VFSFormDefinitionIndex(@Named("ioStrategy") IOService ioService,
+                                  FormDefinitionSerializer serializer) {
+        this(ioService,
+             serializer,
+             Integer.getInteger(CACHE_SIZE_PROPERTY,
+                                DEFAULT_CACHE_SIZE));
+    }
+
+    VFSFormDefinitionIndex(IOService ioService,
+                           FormDefinitionSerializer serializer,
+                           int cacheSize) {
+        this.ioService = ioService;
+        this.serializer = serializer;
+        this.definitions = Collections.synchronizedMap(new LinkedHashMap<String, CachedForm>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedForm> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public List<FormDefinition> findAllForms(Path moduleRoot) {
+        ModuleForms moduleForms = getModuleForms(moduleRoot);
+        return loadForms(moduleForms,
+                         moduleForms.getAllPaths(),
+                         form -> true);
+    }
+
+    public List<FormDefinition> findFormsForType(Path moduleRoot,
+                                                 String typeName) {
+        ModuleForms moduleForms = getModuleForms(moduleRoot);
+        return loadForms(moduleForms,
+                         moduleForms.getPathsForType(typeName),
+                         form -> typeName.equals(getModelType(form)));
+    }
+
+    public FormDefinition findFormById(Path moduleRoot,
+                                       String id) {
+        ModuleForms moduleForms = getModuleForms(moduleRoot);
+        List<FormDefinition> forms = loadForms(moduleForms,
+                                               moduleForms.getPathsForId(id),
+                                               form -> id.equals(form.getId()));
+        return forms.isEmpty() ? null : forms.get(0);
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        onFormChanged(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        onFormChanged(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        onFormChanged(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        onFormChanged(event.getPath());
+        onFormChanged(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::onFormChanged);
+    }
+
+    public void clear() {
+        modules.clear();
+        definitions.clear();
+    }
+
+    int getCachedFormsCount() {
+        return definitions.size();
+    }
+
+    private void onFormChanged(Path path) {
+        if (path == null || !path.getFileName().endsWith("." + FormResourceTypeDefinition.EXTENSION)) {
+            return;
+        }
+        modules.values().stream()
+                .filter(moduleForms -> moduleForms.contains(path))
+                .forEach(moduleForms -> moduleForms.markDirty(path));
+    }
+
+    private ModuleForms getModuleForms(Path moduleRoot) {
+        ModuleForms moduleForms = modules.computeIfAbsent(moduleRoot.toURI(),
+                                                          uri -> new ModuleForms(moduleRoot));
+        moduleForms.refresh();
+        return moduleForms;
+    }
+
+    private List<FormDefinition> loadForms(ModuleForms moduleForms,
+                                           Collection<org.uberfire.java.nio.file.Path> formPaths,
+                                           Predicate<FormDefinition> constraint) {
+        List<FormDefinition> result = new ArrayList<>();
+        for (org.uberfire.java.nio.file.Path formPath : formPaths) {
+            FormDefinition form = readForm(formPath);
+            // the index is fixed if the file changed and the event was not received yet.
+            moduleForms.update(formPath,
+                               form);
+            if (form != null && constraint.test(form)) {
+                result.add(form);
+            }
+        }
+        return result;
+    }
+
+    private FormDefinition readForm(org.uberfire.java.nio.file.Path formPath) {
+        String uri = formPath.toUri().toString();
+        try {
+            if (!ioService.exists(formPath)) {
+                definitions.remove(uri);
+                return null;
+            }
+
+            String content = ioService.readAllString(formPath).trim();
+            String hash = FileHashingUtils.md5Hex(content);
+
+            CachedForm cachedForm = definitions.get(uri);
+            if (cachedForm != null && cachedForm.hash.equals(hash)) {
+                return cachedForm.form;
+            }
+
+            FormDefinition form = serializer.deserialize(content);
+            if (form != null) {
+                definitions.put(uri,
+                                new CachedForm(hash,
+                                               form));
+            }
+            return form;
+        } catch (Exception ex) {
+            logger.warn("Unable to generate FormDefinition for {}",
+                        formPath,
+                        ex);
+            return null;
+        }
+    }
+
+    private static String getModelType(FormDefinition form) {
+        if (form.getModel() instanceof JavaFormModel) {
+            return ((JavaFormModel) form.getModel()).getType();
+        }
+        return null;
+    }
+
+    private static void addPath(Map<String, Set<String>> index,
+                                String key,
+                                String uri) {
+        if (key != null) {
+            index.computeIfAbsent(key,
+                                  k -> new LinkedHashSet<>()).add(uri);
+        }
+    }
+
+    private static void removePath(Map<String, Set<String>> index,
+                                   String key,
+                                   String uri) {
+        if (key != null) {
+            Set<String> uris = index.get(key);
+            if (uris != null) {
+                uris.remove(uri);
+                if (uris.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * The forms index for a module.
+     */
+    private class ModuleForms {
+
+        private final Path root;
+
+        private final String rootUri;
+
+        private final Set<Path> dirtyPaths = ConcurrentHashMap.newKeySet();
+
+        private final Map<String, FormEntry> entries = new LinkedHashMap<>();
+
+        private final Map<String, Set<String>> pathsById = new HashMap<>();
+
+        private final Map<String, Set<String>> pathsByType = new HashMap<>();
+
+        private boolean initialized = false;
+
+        ModuleForms(Path root) {
+            this.root = root;
+            this.rootUri = root.toURI().endsWith("/") ? root.toURI() : root.toURI() + "/";
+        }
+
+        boolean contains(Path path) {
+            return path.toURI().startsWith(rootUri);
+        }
+
+        void markDirty(Path path) {
+            dirtyPaths.add(path);
+        }
+
+        synchronized void refresh() {
+            if (!initialized) {
+                // the changes received while scanning are processed on the next lookup.
+                dirtyPaths.clear();
+                List<org.uberfire.java.nio.file.Path> rootPaths = new ArrayList<>();
+                rootPaths.add(Paths.convert(root));
+                Collection<FileUtils.ScanResult> forms = FileUtils.getInstance().scan(ioService,
+                                                                                      rootPaths,
+                                                                                      FormResourceTypeDefinition.EXTENSION,
+                                                                                      true);
+                for (FileUtils.ScanResult form : forms) {
+                    update(form.getFile(),
+                           readForm(form.getFile()));
+                }
+                initialized = true;
+            } else {
+                for (Iterator<Path> it = dirtyPaths.iterator(); it.hasNext(); ) {
+                    org.uberfire.java.nio.file.Path formPath = Paths.convert(it.next());
+                    it.remove();
+                    update(formPath,
+                           readForm(formPath));
+                }
+            }
+        }
+
+        synchronized void update(org.uberfire.java.nio.file.Path formPath,
+                                 FormDefinition form) {
+            String uri = formPath.toUri().toString();
+            FormEntry previous = entries.get(uri);
+            if (previous != null) {
+                removePath(pathsById,
+                           previous.id,
+                           uri);
+                removePath(pathsByType,
+                           previous.type,
+                           uri);
+            }
+            if (form != null) {
+                FormEntry entry = new FormEntry(formPath,
+                                                form.getId(),
+                                                getModelType(form));
+                entries.put(uri,
+                            entry);
+                addPath(pathsById,
+                        entry.id,
+                        uri);
+                addPath(pathsByType,
+                        entry.type,
+                        uri);
+            } else {
+                entries.remove(uri);
+            }
+        }
+
+        synchronized List<org.uberfire.java.nio.file.Path> getAllPaths() {
+            return entries.values().stream()
+                    .map(entry -> entry.path)
+                    .collect(Collectors.toList());
+        }
+
+        synchronized List<org.uberfire.java.nio.file.Path> getPathsForId(String id) {
+            return getPaths(pathsById.get(id));
+        }
+
+        synchronized List<org.uberfire.java.nio.file.Path> getPathsForType(String type) {
+            return getPaths(pathsByType.get(type));
+        }
+
+        private List<org.uberfire.java.nio.file.Path> getPaths(Set<String> uris) {
+            if (uris == null) {
+                return Collections.emptyList();
+            }
+            return uris.stream()
+                    .map(uri -> entries.get(uri).path)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class FormEntry {
+
+        private final org.uberfire.java.nio.file.Path path;
+
+        private final String id;
+
+        private final String type;
+
+        FormEntry(org.uberfire.java.nio.file.Path path,
+                  String id,
+                  String type) {
+            this.path = path;
+            this.id = id;
+            this.type = type;
+        }
+    }
+
+    private static class CachedForm {
+
+        private final String hash;
+
+        private final FormDefinition form;
+
+        CachedForm(String hash,
+                   FormDefinition form) {
+            this.hash = hash;
+            this.form = form;
+        }
+    }
+}
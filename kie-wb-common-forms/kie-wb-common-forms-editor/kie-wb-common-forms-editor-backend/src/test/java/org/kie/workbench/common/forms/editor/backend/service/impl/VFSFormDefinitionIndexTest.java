@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaFormModel;
+import org.kie.workbench.common.forms.services.backend.serialization.FormDefinitionSerializer;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class VFSFormDefinitionIndexTest {
+
+    private static final String PERSON_TYPE = "org.test.Person";
+
+    private static final String ADDRESS_TYPE = "org.test.Address";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private FormDefinitionSerializer serializer;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private File rootDir;
+
+    private Path rootPath;
+
+    private VFSFormDefinitionIndex index;
+
+    @Before
+    public void init() throws Exception {
+        rootDir = java.nio.file.Files.createTempDirectory("forms").toFile();
+
+        SimpleFileSystemProvider simpleFileSystemProvider = new SimpleFileSystemProvider();
+        simpleFileSystemProvider.forceAsDefault();
+        rootPath = simpleFileSystemProvider.getPath(rootDir.toURI());
+
+        when(ioService.newDirectoryStream(any(),
+                                          any())).thenAnswer(invocationOnMock -> Files.newDirectoryStream((Path) invocationOnMock.getArguments()[0],
+                                                                                                          (DirectoryStream.Filter<Path>) invocationOnMock.getArguments()[1]));
+        when(ioService.exists(any())).thenAnswer(invocationOnMock -> ((Path) invocationOnMock.getArguments()[0]).toFile().exists());
+        when(ioService.readAllString(any())).thenAnswer(invocationOnMock -> FileUtils.readFileToString(((Path) invocationOnMock.getArguments()[0]).toFile(),
+                                                                                                       StandardCharsets.UTF_8));
+        //the test forms content is just "id:type".
+        when(serializer.deserialize(anyString())).thenAnswer(invocationOnMock -> {
+            String[] content = ((String) invocationOnMock.getArguments()[0]).split(":");
+            JavaFormModel model = mock(JavaFormModel.class);
+            when(model.getType()).thenReturn(content[1]);
+            FormDefinition form = new FormDefinition(model);
+            form.setId(content[0]);
+            return form;
+        });
+
+        writeForm("person.frm",
+                  "person",
+                  PERSON_TYPE);
+        writeForm("person-copy.frm",
+                  "person-copy",
+                  PERSON_TYPE);
+        writeForm("nested/address.frm",
+                  "address",
+                  ADDRESS_TYPE);
+
+        index = new VFSFormDefinitionIndex(ioService,
+                                           serializer,
+                                           10);
+    }
+
+    @After
+    public void clean() throws IOException {
+        FileUtils.deleteDirectory(rootDir);
+    }
+
+    @Test
+    public void testFindForms() {
+        assertEquals(3,
+                     index.findAllForms(Paths.convert(rootPath)).size());
+
+        List<FormDefinition> personForms = index.findFormsForType(Paths.convert(rootPath),
+                                                                  PERSON_TYPE);
+        assertEquals(2,
+                     personForms.size());
+
+        FormDefinition addressForm = index.findFormById(Paths.convert(rootPath),
+                                                        "address");
+        assertNotNull(addressForm);
+        assertEquals(ADDRESS_TYPE,
+                     ((JavaFormModel) addressForm.getModel()).getType());
+        assertNull(index.findFormById(Paths.convert(rootPath),
+                                      "unknown"));
+
+        //unchanged forms are deserialized just once.
+        assertSame(addressForm,
+                   index.findFormById(Paths.convert(rootPath),
+                                      "address"));
+        verify(serializer,
+               times(3)).deserialize(anyString());
+    }
+
+    @Test
+    public void testIndexUpdatedFromEvents() throws IOException {
+        assertEquals(3,
+                     index.findAllForms(Paths.convert(rootPath)).size());
+
+        Path personCopy = writeForm("person-copy.frm",
+                                    "address-copy",
+                                    ADDRESS_TYPE);
+        index.onResourceUpdated(new ResourceUpdatedEvent(Paths.convert(personCopy),
+                                                         "",
+                                                         sessionInfo));
+
+        assertNull(index.findFormById(Paths.convert(rootPath),
+                                      "person-copy"));
+        assertNotNull(index.findFormById(Paths.convert(rootPath),
+                                         "address-copy"));
+        assertEquals(1,
+                     index.findFormsForType(Paths.convert(rootPath),
+                                            PERSON_TYPE).size());
+        assertEquals(2,
+                     index.findFormsForType(Paths.convert(rootPath),
+                                            ADDRESS_TYPE).size());
+
+        Path person = rootPath.resolve("person.frm");
+        person.toFile().delete();
+        index.onResourceDeleted(new ResourceDeletedEvent(Paths.convert(person),
+                                                         "",
+                                                         sessionInfo));
+
+        assertNull(index.findFormById(Paths.convert(rootPath),
+                                      "person"));
+        assertEquals(0,
+                     index.findFormsForType(Paths.convert(rootPath),
+                                            PERSON_TYPE).size());
+        assertEquals(2,
+                     index.findAllForms(Paths.convert(rootPath)).size());
+    }
+
+    @Test
+    public void testCachedFormsAreBounded() {
+        index = new VFSFormDefinitionIndex(ioService,
+                                           serializer,
+                                           2);
+
+        assertEquals(3,
+                     index.findAllForms(Paths.convert(rootPath)).size());
+        assertEquals(2,
+                     index.getCachedFormsCount());
+    }
+
+    private Path writeForm(String fileName,
+                           String id,
+                           String type) throws IOException {
+        File file = new File(rootDir,
+                             fileName);
+        FileUtils.writeStringToFile(file,
+                                    id + ":" + type,
+                                    StandardCharsets.UTF_8);
+        return rootPath.resolve(fileName);
+    }
+}
@@ -33,6 +33,7 @@ import org.kie.workbench.common.forms.commons.shared.layout.FormLayoutTemplateGe
 import org.kie.workbench.common.forms.commons.shared.layout.impl.StaticFormLayoutTemplateGenerator;
 import org.kie.workbench.common.forms.data.modeller.service.DataObjectFinderService;
 import org.kie.workbench.common.forms.data.modeller.service.impl.DataObjectFinderServiceImpl;
+import org.kie.workbench.common.forms.editor.backend.service.impl.VFSFormDefinitionIndex;
 import org.kie.workbench.common.forms.editor.backend.service.impl.VFSFormFinderServiceImpl;
 import org.kie.workbench.common.forms.editor.client.editor.FormEditorHelper;
 import org.kie.workbench.common.forms.editor.model.FormModelerContent;
@@ -93,6 +94,7 @@ import org.uberfire.java.nio.base.options.CommentedOption;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.workbench.common.forms.jbpm.model.authoring.document.type.DocumentFieldType.DOCUMENT_TYPE;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
 @Ignore("Failing randomly, see https://issues.jboss.org/browse/JBPM-7170")
@@ -199,9 +201,9 @@ public class FormGenerationIntegrationTest {
                                                                   fieldManager,
                                                                   finderService);
 
-        formFinderService = new VFSFormFinderServiceImpl(ioService,
-                                                         moduleService,
-                                                         formSerializer);
+        formFinderService = new VFSFormFinderServiceImpl(moduleService,
+                                                         new VFSFormDefinitionIndex(ioService,
+                                                                                    formSerializer));
 
         service = new BPMNVFSFormDefinitionGeneratorService(fieldManager,
                                                             formModelHandlerManager,
@@ -372,6 +374,8 @@ public class FormGenerationIntegrationTest {
             throw new ServiceException("It was not possible to load model for URI: " + rootPathWithoutNestedForms.toURI(), e);
         }
         when(dataModelerService.loadModel(module)).thenReturn(dataModel);
+        when(dataModelerService.loadDataObject(eq(module),
+                                               any())).thenAnswer(invocation -> dataModel.getDataObject((String) invocation.getArguments()[1]));
         when(commentedOptionFactory.makeCommentedOption(any())).thenReturn(commentedOption);
 
         final FormGenerationResult formGenerationResult = generateForm("FormGenerationTest_TwinTasks-taskform.frm", taskFormModels.get(4));
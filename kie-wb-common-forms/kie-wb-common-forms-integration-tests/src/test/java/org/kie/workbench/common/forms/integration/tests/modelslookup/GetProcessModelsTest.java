@@ -37,13 +37,20 @@ import org.kie.workbench.common.forms.jbpm.model.authoring.task.TaskFormModel;
 import org.kie.workbench.common.forms.jbpm.server.service.BPMNFormModelGenerator;
 import org.kie.workbench.common.forms.jbpm.server.service.impl.BPMFinderServiceImpl;
 import org.kie.workbench.common.forms.jbpm.server.service.impl.BPMNFormModelGeneratorImpl;
+import org.kie.workbench.common.forms.jbpm.server.service.impl.BPMNProcessIndex;
 import org.kie.workbench.common.forms.model.ModelProperty;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.mockito.Matchers.any;
@@ -95,6 +102,11 @@ public class GetProcessModelsTest extends AbstractGetModelsTest {
     private static IOService ioService;
     private static BPMNFormModelGenerator bpmnFormModelGenerator;
 
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private static BPMNProcessIndex processIndex;
+
     private static BPMFinderServiceImpl finderService;
     private final String ORDER_RENAMED = "order-renamed";
 
@@ -106,12 +118,14 @@ public class GetProcessModelsTest extends AbstractGetModelsTest {
                                           any())).thenAnswer(invocationOnMock -> Files.newDirectoryStream((Path) invocationOnMock.getArguments()[0],
                                                                                                           (DirectoryStream.Filter<Path>) invocationOnMock.getArguments()[1]));
         when(ioService.newInputStream(any())).thenAnswer(invocationOnMock -> new FileInputStream(((Path) invocationOnMock.getArguments()[0]).toFile()));
+        when(ioService.exists(any())).thenAnswer(invocationOnMock -> Files.exists((Path) invocationOnMock.getArguments()[0]));
 
         bpmnFormModelGenerator = new BPMNFormModelGeneratorImpl(moduleService,
                                                                 classLoaderHelper);
 
-        finderService = new BPMFinderServiceImpl(ioService, moduleService, bpmnFormModelGenerator);
-        finderService.init();
+        processIndex = new BPMNProcessIndex(ioService);
+
+        finderService = new BPMFinderServiceImpl(moduleService, bpmnFormModelGenerator, processIndex);
     }
 
     @Test
@@ -188,12 +202,15 @@ public class GetProcessModelsTest extends AbstractGetModelsTest {
     }
 
     private void copyProcess(String oldName, String newName) throws IOException {
-        copyResource(getProcessPath(oldName), newName + ".bpmn2");
+        final java.nio.file.Path copy = copyResource(getProcessPath(oldName), newName + ".bpmn2");
+        processIndex.onResourceAdded(new ResourceAddedEvent(toVfsPath(copy), "copied", sessionInfo));
         changeProcessId(newName, "src.order", "src." + newName);
     }
 
     private void deleteProcess(String process) throws IOException, URISyntaxException {
+        final java.nio.file.Path processPath = getNioPath(getProcessPath(process));
         deleteResource(getProcessPath(process));
+        processIndex.onResourceDeleted(new ResourceDeletedEvent(toVfsPath(processPath), "deleted", sessionInfo));
     }
 
     private String getProcessPath(String process) {
@@ -205,13 +222,16 @@ public class GetProcessModelsTest extends AbstractGetModelsTest {
     }
 
     private void renameProcess(String oldName, String newName) throws IOException {
-        renameResource(getProcessPath(oldName), newName + ".bpmn2");
+        final java.nio.file.Path processPath = getNioPath(getProcessPath(oldName));
+        final java.nio.file.Path renamed = renameResource(getProcessPath(oldName), newName + ".bpmn2");
+        processIndex.onResourceRenamed(new ResourceRenamedEvent(toVfsPath(processPath), toVfsPath(renamed), "renamed", sessionInfo));
     }
 
     private void changeProcessId(String process, String oldId, String newId) throws IOException {
         final File file = getNioPath(getProcessPath(process)).toFile();
         String fileContent = FileUtils.readFileToString(file, Charset.defaultCharset());
         FileUtils.write(file, fileContent.replaceAll(oldId, newId), Charset.defaultCharset());
+        processIndex.onResourceUpdated(new ResourceUpdatedEvent(toVfsPath(file.toPath()), "updated", sessionInfo));
     }
 
     private void setProcessAttribute(String process, String attribute, String oldValue, String newValue) throws IOException {
@@ -224,5 +244,10 @@ public class GetProcessModelsTest extends AbstractGetModelsTest {
         final int nameEndIndex = nameIndex + oldValue.length() + 2;
         fileContent = fileContent.substring(0, nameIndex) + "\"" + newValue + "\"" + fileContent.substring(nameEndIndex);
         FileUtils.write(file, fileContent, Charset.defaultCharset());
+        processIndex.onResourceUpdated(new ResourceUpdatedEvent(toVfsPath(file.toPath()), "updated", sessionInfo));
+    }
+
+    private org.uberfire.backend.vfs.Path toVfsPath(java.nio.file.Path path) {
+        return Paths.convert(FS.getPath(path.toUri()));
     }
 }
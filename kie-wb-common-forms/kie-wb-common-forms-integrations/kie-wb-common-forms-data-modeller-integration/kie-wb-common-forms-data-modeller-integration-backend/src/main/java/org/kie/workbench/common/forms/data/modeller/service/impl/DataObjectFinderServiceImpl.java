@@ -52,9 +52,8 @@ public class DataObjectFinderServiceImpl implements DataObjectFinderService {
     @Override
     public DataObject getDataObject(String typeName,
                                     Path path) {
-        DataModel dataModel = dataModelerService.loadModel(moduleService.resolveModule(path));
-
-        return dataModel.getDataObject(typeName);
+        return dataModelerService.loadDataObject(moduleService.resolveModule(path),
+                                                 typeName);
     }
 
     @Override
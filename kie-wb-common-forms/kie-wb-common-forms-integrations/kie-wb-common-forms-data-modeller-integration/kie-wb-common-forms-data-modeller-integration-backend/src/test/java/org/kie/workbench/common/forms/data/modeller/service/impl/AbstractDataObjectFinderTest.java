@@ -110,6 +110,8 @@ public abstract class AbstractDataObjectFinderTest extends AbstractDataObjectTes
                     true);
 
         when(dataModelerService.loadModel(any())).thenReturn(dataModel);
+        when(dataModelerService.loadDataObject(any(),
+                                               any())).thenAnswer(invocation -> dataModel.getDataObject((String) invocation.getArguments()[1]));
 
         service = new DataObjectFinderServiceImpl(moduleService,
                                                   dataModelerService);
@@ -29,6 +29,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DataObjectFinderServiceImplFinderTest extends AbstractDataObjectFinderTest {
@@ -52,6 +56,8 @@ public class DataObjectFinderServiceImplFinderTest extends AbstractDataObjectFin
         DataObject result = service.getDataObject(TYPE_NAME, path);
 
         assertEquals(dataObject, result);
+        verify(dataModelerService).loadDataObject(any(), eq(TYPE_NAME));
+        verify(dataModelerService, never()).loadModel(any());
     }
 
     @Test
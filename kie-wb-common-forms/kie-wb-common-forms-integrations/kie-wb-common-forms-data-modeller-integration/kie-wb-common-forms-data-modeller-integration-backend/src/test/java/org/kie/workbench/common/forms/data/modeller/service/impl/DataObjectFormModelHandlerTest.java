@@ -136,6 +136,8 @@ public class DataObjectFormModelHandlerTest extends AbstractDataObjectTest {
             }
         };
         when(dataModelerService.loadModel(any())).thenReturn(dataModel);
+        when(dataModelerService.loadDataObject(any(),
+                                               any())).thenAnswer(invocation -> dataModel.getDataObject((String) invocation.getArguments()[1]));
         List<DataObjectFormModel> formModels = finderService.getAvailableDataObjects(path);
         formModel = formModels.get(0);
         handler.init(formModel,
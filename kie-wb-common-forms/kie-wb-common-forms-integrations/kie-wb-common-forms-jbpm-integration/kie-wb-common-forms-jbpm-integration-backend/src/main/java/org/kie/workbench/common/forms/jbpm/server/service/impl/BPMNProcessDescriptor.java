@@ -13,20 +13,32 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.kie.workbench.common.services.backend.compiler.offprocess;
 
-import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+package org.kie.workbench.common.forms.jbpm.server.service.impl;
 
-/***
- * Client class to interact with the result of the separate Process build
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Lightweight description of a module process kept by the {@link BPMNProcessIndex}: the process file
+ * and the process id.
  */
-public interface ClientIPC {
+public class BPMNProcessDescriptor {
+
+    private final Path path;
+
+    private final String id;
+
+    public BPMNProcessDescriptor(Path path,
+                                 String id) {
+        this.path = path;
+        this.id = id;
+    }
 
-    /***
-     * Blocking method to retrieve a KieCompilationResponse from an external process
-     * @param uuid
-     * @return
-     */
-    KieCompilationResponse getResponse(String uuid);
+    public Path getPath() {
+        return path;
+    }
 
+    public String getId() {
+        return id;
+    }
 }
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.DocumentRoot;
+import org.eclipse.bpmn2.util.Bpmn2ResourceFactoryImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.util.DroolsResourceFactoryImpl;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps an in-memory index of the processes of each module by process id, so a single process can be
+ * found without parsing all the module processes.
+ * <p>
+ * The index for a module is built on the first lookup on it and then kept up to date from the vfs
+ * resource events: the changed process files are marked as dirty and read again on the next lookup on
+ * the module. The process id is extracted by a streaming read of the file and only a
+ * {@link BPMNProcessDescriptor} is kept per process. EMF models are not thread safe, so the process
+ * {@link Definitions} are parsed just for the callers that need them, see {@link #parse(BPMNProcessDescriptor)}.
+ */
+@ApplicationScoped
+public class BPMNProcessIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BPMNProcessIndex.class);
+
+    private static final String[] EXTENSIONS = {"bpmn2", "bpmn"};
+
+    private static final String PROCESS_ELEMENT = "process";
+
+    private static final String ID_ATTRIBUTE = "id";
+
+    private IOService ioService;
+
+    private XMLInputFactory xmlInputFactory;
+
+    private final Map<String, ModuleProcesses> modules = new ConcurrentHashMap<>();
+
+    public BPMNProcessIndex() {
+        //Zero-arg constructor for CDI proxying
+    }
+
+    @Inject
+    public BPMNProcessIndex(@Named("ioStrategy") IOService ioService) {
+        this.ioService = ioService;
+        this.xmlInputFactory = XMLInputFactory.newInstance();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD,
+                                         false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                                         false);
+    }
+
+    /**
+     * @return the descriptors of all the module processes, in the .bpmn2 and .bpmn files scanning order.
+     */
+    public List<BPMNProcessDescriptor> getProcesses(Path moduleRoot) {
+        return getModuleProcesses(moduleRoot).getProcesses();
+    }
+
+    /**
+     * @return the descriptor of the module process with the given id, or null if there's no such process.
+     */
+    public BPMNProcessDescriptor getProcess(Path moduleRoot,
+                                            String processId) {
+        return getModuleProcesses(moduleRoot).getProcess(processId);
+    }
+
+    /**
+     * @return the {@link Definitions} of the given process, freshly parsed and owned by the caller.
+     */
+    public Optional<Definitions> parse(BPMNProcessDescriptor process) {
+        return parse(process.getPath());
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        onProcessChanged(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        onProcessChanged(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        onProcessChanged(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        onProcessChanged(event.getPath());
+        onProcessChanged(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::onProcessChanged);
+    }
+
+    public void clear() {
+        modules.clear();
+    }
+
+    protected Optional<Definitions> parse(org.uberfire.java.nio.file.Path processPath) {
+        try {
+            ResourceSet resourceSet = new ResourceSetImpl();
+
+            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put
+                    (Resource.Factory.Registry.DEFAULT_EXTENSION,
+                     new DroolsResourceFactoryImpl());
+            resourceSet.getPackageRegistry().put
+                    (DroolsPackage.eNS_URI,
+                     DroolsPackage.eINSTANCE);
+            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+                    .put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+                         new Bpmn2ResourceFactoryImpl());
+            resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
+                                                 Bpmn2Package.eINSTANCE);
+
+            XMLResource outResource = (XMLResource) resourceSet.createResource(URI.createURI(
+                    "inputStream://dummyUriWithValidSuffix.xml"));
+            outResource.getDefaultLoadOptions().put(XMLResource.OPTION_ENCODING,
+                                                    "UTF-8");
+            outResource.setEncoding("UTF-8");
+
+            Map<String, Object> options = new HashMap<String, Object>();
+            options.put(XMLResource.OPTION_ENCODING,
+                        "UTF-8");
+            try (InputStream inputStream = ioService.newInputStream(processPath)) {
+                outResource.load(inputStream,
+                                 options);
+            }
+
+            DocumentRoot root = (DocumentRoot) outResource.getContents().get(0);
+
+            return Optional.of(root.getDefinitions());
+        } catch (Exception ex) {
+            logger.warn("Error reading process '" + processPath.getFileName(),
+                        ex);
+        }
+        return Optional.empty();
+    }
+
+    private void onProcessChanged(Path path) {
+        if (path == null || !isProcess(path.getFileName())) {
+            return;
+        }
+        modules.values().stream()
+                .filter(moduleProcesses -> moduleProcesses.contains(path))
+                .forEach(moduleProcesses -> moduleProcesses.markDirty(path));
+    }
+
+    private static boolean isProcess(String fileName) {
+        for (String extension : EXTENSIONS) {
+            if (fileName.endsWith("." + extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ModuleProcesses getModuleProcesses(Path moduleRoot) {
+        ModuleProcesses moduleProcesses = modules.computeIfAbsent(moduleRoot.toURI(),
+                                                                  uri -> new ModuleProcesses(moduleRoot));
+        moduleProcesses.refresh();
+        return moduleProcesses;
+    }
+
+    private BPMNProcessDescriptor readProcess(org.uberfire.java.nio.file.Path processPath) {
+        if (!ioService.exists(processPath)) {
+            return null;
+        }
+        String processId = readProcessId(processPath);
+        return processId != null ? new BPMNProcessDescriptor(processPath,
+                                                             processId) : null;
+    }
+
+    protected String readProcessId(org.uberfire.java.nio.file.Path processPath) {
+        XMLStreamReader reader = null;
+        try (InputStream inputStream = ioService.newInputStream(processPath)) {
+            reader = xmlInputFactory.createXMLStreamReader(inputStream);
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    // the processes are root elements, children of the definitions element.
+                    if (depth == 2 && PROCESS_ELEMENT.equals(reader.getLocalName())) {
+                        return reader.getAttributeValue(null,
+                                                        ID_ATTRIBUTE);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } catch (Exception ex) {
+            logger.warn("Error reading process id from '" + processPath.getFileName() + "'",
+                        ex);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ex) {
+                    logger.debug("Error closing process reader",
+                                 ex);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The processes index for a module.
+     */
+    private class ModuleProcesses {
+
+        private final Path root;
+
+        private final String rootUri;
+
+        private final Set<Path> dirtyPaths = ConcurrentHashMap.newKeySet();
+
+        private final Map<String, BPMNProcessDescriptor> processes = new LinkedHashMap<>();
+
+        private final Map<String, Set<String>> urisByProcessId = new HashMap<>();
+
+        private boolean initialized = false;
+
+        ModuleProcesses(Path root) {
+            this.root = root;
+            this.rootUri = root.toURI().endsWith("/") ? root.toURI() : root.toURI() + "/";
+        }
+
+        boolean contains(Path path) {
+            return path.toURI().startsWith(rootUri);
+        }
+
+        void markDirty(Path path) {
+            dirtyPaths.add(path);
+        }
+
+        synchronized void refresh() {
+            if (!initialized) {
+                // the changes received while scanning are processed on the next lookup.
+                dirtyPaths.clear();
+                List<org.uberfire.java.nio.file.Path> rootPaths = new ArrayList<>();
+                rootPaths.add(Paths.convert(root));
+                for (String extension : EXTENSIONS) {
+                    Collection<FileUtils.ScanResult> scanResults = FileUtils.getInstance().scan(ioService,
+                                                                                                rootPaths,
+                                                                                                extension,
+                                                                                                true);
+                    for (FileUtils.ScanResult scanResult : scanResults) {
+                        update(scanResult.getFile(),
+                               readProcess(scanResult.getFile()));
+                    }
+                }
+                initialized = true;
+            } else {
+                for (Iterator<Path> it = dirtyPaths.iterator(); it.hasNext(); ) {
+                    org.uberfire.java.nio.file.Path processPath = Paths.convert(it.next());
+                    it.remove();
+                    update(processPath,
+                           readProcess(processPath));
+                }
+            }
+        }
+
+        private void update(org.uberfire.java.nio.file.Path processPath,
+                            BPMNProcessDescriptor process) {
+            String uri = processPath.toUri().toString();
+            BPMNProcessDescriptor previous = processes.get(uri);
+            if (previous != null) {
+                Set<String> uris = urisByProcessId.get(previous.getId());
+                uris.remove(uri);
+                if (uris.isEmpty()) {
+                    urisByProcessId.remove(previous.getId());
+                }
+            }
+            if (process != null) {
+                processes.put(uri,
+                              process);
+                urisByProcessId.computeIfAbsent(process.getId(),
+                                                id -> new LinkedHashSet<>()).add(uri);
+            } else {
+                processes.remove(uri);
+            }
+        }
+
+        synchronized List<BPMNProcessDescriptor> getProcesses() {
+            return new ArrayList<>(processes.values());
+        }
+
+        synchronized BPMNProcessDescriptor getProcess(String processId) {
+            Set<String> uris = urisByProcessId.getOrDefault(processId,
+                                                            Collections.emptySet());
+            // as when scanning, the first file wins if a process id is repeated.
+            return uris.isEmpty() ? null : processes.get(uris.iterator().next());
+        }
+    }
+}
@@ -18,7 +18,9 @@ package org.kie.workbench.common.forms.jbpm.server.service.impl;
 import java.io.FileInputStream;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Optional;
 
+import org.eclipse.bpmn2.Definitions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -35,11 +37,20 @@ import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -85,11 +96,16 @@ public class BPMFinderServiceImplTest {
 
     private BPMNFormModelGeneratorImpl bpmnFormModelGenerator;
 
+    private BPMNProcessIndex processIndex;
+
     private BPMFinderServiceImpl finderService;
 
     @Mock
     private org.uberfire.backend.vfs.Path testPath;
 
+    @Mock
+    private SessionInfo sessionInfo;
+
     @Before
     public void initialize() throws URISyntaxException, ClassNotFoundException {
 
@@ -97,6 +113,7 @@ public class BPMFinderServiceImplTest {
                                           any())).thenAnswer(invocationOnMock -> Files.newDirectoryStream((Path) invocationOnMock.getArguments()[0],
                                                                                                           (DirectoryStream.Filter<Path>) invocationOnMock.getArguments()[1]));
         when(ioService.newInputStream(any())).thenAnswer(invocationOnMock -> new FileInputStream(((Path) invocationOnMock.getArguments()[0]).toFile()));
+        when(ioService.exists(any())).thenAnswer(invocationOnMock -> Files.exists((Path) invocationOnMock.getArguments()[0]));
 
         simpleFileSystemProvider = new SimpleFileSystemProvider();
         simpleFileSystemProvider.forceAsDefault();
@@ -113,11 +130,11 @@ public class BPMFinderServiceImplTest {
         bpmnFormModelGenerator = new BPMNFormModelGeneratorImpl(moduleService,
                                                                 moduleClassLoaderHelper);
 
-        finderService = new BPMFinderServiceImpl(ioService,
-                                                 moduleService,
-                                                 bpmnFormModelGenerator);
+        processIndex = spy(new BPMNProcessIndex(ioService));
 
-        finderService.init();
+        finderService = new BPMFinderServiceImpl(moduleService,
+                                                 bpmnFormModelGenerator,
+                                                 processIndex);
     }
 
     @Test
@@ -176,6 +193,86 @@ public class BPMFinderServiceImplTest {
                         PROCESS_WITH_SHARED_FORMS_WRONG_MAPPINGS_TASKS);
     }
 
+    @Test
+    public void testProcessesAreIndexedOnce() {
+        testFindProcess(PROCESS_WITH_ALL_VARIABLES_ID,
+                        PROCESS_WITH_ALL_VARIABLES_TASKS);
+
+        //the module processes are indexed by a streaming read and just the requested one is parsed.
+        verify(processIndex,
+               times(EXPECTED_PROCESSES)).readProcessId(any(Path.class));
+        verify(processIndex,
+               times(1)).parse(any(Path.class));
+
+        assertEquals(EXPECTED_PROCESSES,
+                     finderService.getAvailableProcessModels(testPath).size());
+        testFindProcess(PROCESS_WITH_ALL_VARIABLES_ID,
+                        PROCESS_WITH_ALL_VARIABLES_TASKS);
+
+        //unchanged processes are not indexed again, just parsed to generate their models.
+        verify(processIndex,
+               times(EXPECTED_PROCESSES)).readProcessId(any(Path.class));
+        verify(processIndex,
+               times(1 + EXPECTED_PROCESSES + 1)).parse(any(Path.class));
+    }
+
+    @Test
+    public void testJustTheChangedProcessesAreIndexedAgain() {
+        BPMNProcessDescriptor process = processIndex.getProcess(Paths.convert(rootPath),
+                                                                PROCESS_WITH_ALL_VARIABLES_ID);
+        assertNotNull(process);
+
+        verify(processIndex,
+               times(EXPECTED_PROCESSES)).readProcessId(any(Path.class));
+
+        processIndex.onResourceUpdated(new ResourceUpdatedEvent(Paths.convert(process.getPath()),
+                                                                "updated",
+                                                                sessionInfo));
+        processIndex.onResourceUpdated(new ResourceUpdatedEvent(Paths.convert(rootPath.resolve("pom.xml")),
+                                                                "updated",
+                                                                sessionInfo));
+
+        assertEquals(EXPECTED_PROCESSES,
+                     processIndex.getProcesses(Paths.convert(rootPath)).size());
+
+        verify(processIndex,
+               times(EXPECTED_PROCESSES + 1)).readProcessId(any(Path.class));
+        verify(processIndex,
+               times(2)).readProcessId(process.getPath());
+        verify(processIndex,
+               never()).parse(any(Path.class));
+    }
+
+    @Test
+    public void testProcessDescriptor() {
+        BPMNProcessDescriptor process = processIndex.getProcess(Paths.convert(rootPath),
+                                                                PROCESS_WITH_ALL_VARIABLES_ID);
+
+        assertNotNull(process);
+        assertEquals(PROCESS_WITH_ALL_VARIABLES_ID,
+                     process.getId());
+        assertTrue(process.getPath().getFileName().toString().endsWith(".bpmn2"));
+        verify(processIndex,
+               never()).parse(any(Path.class));
+
+        assertNull(processIndex.getProcess(Paths.convert(rootPath),
+                                           "myProject.missing-process"));
+    }
+
+    @Test
+    public void testEachCallerGetsItsOwnDefinitions() {
+        BPMNProcessDescriptor process = processIndex.getProcess(Paths.convert(rootPath),
+                                                                PROCESS_WITH_ALL_VARIABLES_ID);
+
+        Optional<Definitions> definitions = processIndex.parse(process);
+        Optional<Definitions> otherDefinitions = processIndex.parse(process);
+
+        assertTrue(definitions.isPresent());
+        assertTrue(otherDefinitions.isPresent());
+        assertNotSame(definitions.get(),
+                      otherDefinitions.get());
+    }
+
     protected void testFindProcess(String processId,
                                    int expectedTasks) {
         JBPMProcessModel model = finderService.getModelForProcess(processId,
@@ -58,6 +58,9 @@ public interface DataModelerService {
 
     DataModel loadModel(final KieModule project);
 
+    DataObject loadDataObject(final KieModule module,
+                              final String className);
+
     GenerationResult saveModel(final DataModel dataModel,
                                final KieModule module,
                                final boolean overwrite,
@@ -16,12 +16,20 @@
 
 package org.kie.workbench.common.screens.datamodeller.backend.server;
 
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.Any;
@@ -77,6 +85,7 @@ import org.kie.workbench.common.services.datamodeller.core.impl.PropertyTypeFact
 import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.impl.ModuleDataModelOracleUtils;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
@@ -89,6 +98,7 @@ import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationSou
 import org.kie.workbench.common.services.datamodeller.driver.model.DriverError;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.shared.project.KieModule;
@@ -96,6 +106,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.commons.data.Pair;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
@@ -112,6 +123,8 @@ public class DataModelerServiceImpl
 
     private static final Logger logger = LoggerFactory.getLogger(DataModelerServiceImpl.class);
     private static final String DEFAULT_COMMIT_MESSAGE = "Data modeller generated action.";
+    public static final String MODEL_CACHE_SIZE_PROPERTY = "org.kie.workbench.datamodeller.model.cache.size";
+    private static final int DEFAULT_MODEL_CACHE_SIZE = 20;
     @Inject
     @Named("ioStrategy")
     IOService ioService;
@@ -155,6 +168,21 @@ public class DataModelerServiceImpl
     private Instance<DomainHandler> domainHandlers;
     @Inject
     private FilterHolder filterHolder;
+    @Inject
+    @Managed
+    private ExecutorService executorService;
+
+    /**
+     * Model caches of the most recently loaded modules.
+     */
+    private final Map<String, JavaRoasterModelCache> modelCaches = newModelCaches(Integer.getInteger(MODEL_CACHE_SIZE_PROPERTY,
+                                                                                                     DEFAULT_MODEL_CACHE_SIZE));
+
+    /**
+     * Descriptions of the jars of the dependencies class loaders. The module class loaders are built on
+     * top of a shared dependencies class loader, so its jars are only described once.
+     */
+    private final Map<URLClassLoader, String> dependenciesDescriptions = Collections.synchronizedMap(new WeakHashMap<>());
 
     public DataModelerServiceImpl() {
     }
@@ -183,6 +211,34 @@ public class DataModelerServiceImpl
         return resultPair != null ? resultPair.getK1() : null;
     }
 
+    @Override
+    public DataObject loadDataObject(final KieModule module,
+                                     final String className) {
+        org.uberfire.java.nio.file.Path filePath = null;
+        try {
+            final Package defaultPackage = moduleService.resolveDefaultPackage(module);
+            final org.uberfire.java.nio.file.Path javaPath = Paths.convert(defaultPackage.getPackageMainSrcPath());
+            filePath = serviceHelper.calculateFilePath(className,
+                                                       javaPath);
+            if (!ioService.exists(filePath)) {
+                //not a top level class of the module sources, e.g. an inner or an external class.
+                final DataModel dataModel = loadModel(module);
+                return dataModel != null ? dataModel.getDataObject(className) : null;
+            }
+
+            final JavaRoasterModelDriver modelDriver = newModelDriver(module,
+                                                                     javaPath,
+                                                                     classLoaderHelper.getModuleClassLoader(module));
+            final ModelDriverResult result = modelDriver.loadModel(filePath);
+            return result.getDataModel().getDataObject(className);
+        } catch (Exception e) {
+            logger.error("Data object: " + className + " couldn't be loaded from path: " + filePath + ".",
+                         e);
+            throw new ServiceException("Data object: " + className + " couldn't be loaded from path: " + filePath + ".",
+                                       e);
+        }
+    }
+
     @Override
     public Path createJavaFile(final Path context,
                                final String fileName,
@@ -323,10 +379,9 @@ public class DataModelerServiceImpl
 
             ClassLoader classLoader = classLoaderHelper.getModuleClassLoader(module);
 
-            ModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
-                                                                 Paths.convert(defaultPackage.getPackageMainSrcPath()),
-                                                                 classLoader,
-                                                                 filterHolder);
+            ModelDriver modelDriver = newModelDriver(module,
+                                                     Paths.convert(defaultPackage.getPackageMainSrcPath()),
+                                                     classLoader);
             ModelDriverResult result = modelDriver.loadModel();
             dataModel = result.getDataModel();
 
@@ -356,6 +411,66 @@ public class DataModelerServiceImpl
         }
     }
 
+    private JavaRoasterModelDriver newModelDriver(final KieModule module,
+                                                  final org.uberfire.java.nio.file.Path javaPath,
+                                                  final ClassLoader classLoader) {
+        return new JavaRoasterModelDriver(ioService,
+                                          javaPath,
+                                          classLoader,
+                                          filterHolder,
+                                          modelCaches.computeIfAbsent(module.getRootPath().toURI(),
+                                                                      uri -> new JavaRoasterModelCache()),
+                                          calculateDependenciesSignature(classLoader),
+                                          executorService);
+    }
+
+    private static Map<String, JavaRoasterModelCache> newModelCaches(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, JavaRoasterModelCache>(16,
+                                                                                            0.75f,
+                                                                                            true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, JavaRoasterModelCache> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * The module types are resolved against the jars its class loader was built from, so the signature
+     * covers the resolved dependency set, including jars updated in place such as snapshots.
+     * The jars of a given class loader are described once, a dependency updated in place results in a
+     * new dependencies class loader.
+     */
+    String calculateDependenciesSignature(final ClassLoader classLoader) {
+        final StringBuilder builder = new StringBuilder();
+        final ClassLoader applicationClassLoader = DataModelerServiceImpl.class.getClassLoader();
+        for (ClassLoader loader = classLoader; loader != null && loader != applicationClassLoader; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                builder.append(dependenciesDescriptions.computeIfAbsent((URLClassLoader) loader,
+                                                                        DataModelerServiceImpl::describeDependencies));
+            }
+        }
+        return FileHashingUtils.md5Hex(builder.toString());
+    }
+
+    private static String describeDependencies(final URLClassLoader loader) {
+        final StringBuilder builder = new StringBuilder();
+        for (URL url : loader.getURLs()) {
+            builder.append(url);
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    final File file = new File(url.toURI());
+                    builder.append(':').append(file.length()).append(':').append(file.lastModified());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    logger.debug("Dependency: " + url + " is not a local file.",
+                                 e);
+                }
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
     public TypeInfoResult loadJavaTypeInfo(final String source) {
 
         try {
@@ -16,6 +16,10 @@
 
 package org.kie.workbench.common.screens.datamodeller.backend.server;
 
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
 
@@ -30,8 +34,10 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.datamodeller.backend.server.file.DataModelerCopyHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.helper.DataModelerRenameWorkaroundHelper;
 import org.kie.workbench.common.screens.datamodeller.backend.server.helper.DataModelerSaveHelper;
+import org.kie.workbench.common.services.datamodeller.core.DataModel;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
+import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -47,10 +53,15 @@ import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileSystem;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -262,4 +273,98 @@ public class DataModelerServiceTest {
         assertThatThrownBy(() -> dataModelerService.createJavaFile(path, "", ""))
                 .isInstanceOf(FileAlreadyExistsException.class);
     }
+
+    @Test
+    public void testDependenciesSignatureFollowsTheResolvedDependencies() throws Exception {
+        final File dependency = File.createTempFile("dependency",
+                                                    ".jar");
+        final File otherDependency = File.createTempFile("other-dependency",
+                                                         ".jar");
+        try {
+            final String signature = dataModelerService.calculateDependenciesSignature(new URLClassLoader(new URL[]{dependency.toURI().toURL()},
+                                                                                                          null));
+            assertEquals(signature,
+                         dataModelerService.calculateDependenciesSignature(new URLClassLoader(new URL[]{dependency.toURI().toURL()},
+                                                                                              null)));
+
+            //a different dependency set.
+            assertNotEquals(signature,
+                            dataModelerService.calculateDependenciesSignature(new URLClassLoader(new URL[]{dependency.toURI().toURL(), otherDependency.toURI().toURL()},
+                                                                                                 null)));
+
+            //the same dependency updated in place, e.g. a snapshot.
+            Files.write(dependency.toPath(),
+                        new byte[]{1, 2, 3});
+            assertNotEquals(signature,
+                            dataModelerService.calculateDependenciesSignature(new URLClassLoader(new URL[]{dependency.toURI().toURL()},
+                                                                                                 null)));
+        } finally {
+            dependency.delete();
+            otherDependency.delete();
+        }
+    }
+
+    @Test
+    public void testDependenciesAreDescribedOncePerClassLoader() throws Exception {
+        final File dependency = File.createTempFile("dependency",
+                                                    ".jar");
+        try {
+            final URLClassLoader dependenciesClassLoader = new URLClassLoader(new URL[]{dependency.toURI().toURL()},
+                                                                              null);
+            final ClassLoader moduleClassLoader = new ClassLoader(dependenciesClassLoader) {
+            };
+            final String signature = dataModelerService.calculateDependenciesSignature(moduleClassLoader);
+
+            //the jars are not checked again for a module class loader on top of the same dependencies.
+            Files.write(dependency.toPath(),
+                        new byte[]{1, 2, 3});
+            assertEquals(signature,
+                         dataModelerService.calculateDependenciesSignature(new ClassLoader(dependenciesClassLoader) {
+                         }));
+
+            assertNotEquals(signature,
+                            dataModelerService.calculateDependenciesSignature(new URLClassLoader(new URL[]{dependency.toURI().toURL()},
+                                                                                                 null)));
+        } finally {
+            dependency.delete();
+        }
+    }
+
+    @Test
+    public void testLoadDataObjectWithoutSourceFileUsesTheModuleModel() {
+        final KieModule module = mock(KieModule.class);
+        final String className = "old.package.Sample$Inner";
+        final DataModel dataModel = mock(DataModel.class);
+        final DataObject dataObject = new DataObjectImpl("old.package",
+                                                         "Sample$Inner");
+        mockDefaultPackage(module);
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(false);
+        when(dataModel.getDataObject(className)).thenReturn(dataObject);
+        doReturn(dataModel).when(dataModelerService).loadModel(module);
+
+        assertSame(dataObject,
+                   dataModelerService.loadDataObject(module,
+                                                     className));
+        verify(dataModelerService).loadModel(module);
+    }
+
+    @Test
+    public void testLoadDataObjectWithoutSourceFileNorModel() {
+        final KieModule module = mock(KieModule.class);
+        mockDefaultPackage(module);
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenReturn(false);
+        doReturn(null).when(dataModelerService).loadModel(module);
+
+        assertNull(dataModelerService.loadDataObject(module,
+                                                     "old.package.Missing"));
+    }
+
+    private void mockDefaultPackage(final KieModule module) {
+        final Package defaultPackage = mock(Package.class);
+        when(moduleService.resolveDefaultPackage(module)).thenReturn(defaultPackage);
+        when(defaultPackage.getPackageMainSrcPath()).thenReturn(PathFactory.newPath("java",
+                                                                                    "file:///module/src/main/java"));
+        when(serviceHelper.calculateFilePath(anyString(),
+                                             any(org.uberfire.java.nio.file.Path.class))).thenReturn(mock(org.uberfire.java.nio.file.Path.class));
+    }
 }
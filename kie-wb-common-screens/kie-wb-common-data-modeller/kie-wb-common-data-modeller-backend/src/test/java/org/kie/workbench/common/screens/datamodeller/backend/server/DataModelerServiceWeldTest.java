@@ -28,6 +28,8 @@ import t1p2.Pojo2;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests for DataModelService
@@ -60,4 +62,27 @@ public class DataModelerServiceWeldTest extends AbstractDataModelerServiceWeldTe
                                                                                                     objectsMap.get(dataObject.getClassName()));
         }
     }
+
+    @Test
+    public void testLoadDataObject() throws Exception {
+        KieModule module = loadProjectFromResources("/DataModelerTest1");
+
+        final Map<String, AnnotationDefinition> systemAnnotations = dataModelService.getAnnotationDefinitions();
+        DataModel dataModelOriginal = new DataModelTestUtil(systemAnnotations).createModel(Pojo1.class,
+                                                                                           Pojo2.class);
+
+        DataObject dataObject = dataModelService.loadDataObject(module,
+                                                                Pojo1.class.getName());
+        org.kie.workbench.common.services.datamodeller.DataModelerAssert.assertEqualsDataObject(dataModelOriginal.getDataObject(Pojo1.class.getName()),
+                                                                                                dataObject);
+
+        //the unchanged file is served from the module model cache.
+        assertSame(dataObject,
+                   dataModelService.loadDataObject(module,
+                                                   Pojo1.class.getName()));
+
+        //types without a source file of their own are looked up in the module model.
+        assertNull(dataModelService.loadDataObject(module,
+                                                   "t1p1.Missing"));
+    }
 }
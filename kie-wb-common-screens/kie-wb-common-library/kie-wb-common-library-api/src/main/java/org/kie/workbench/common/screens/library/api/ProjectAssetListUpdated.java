@@ -15,26 +15,61 @@
 
 package org.kie.workbench.common.screens.library.api;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.guvnor.common.services.project.model.WorkspaceProject;
 import org.jboss.errai.common.client.api.annotations.MapsTo;
 import org.jboss.errai.common.client.api.annotations.Portable;
+import org.uberfire.backend.vfs.Path;
 
 /**
  * <p>
  * Fired when a client of the {@link LibraryService} should reload the asset list
  * (for example when a batch of files is indexed).
+ * <p>
+ * The event may carry the assets that changed since the previous notification for the project, so
+ * clients can patch the asset list they show instead of reloading it. Renamed assets are given as
+ * a removal of the old path plus an update of the new one. Both lists are empty when the changed
+ * assets are not known, or are too many to be sent, and the whole asset list must be reloaded.
  */
 @Portable
 public class ProjectAssetListUpdated {
 
     private final WorkspaceProject project;
+    private final List<Path> updatedAssets;
+    private final List<Path> removedAssets;
+
+    public ProjectAssetListUpdated(final WorkspaceProject project) {
+        this(project,
+             Collections.emptyList(),
+             Collections.emptyList());
+    }
 
-    public ProjectAssetListUpdated(final @MapsTo("project") WorkspaceProject project) {
+    public ProjectAssetListUpdated(final @MapsTo("project") WorkspaceProject project,
+                                   final @MapsTo("updatedAssets") List<Path> updatedAssets,
+                                   final @MapsTo("removedAssets") List<Path> removedAssets) {
         this.project = project;
+        this.updatedAssets = updatedAssets;
+        this.removedAssets = removedAssets;
     }
 
     public WorkspaceProject getProject() {
         return project;
     }
 
+    /**
+     * @return The assets added or modified in the project.
+     */
+    public List<Path> getUpdatedAssets() {
+        return updatedAssets;
+    }
+
+    /**
+     * @return The assets removed from the project.
+     */
+    public List<Path> getRemovedAssets() {
+        return removedAssets;
+    }
+
 }
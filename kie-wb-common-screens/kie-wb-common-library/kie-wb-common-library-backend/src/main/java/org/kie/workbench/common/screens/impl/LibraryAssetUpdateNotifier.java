@@ -15,7 +15,15 @@
 
 package org.kie.workbench.common.screens.impl;
 
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -30,67 +38,234 @@ import org.kie.workbench.common.screens.library.api.Remote;
 import org.kie.workbench.common.screens.library.api.index.Constants;
 import org.slf4j.Logger;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.ext.metadata.event.BatchIndexEvent;
+import org.uberfire.ext.metadata.event.IndexEvent;
 import org.uberfire.ext.metadata.event.IndexEvent.DeletedEvent;
 import org.uberfire.ext.metadata.event.IndexEvent.NewlyIndexedEvent;
 import org.uberfire.ext.metadata.event.IndexEvent.RenamedEvent;
 
+/**
+ * Notifies the clients when the assets of a project are indexed.
+ * <p>
+ * The notifications for a project are coalesced: the first indexing batch for a project schedules a
+ * single {@link ProjectAssetListUpdated} event, which is fired once the debounce window has elapsed
+ * and carries all the assets changed by the batches received in the meantime. The window is given in
+ * milliseconds by the {@value #DEBOUNCE_PROPERTY} system property. A value of zero fires the
+ * events as soon as the batches are received.
+ * <p>
+ * The changed assets are only sent when there are no more than {@value #MAX_ASSETS_PROPERTY} of
+ * them, otherwise the event is sent without assets and the clients reload the whole list.
+ */
 @ApplicationScoped
 public class LibraryAssetUpdateNotifier {
 
+    static final String DEBOUNCE_PROPERTY = "org.kie.library.assetListUpdated.debounce";
+    static final long DEFAULT_DEBOUNCE = 1000;
+    static final String MAX_ASSETS_PROPERTY = "org.kie.library.assetListUpdated.maxAssets";
+    static final int DEFAULT_MAX_ASSETS = 100;
+
     private final WorkspaceProjectService projectService;
     private final Event<ProjectAssetListUpdated> assetListUpdateEvent;
     private final LibraryIndexer libraryIndexer;
     private final Logger logger;
+    private final ExecutorService executorService;
+    private final long debounce;
+    private final int maxAssets;
+    private final Map<String, PendingNotification> pendingNotifications = new ConcurrentHashMap<>();
+    private final AtomicLong firedEvents = new AtomicLong();
+    private final AtomicLong coalescedEvents = new AtomicLong();
 
     // For proxying
     public LibraryAssetUpdateNotifier() {
-        this(null, null, null, null);
+        this(null, null, null, null, null, 0, 0);
     }
 
     @Inject
     public LibraryAssetUpdateNotifier(final WorkspaceProjectService projectService,
                                       final LibraryIndexer libraryIndexer,
                                       final @Remote Event<ProjectAssetListUpdated> assetListUpdateEvent,
-                                      final Logger logger) {
+                                      final Logger logger,
+                                      final @Managed ExecutorService executorService) {
+        this(projectService,
+             libraryIndexer,
+             assetListUpdateEvent,
+             logger,
+             executorService,
+             Long.getLong(DEBOUNCE_PROPERTY, DEFAULT_DEBOUNCE),
+             Integer.getInteger(MAX_ASSETS_PROPERTY, DEFAULT_MAX_ASSETS));
+    }
+
+    LibraryAssetUpdateNotifier(final WorkspaceProjectService projectService,
+                               final LibraryIndexer libraryIndexer,
+                               final Event<ProjectAssetListUpdated> assetListUpdateEvent,
+                               final Logger logger,
+                               final ExecutorService executorService,
+                               final long debounce,
+                               final int maxAssets) {
         this.projectService = projectService;
         this.libraryIndexer = libraryIndexer;
         this.assetListUpdateEvent = assetListUpdateEvent;
         this.logger = logger;
+        this.executorService = executorService;
+        this.debounce = debounce;
+        this.maxAssets = maxAssets;
     }
 
     public void notifyOnUpdatedAssets(@Observes @Named(Constants.INDEXER_ID) BatchIndexEvent event) {
+        final Collection<Path> updatedAssets = new ArrayList<>();
+        final Collection<Path> removedAssets = new ArrayList<>();
+        for (final IndexEvent evt : event.getIndexEvents()) {
+            switch (evt.getKind()) {
+                case Deleted:
+                    addAsset(((DeletedEvent) evt).getDeleted().getKey(), removedAssets);
+                    break;
+                case NewlyIndexed:
+                    addAsset(((NewlyIndexedEvent) evt).getKObject().getKey(), updatedAssets);
+                    break;
+                case Renamed:
+                    addAsset(((RenamedEvent) evt).getSource().getKey(), removedAssets);
+                    addAsset(((RenamedEvent) evt).getTarget().getKey(), updatedAssets);
+                    break;
+                default:
+                    break;
+            }
+        }
+
         // Assume that all indexed items are from the same project.
-        event.getIndexEvents()
-             .stream()
-             .flatMap(evt -> {
-                 switch (evt.getKind()) {
-                    case Deleted:
-                        return Stream.of(((DeletedEvent) evt).getDeleted().getKey());
-                    case NewlyIndexed:
-                        return Stream.of(((NewlyIndexedEvent) evt).getKObject().getKey());
-                    case Renamed:
-                        return Stream.of(((RenamedEvent) evt).getTarget().getKey());
-                    default:
-                        return Stream.empty();
-                 }
-             })
-             .map(path -> org.uberfire.java.nio.file.Paths.get(path))
-             .filter(path -> libraryIndexer.supportsPath(path))
-             .flatMap(path -> {
-                 try {
-                     WorkspaceProject project = projectService.resolveProject(Paths.convert(path));
-                     return (project == null) ? Stream.empty() : Stream.of(project);
-                 } catch (Throwable t) {
-                     return Stream.empty();
-                 }
-             })
-             .map(project -> new ProjectAssetListUpdated(project))
-             .findFirst()
-             .ifPresent(clientEvent -> {
-                 logger.info("Sending indexing notification for project [{}].", clientEvent.getProject().getRepository().getIdentifier());
-                 assetListUpdateEvent.fire(clientEvent);
-              });
+        final WorkspaceProject project = resolveProject(updatedAssets, removedAssets);
+        if (project != null) {
+            notifyOnUpdatedAssets(project, updatedAssets, removedAssets);
+        }
+    }
+
+    void notifyOnUpdatedAssets(final WorkspaceProject project,
+                               final Collection<Path> updatedAssets,
+                               final Collection<Path> removedAssets) {
+        if (debounce <= 0) {
+            fire(project, updatedAssets, removedAssets);
+            return;
+        }
+
+        final String key = getKey(project);
+        final PendingNotification[] scheduled = new PendingNotification[1];
+        pendingNotifications.compute(key, (k, pending) -> {
+            if (pending == null) {
+                pending = new PendingNotification(project);
+                scheduled[0] = pending;
+            } else {
+                coalescedEvents.incrementAndGet();
+            }
+            pending.add(updatedAssets, removedAssets, maxAssets);
+            return pending;
+        });
+
+        if (scheduled[0] != null) {
+            executorService.execute(() -> flushAfterDebounce(key));
+        }
+    }
+
+    void flushAfterDebounce(final String key) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(debounce);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(key);
+    }
+
+    void flush(final String key) {
+        final PendingNotification pending = pendingNotifications.remove(key);
+        if (pending != null) {
+            fire(pending.project, pending.updatedAssets, pending.removedAssets);
+        }
+    }
+
+    public long getFiredEventsCount() {
+        return firedEvents.get();
     }
 
+    public long getCoalescedEventsCount() {
+        return coalescedEvents.get();
+    }
+
+    private void fire(final WorkspaceProject project,
+                      final Collection<Path> updatedAssets,
+                      final Collection<Path> removedAssets) {
+        try {
+            logger.info("Sending indexing notification for project [{}].", project.getRepository().getIdentifier());
+            if (updatedAssets.size() + removedAssets.size() > maxAssets) {
+                assetListUpdateEvent.fire(new ProjectAssetListUpdated(project));
+            } else {
+                assetListUpdateEvent.fire(new ProjectAssetListUpdated(project,
+                                                                      new ArrayList<>(updatedAssets),
+                                                                      new ArrayList<>(removedAssets)));
+            }
+            firedEvents.incrementAndGet();
+            logger.debug("Asset list notifications fired [{}], coalesced [{}].", firedEvents.get(), coalescedEvents.get());
+        } catch (Exception e) {
+            logger.error("Error sending indexing notification for project [" + project.getRepository().getIdentifier() + "].", e);
+        }
+    }
+
+    private WorkspaceProject resolveProject(final Collection<Path> updatedAssets,
+                                            final Collection<Path> removedAssets) {
+        final Collection<Path> assets = new ArrayList<>(updatedAssets);
+        assets.addAll(removedAssets);
+        for (final Path asset : assets) {
+            try {
+                final WorkspaceProject project = projectService.resolveProject(asset);
+                if (project != null) {
+                    return project;
+                }
+            } catch (Throwable t) {
+                // Try with the next asset.
+            }
+        }
+        return null;
+    }
+
+    private void addAsset(final String key,
+                          final Collection<Path> assets) {
+        final org.uberfire.java.nio.file.Path path = org.uberfire.java.nio.file.Paths.get(key);
+        if (libraryIndexer.supportsPath(path)) {
+            assets.add(Paths.convert(path));
+        }
+    }
+
+    private static String getKey(final WorkspaceProject project) {
+        return project.getRootPath() != null ? project.getRootPath().toURI() : project.getRepository().getIdentifier();
+    }
+
+    private static class PendingNotification {
+
+        private final WorkspaceProject project;
+        private final Set<Path> updatedAssets = new LinkedHashSet<>();
+        private final Set<Path> removedAssets = new LinkedHashSet<>();
+        private boolean overflow;
+
+        private PendingNotification(final WorkspaceProject project) {
+            this.project = project;
+        }
+
+        private void add(final Collection<Path> updated,
+                         final Collection<Path> removed,
+                         final int maxAssets) {
+            if (overflow) {
+                return;
+            }
+            // The latest change for an asset wins.
+            updatedAssets.removeAll(removed);
+            removedAssets.removeAll(updated);
+            updatedAssets.addAll(updated);
+            removedAssets.addAll(removed);
+            if (updatedAssets.size() + removedAssets.size() > maxAssets) {
+                // The clients reload the whole list, so there is no need to keep the assets.
+                overflow = true;
+                updatedAssets.clear();
+                removedAssets.clear();
+            }
+        }
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+
+import org.guvnor.common.services.project.model.WorkspaceProject;
+import org.guvnor.common.services.project.service.WorkspaceProjectService;
+import org.guvnor.structure.repositories.Repository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.library.api.ProjectAssetListUpdated;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.mocks.EventSourceMock;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LibraryAssetUpdateNotifierTest {
+
+    @Mock
+    private WorkspaceProjectService projectService;
+
+    @Mock
+    private LibraryIndexer libraryIndexer;
+
+    @Mock
+    private EventSourceMock<ProjectAssetListUpdated> assetListUpdateEvent;
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Mock
+    private WorkspaceProject project;
+
+    @Mock
+    private Repository repository;
+
+    private Path rootPath = PathFactory.newPath("project",
+                                                "default://master@repo/project");
+    private Path asset1 = PathFactory.newPath("asset1.drl",
+                                              "default://master@repo/project/src/main/resources/asset1.drl");
+    private Path asset2 = PathFactory.newPath("asset2.drl",
+                                              "default://master@repo/project/src/main/resources/asset2.drl");
+
+    private LibraryAssetUpdateNotifier notifier;
+
+    @Before
+    public void setup() {
+        when(project.getRootPath()).thenReturn(rootPath);
+        when(project.getRepository()).thenReturn(repository);
+        when(repository.getIdentifier()).thenReturn("repo");
+
+        notifier = new LibraryAssetUpdateNotifier(projectService,
+                                                  libraryIndexer,
+                                                  assetListUpdateEvent,
+                                                  logger,
+                                                  executorService,
+                                                  10,
+                                                  2);
+    }
+
+    @Test
+    public void notificationsAreCoalescedPerProject() {
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.singletonList(asset1),
+                                       Collections.emptyList());
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.singletonList(asset2),
+                                       Collections.emptyList());
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.emptyList(),
+                                       Collections.singletonList(asset1));
+
+        verify(assetListUpdateEvent,
+               never()).fire(any());
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService,
+               times(1)).execute(flush.capture());
+
+        flush.getValue().run();
+
+        final ArgumentCaptor<ProjectAssetListUpdated> event = ArgumentCaptor.forClass(ProjectAssetListUpdated.class);
+        verify(assetListUpdateEvent,
+               times(1)).fire(event.capture());
+        assertEquals(project,
+                     event.getValue().getProject());
+        assertEquals(Collections.singletonList(asset2),
+                     event.getValue().getUpdatedAssets());
+        assertEquals(Collections.singletonList(asset1),
+                     event.getValue().getRemovedAssets());
+        assertEquals(1,
+                     notifier.getFiredEventsCount());
+        assertEquals(2,
+                     notifier.getCoalescedEventsCount());
+    }
+
+    @Test
+    public void notificationIsScheduledAgainAfterFlush() {
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.singletonList(asset1),
+                                       Collections.emptyList());
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).execute(flush.capture());
+        flush.getValue().run();
+
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.singletonList(asset2),
+                                       Collections.emptyList());
+
+        verify(executorService,
+               times(2)).execute(any(Runnable.class));
+        assertEquals(0,
+                     notifier.getCoalescedEventsCount());
+    }
+
+    @Test
+    public void notificationIsFiredRightAwayWithoutDebounce() {
+        notifier = new LibraryAssetUpdateNotifier(projectService,
+                                                  libraryIndexer,
+                                                  assetListUpdateEvent,
+                                                  logger,
+                                                  executorService,
+                                                  0,
+                                                  2);
+
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.singletonList(asset1),
+                                       Collections.emptyList());
+
+        verify(assetListUpdateEvent).fire(any(ProjectAssetListUpdated.class));
+        verify(executorService,
+               never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void assetsAreNotSentAboveTheLimit() {
+        final Path asset3 = PathFactory.newPath("asset3.drl",
+                                                "default://master@repo/project/src/main/resources/asset3.drl");
+        notifier.notifyOnUpdatedAssets(project,
+                                       Arrays.asList(asset1,
+                                                     asset2),
+                                       Collections.emptyList());
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.emptyList(),
+                                       Collections.singletonList(asset3));
+        // Further changes don't bring the assets back.
+        notifier.notifyOnUpdatedAssets(project,
+                                       Collections.emptyList(),
+                                       Collections.singletonList(asset1));
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).execute(flush.capture());
+
+        flush.getValue().run();
+
+        final ArgumentCaptor<ProjectAssetListUpdated> event = ArgumentCaptor.forClass(ProjectAssetListUpdated.class);
+        verify(assetListUpdateEvent).fire(event.capture());
+        assertEquals(project,
+                     event.getValue().getProject());
+        assertTrue(event.getValue().getUpdatedAssets().isEmpty());
+        assertTrue(event.getValue().getRemovedAssets().isEmpty());
+    }
+}
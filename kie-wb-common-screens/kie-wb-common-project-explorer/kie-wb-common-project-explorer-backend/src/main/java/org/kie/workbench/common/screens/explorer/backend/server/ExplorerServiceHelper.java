@@ -19,7 +19,9 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
@@ -48,6 +50,7 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveRunnable;
 import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -201,12 +204,15 @@ public class ExplorerServiceHelper {
             nioPath = nioPath.getParent();
         }
         final Path basePath = Paths.convert(nioPath);
+        //Locks are retrieved for the whole directory at once, not for each of its files and folders
+        final Map<String, String> lockedByPath = getLockedBy(basePath);
+        List<LockInfo> folderLocks = null;
         final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPath,
                                                                                                        dotFileFilter);
         for (org.uberfire.java.nio.file.Path np : nioPaths) {
             if (Files.isRegularFile(np)) {
                 final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                final String lockedBy = Paths.readLockedBy(p);
+                final String lockedBy = lockedByPath.get(p.toURI());
                 final FolderItem folderItem = new FolderItem(p,
                                                              p.getFileName(),
                                                              FolderItemType.FILE,
@@ -217,8 +223,12 @@ public class ExplorerServiceHelper {
                 folderItems.add(folderItem);
             } else if (Files.isDirectory(np)) {
                 final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                boolean lockedItems = !lockService.retrieveLockInfos(Paths.convert(np),
-                                                                     true).isEmpty();
+                if (folderLocks == null) {
+                    folderLocks = lockService.retrieveLockInfos(basePath,
+                                                                true);
+                }
+                boolean lockedItems = hasLocks(p,
+                                               folderLocks);
                 final FolderItem folderItem = new FolderItem(p,
                                                              p.getFileName(),
                                                              FolderItemType.FOLDER,
@@ -325,6 +335,7 @@ public class ExplorerServiceHelper {
         final boolean includeTags = options.contains(Option.SHOW_TAG_FILTER);
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert(packagePath);
         if (Files.exists(nioPackagePath)) {
+            final Map<String, String> lockedByPath = getLockedBy(packagePath);
             final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPackagePath,
                                                                                                            regularFileFilter);
             for (org.uberfire.java.nio.file.Path nioPath : nioPaths) {
@@ -333,7 +344,7 @@ public class ExplorerServiceHelper {
                     continue;
                 }
 
-                final String lockedBy = Paths.readLockedBy(path);
+                final String lockedBy = lockedByPath.get(path.toURI());
                 final FolderItem folderItem = new FolderItem(path,
                                                              path.getFileName(),
                                                              FolderItemType.FILE,
@@ -348,6 +359,34 @@ public class ExplorerServiceHelper {
         return folderItems;
     }
 
+    /**
+     * Retrieves the users holding a lock on the files inside the given directory, keyed by the file URI.
+     * All the locks are read in a single pass over the directory, so the files not present on the
+     * resulting map are not locked.
+     */
+    Map<String, String> getLockedBy(final Path directory) {
+        final Map<String, String> lockedByPath = new HashMap<>();
+        for (final LockInfo lockInfo : lockService.retrieveLockInfos(directory,
+                                                                     false)) {
+            if (lockInfo.isLocked() && lockInfo.getFile() != null) {
+                lockedByPath.put(lockInfo.getFile().toURI(),
+                                 lockInfo.lockedBy());
+            }
+        }
+        return lockedByPath;
+    }
+
+    boolean hasLocks(final Path folder,
+                     final List<LockInfo> locks) {
+        final String folderURI = folder.toURI().endsWith("/") ? folder.toURI() : folder.toURI() + "/";
+        for (final LockInfo lockInfo : locks) {
+            if (lockInfo.getFile() != null && lockInfo.getFile().toURI().startsWith(folderURI)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void store(final WorkspaceProject project,
                       final Module selectedModule,
                       final FolderListing folderListing,
@@ -16,6 +16,7 @@
 package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -42,6 +43,7 @@ import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveThreadFactory;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
@@ -208,6 +210,40 @@ public class ExplorerServiceHelperTest {
                                activeOptions);
     }
 
+    @Test
+    public void testLocksAreRetrievedOncePerDirectory() {
+        when(lockService.retrieveLockInfos(any(Path.class),
+                                           eq(false))).thenReturn(Collections.singletonList(new LockInfo(true,
+                                                                                                         "user",
+                                                                                                         Paths.convert(path))));
+
+        final List<FolderItem> fis = getFolderItems(Option.BUSINESS_CONTENT);
+
+        assertEquals(4,
+                     fis.size());
+        for (final FolderItem fi : fis) {
+            assertEquals("user",
+                         fi.getLockedBy());
+        }
+        verify(lockService,
+               times(4)).retrieveLockInfos(any(Path.class),
+                                           eq(false));
+    }
+
+    @Test
+    public void testHasLocks() {
+        final List<LockInfo> locks = Collections.singletonList(new LockInfo(true,
+                                                                            "user",
+                                                                            getPath("folder/file.txt")));
+
+        assertTrue(helper.hasLocks(getPath("folder"),
+                                   locks));
+        assertFalse(helper.hasLocks(getPath("fold"),
+                                    locks));
+        assertFalse(helper.hasLocks(getPath("other"),
+                                    locks));
+    }
+
     @Test
     public void testDeleteOperationHasRestrictions() {
         givenThatOperationHasRestrictions(FolderItemOperation.DELETE);
@@ -52,5 +52,9 @@ public class MavenCLIArgs {
 
     public static final String FAIL_NEVER = "-fn";
 
+    public static final String THREADS = "-T";
+
+    public static final String THREADS_PER_CORE = "-T1C";
+
     public static final String DEPENDENCY_RESOLVE = "dependency:resolve";
 }
@@ -44,6 +44,13 @@ public class MavenConfig {
 
     public static final String COMPILATION_ID = "compilation.ID";
 
+    public static final String MODULES_BUILD_TIME = "ModulesBuildTime";
+
+    /**
+     * System property with the default thread configuration of the reactor when -T isn't provided, i.e. 1C for one thread per core
+     */
+    public static final String MAVEN_THREADS = "org.kie.compiler.maven.threads";
+
     public static final String ARCHETYPE_GENERATE = "archetype:generate";
 
     public static final String ARCHETYPE_GENERATE_BLANK = "-B";
@@ -19,8 +19,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import org.codehaus.plexus.classworlds.ClassWorld;
@@ -36,7 +34,6 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.Path;
-import org.uberfire.java.nio.file.StandardOpenOption;
 
 /**
  * Run maven with https://maven.apache.org/ref/3.3.9/maven-embedder/xref/index.html
@@ -76,7 +73,7 @@ public class BaseMavenCompiler<T extends CompilationResponse> implements AFCompi
     }
 
     @Override
-    public T compile(CompilationRequest req) {
+    public synchronized T compile(CompilationRequest req) {
         if(!skipLog) {
             MDC.clear();
             MDC.put(MavenConfig.COMPILATION_ID, req.getRequestUUID());
@@ -112,41 +109,49 @@ public class BaseMavenCompiler<T extends CompilationResponse> implements AFCompi
         }
     }
 
+    /**
+     * The overrides are streamed on the working tree and, when the request asks to restore them,
+     * the original files are backed up as temp files instead of being held in memory.
+     * The builds of the same compiler don't overlap because they share the working tree.
+     */
     @Override
-    public T compile(final CompilationRequest req,
-                     final Map<Path, InputStream> override) {
-
-        final List<BackupItem> backup = new ArrayList<>(override.size());
-        for (Map.Entry<Path, InputStream> entry : override.entrySet()) {
-            Path path = entry.getKey();
-            InputStream input = entry.getValue();
-            try {
-                boolean isChanged = Files.exists(path);
-                backup.add(new BackupItem(path, isChanged ? Files.readAllBytes(path) : null, isChanged));
-                if (!Files.exists(path.getParent())) {
-                    Files.createDirectories(path.getParent());
+    public synchronized T compile(final CompilationRequest req,
+                                  final Map<Path, InputStream> override) {
+
+        final OverrideBackup backup = new OverrideBackup();
+        T result = null;
+        try {
+            for (Map.Entry<Path, InputStream> entry : override.entrySet()) {
+                Path path = entry.getKey();
+                try (InputStream input = entry.getValue()) {
+                    if (req.getRestoreOverride()) {
+                        backup.backup(path);
+                    }
+                    if (!Files.exists(path.getParent())) {
+                        Files.createDirectories(path.getParent());
+                    }
+                    try (OutputStream output = Files.newOutputStream(path)) {
+                        copy(input, output);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Path not writed:" + entry.getKey() + "\n");
+                    logger.error(e.getMessage());
+                    logger.error("\n");
                 }
-                Files.write(path, readAllBytes(input), StandardOpenOption.CREATE,
-                            StandardOpenOption.TRUNCATE_EXISTING);
-            } catch (IOException e) {
-                logger.error("Path not writed:" + entry.getKey() + "\n");
-                logger.error(e.getMessage());
-                logger.error("\n");
             }
-        }
 
-        T result = compile(req);
-
-        if (req.getRestoreOverride()) {
-            for (BackupItem item : backup) {
-                if (item.isAChange()) {
-                    Files.write(item.getPath(), item.getContent());
-                } else {
-                    Files.delete(item.getPath());
+            result = compile(req);
+        } finally {
+            try {
+                backup.restore();
+            } catch (RuntimeException e) {
+                // an error raised by the build is not hidden by the restore
+                if (result != null) {
+                    throw e;
                 }
+                logger.error(e.getMessage(), e);
             }
         }
-
         return result;
     }
 
@@ -164,29 +169,4 @@ public class BaseMavenCompiler<T extends CompilationResponse> implements AFCompi
             out.write(bytes, 0, len);
         }
     }
-
-    class BackupItem {
-
-        private byte[] content;
-        private Path path;
-        private boolean isAChange;
-
-        public BackupItem(Path path, byte[] content, boolean isAChange) {
-            this.path = path;
-            this.content = content;
-            this.isAChange = isAChange;
-        }
-
-        public boolean isAChange() {
-            return isAChange;
-        }
-
-        public byte[] getContent() {
-            return content;
-        }
-
-        public Path getPath() {
-            return path;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -43,6 +43,7 @@ public class DefaultKieCompilationResponse implements KieCompilationResponse,
     private Map<String, byte[]> projectClassLoaderStore;
     private Set<String> eventsTypeClasses;
     private DefaultCompilationResponse defaultResponse;
+    private Map<String, Long> modulesBuildTime = Collections.emptyMap();
 
     public DefaultKieCompilationResponse(Boolean successful, String requestUUID) {
         this(successful, Collections.emptyList(), requestUUID);
@@ -120,6 +121,7 @@ public class DefaultKieCompilationResponse implements KieCompilationResponse,
         this.kieModule = res.getKieModule().orElse(null);
         this.projectClassLoaderStore = Optional.ofNullable(res.getProjectClassLoaderStore()).orElse(Collections.emptyMap());
         this.eventsTypeClasses = Optional.ofNullable(res.getEventTypeClasses()).orElse(Collections.emptySet());
+        this.modulesBuildTime = Optional.ofNullable(res.getModulesBuildTime()).orElse(Collections.emptyMap());
     }
 
     private Path getWorkingDir(String workingDir){
@@ -194,6 +196,15 @@ public class DefaultKieCompilationResponse implements KieCompilationResponse,
         return eventsTypeClasses;
     }
 
+    @Override
+    public Map<String, Long> getModulesBuildTime() {
+        return modulesBuildTime;
+    }
+
+    public void setModulesBuildTime(Map<String, Long> modulesBuildTime) {
+        this.modulesBuildTime = Optional.ofNullable(modulesBuildTime).orElse(Collections.emptyMap());
+    }
+
     public String getRequestUUID() {
         return defaultResponse.getRequestUUID();
     }
@@ -217,6 +228,7 @@ public class DefaultKieCompilationResponse implements KieCompilationResponse,
                 ", targetContentAsURI=" + getTargetContentAsURI() +
                 ", targetContentAsURL=" + getTargetContentAsURL() +
                 ", eventTypeClasses=" + getEventTypeClasses() +
+                ", modulesBuildTime=" + modulesBuildTime +
                 '}';
     }
 }
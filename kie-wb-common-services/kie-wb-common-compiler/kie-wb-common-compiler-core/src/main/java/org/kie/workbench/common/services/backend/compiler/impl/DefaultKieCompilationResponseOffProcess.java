@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -42,6 +43,7 @@ public class DefaultKieCompilationResponseOffProcess implements Serializable {
     private List<String> mavenOutput;
     private String workingDir;
     private String requestUUID;
+    private Map<String, Long> modulesBuildTime = Collections.emptyMap();
 
     private List<String> projectDependencies = Collections.emptyList();
     private List<URI> projectDependenciesAsURI = Collections.emptyList();
@@ -72,6 +74,7 @@ public class DefaultKieCompilationResponseOffProcess implements Serializable {
         this.projectDependencies = Optional.ofNullable(res.getDependencies()).orElse(Collections.emptyList());
         this.targetContent = Optional.ofNullable(res.getTargetContent()).orElse(Collections.emptyList());
         this.workingDir = res.getWorkingDir().map(Object::toString).orElse("");
+        this.modulesBuildTime = new LinkedHashMap<>(Optional.ofNullable(res.getModulesBuildTime()).orElse(Collections.emptyMap()));
     }
 
     public Optional<KieModuleMetaInfo> getKieModuleMetaInfo() {
@@ -90,6 +93,10 @@ public class DefaultKieCompilationResponseOffProcess implements Serializable {
         return new HashSet<>(eventsTypeClasses);
     }
 
+    public Map<String, Long> getModulesBuildTime() {
+        return new LinkedHashMap<>(modulesBuildTime);
+    }
+
     public Boolean isSuccessful() {
         return successful;
     }
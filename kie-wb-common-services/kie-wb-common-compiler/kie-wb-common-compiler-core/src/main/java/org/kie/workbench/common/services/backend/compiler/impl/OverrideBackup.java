@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl;
+package org.kie.workbench.common.services.backend.compiler.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.IOException;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Backup of the files changed by the overrides of a build.
+ * The original files are copied to temp files instead of being held in memory.
+ */
+class OverrideBackup {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverrideBackup.class);
+    private static final int BLOCK_SIZE = 1024;
+
+    private final File tempDir;
+    private final List<BackupItem> items = new ArrayList<>();
+
+    OverrideBackup() {
+        this(null);
+    }
+
+    /**
+     * @param tempDir directory of the temp files, null for the default temp dir
+     */
+    OverrideBackup(File tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Saves the current content of the file, or its absence, before the override is written
+     */
+    void backup(Path path) {
+        if (!Files.exists(path)) {
+            items.add(new BackupItem(path, null));
+            return;
+        }
+        File copy = null;
+        try {
+            copy = File.createTempFile("kie-override", ".backup", tempDir);
+            try (InputStream input = Files.newInputStream(path);
+                 OutputStream output = new FileOutputStream(copy)) {
+                copy(input, output);
+            }
+        } catch (Exception e) {
+            if (copy != null) {
+                copy.delete();
+            }
+            throw (IOException) new IOException("Unable to back up the file:" + path).initCause(e);
+        }
+        items.add(new BackupItem(path, copy));
+    }
+
+    /**
+     * Every item is restored even if a previous one failed and the temp files are always deleted
+     * @throws IOException with the paths not restored
+     */
+    void restore() {
+        final List<Path> notRestored = new ArrayList<>();
+        for (BackupItem item : items) {
+            try {
+                if (item.getBackup() != null) {
+                    try (InputStream input = new FileInputStream(item.getBackup());
+                         OutputStream output = Files.newOutputStream(item.getPath())) {
+                        copy(input, output);
+                    }
+                } else {
+                    Files.deleteIfExists(item.getPath());
+                }
+            } catch (Exception e) {
+                logger.error("Path not restored:" + item.getPath(), e);
+                notRestored.add(item.getPath());
+            } finally {
+                if (item.getBackup() != null && !item.getBackup().delete()) {
+                    logger.warn("Backup file not deleted:{}", item.getBackup());
+                }
+            }
+        }
+        items.clear();
+        if (!notRestored.isEmpty()) {
+            throw new IOException("Unable to restore the overridden files:" + notRestored);
+        }
+    }
+
+    private void copy(InputStream in,
+                      OutputStream out) throws Exception {
+        byte[] bytes = new byte[BLOCK_SIZE];
+        int len;
+        while ((len = in.read(bytes)) != -1) {
+            out.write(bytes, 0, len);
+        }
+    }
+
+    private static class BackupItem {
+
+        private final Path path;
+        private final File backup;
+
+        private BackupItem(Path path,
+                           File backup) {
+            this.path = path;
+            this.backup = backup;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        /**
+         * @return the copy of the original file, null if the file didn't exist
+         */
+        File getBackup() {
+            return backup;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.classloader;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Cache of the ClassLoaders with the dependencies of the modules.
+ * The ClassLoaders are keyed by their content (the urls in order and the checksum of each artifact) and all have
+ * the same parent, so the modules with the same dependencies share the same loader.
+ * A reference is taken by every acquire, paired with a release, and by every ClassLoader retained on top of a shared one,
+ * released when that ClassLoader is no more reachable. The shared loader is closed when the last reference is released.
+ */
+public class DependenciesClassLoaderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependenciesClassLoaderCache.class);
+    private static final String SHA1_EXT = ".sha1";
+    private static final DependenciesClassLoaderCache INSTANCE = new DependenciesClassLoaderCache();
+
+    private final ClassLoader parent;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<ClassLoader, Entry> loaders = new IdentityHashMap<>();
+    private final ReferenceQueue<ClassLoader> unreachableChildren = new ReferenceQueue<>();
+    private final Set<ChildReference> children = new HashSet<>();
+
+    public DependenciesClassLoaderCache() {
+        this(DependenciesClassLoaderCache.class.getClassLoader());
+    }
+
+    /**
+     * @param parent of all the loaders created by this cache
+     */
+    public DependenciesClassLoaderCache(ClassLoader parent) {
+        this.parent = parent;
+    }
+
+    public static DependenciesClassLoaderCache getInstance() {
+        return INSTANCE;
+    }
+
+    public ClassLoader getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the shared loader of the urls
+     */
+    public URLClassLoader acquire(List<URL> urls) {
+        releaseUnreachableChildren();
+        final String key = getKey(urls);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key,
+                                  new URLClassLoader(urls.toArray(new URL[urls.size()]), parent));
+                entries.put(key, entry);
+                loaders.put(entry.loader, entry);
+            }
+            entry.references++;
+            return entry.loader;
+        }
+    }
+
+    /**
+     * Keeps a shared loader open while the child, delegating to it, is reachable
+     * @return false if the loader doesn't come from this cache or has already been closed
+     */
+    public boolean retain(ClassLoader loader,
+                          ClassLoader child) {
+        releaseUnreachableChildren();
+        synchronized (entries) {
+            final Entry entry = loaders.get(loader);
+            if (entry == null) {
+                return false;
+            }
+            entry.references++;
+            children.add(new ChildReference(child,
+                                            entry.loader,
+                                            unreachableChildren));
+            return true;
+        }
+    }
+
+    /**
+     * Releases a loader obtained from this cache, it's closed when there aren't other references
+     * @return true if the loader has been closed
+     */
+    public boolean release(ClassLoader loader) {
+        releaseUnreachableChildren();
+        return doRelease(loader);
+    }
+
+    public int getReferences(ClassLoader loader) {
+        releaseUnreachableChildren();
+        synchronized (entries) {
+            Entry entry = loaders.get(loader);
+            return entry != null ? entry.references : 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The key is the SHA-1 of the urls with the checksum of each artifact, the .sha1 file of the local repo when present
+     * otherwise the size and the last modified time of the file
+     */
+    public String getKey(List<URL> urls) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (URL url : urls) {
+                digest.update(url.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(getChecksum(url).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return ObjectId.fromRaw(digest.digest()).name();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean doRelease(ClassLoader loader) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = loaders.get(loader);
+            if (entry == null || --entry.references > 0) {
+                return false;
+            }
+            loaders.remove(loader);
+            entries.remove(entry.key, entry);
+        }
+        try {
+            entry.loader.close();
+        } catch (IOException e) {
+            logger.error("Unable to close the dependencies classloader:" + e.getMessage());
+        }
+        return true;
+    }
+
+    private void releaseUnreachableChildren() {
+        Reference<? extends ClassLoader> reference;
+        while ((reference = unreachableChildren.poll()) != null) {
+            final ChildReference child = (ChildReference) reference;
+            synchronized (entries) {
+                children.remove(child);
+            }
+            doRelease(child.loader);
+        }
+    }
+
+    private String getChecksum(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return "";
+        }
+        try {
+            File file = new File(url.toURI());
+            File sha1 = new File(file.getPath() + SHA1_EXT);
+            if (sha1.isFile()) {
+                String content = new String(Files.readAllBytes(sha1.toPath()), StandardCharsets.UTF_8).trim();
+                int space = content.indexOf(' ');
+                return space > 0 ? content.substring(0, space) : content;
+            }
+            return file.length() + ":" + file.lastModified();
+        } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static class Entry {
+
+        private final String key;
+        private final URLClassLoader loader;
+        private int references;
+
+        Entry(String key,
+              URLClassLoader loader) {
+            this.key = key;
+            this.loader = loader;
+        }
+    }
+
+    private static class ChildReference extends PhantomReference<ClassLoader> {
+
+        private final ClassLoader loader;
+
+        ChildReference(ClassLoader child,
+                       ClassLoader loader,
+                       ReferenceQueue<ClassLoader> queue) {
+            super(child,
+                  queue);
+            this.loader = loader;
+        }
+    }
+}
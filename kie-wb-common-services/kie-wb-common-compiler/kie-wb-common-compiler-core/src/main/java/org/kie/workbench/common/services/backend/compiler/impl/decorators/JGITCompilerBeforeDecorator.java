@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.services.backend.compiler.impl.decorators;
 
+import java.io.File;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +30,7 @@ import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
+import org.kie.workbench.common.services.backend.compiler.impl.incrementalenabler.IncrementalCompilerState;
 import org.kie.workbench.common.services.backend.compiler.impl.utils.JGitUtils;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.java.nio.file.Paths;
@@ -41,9 +43,16 @@ public class JGITCompilerBeforeDecorator<T extends CompilationResponse, C extend
 
     private Map<JGitFileSystem, Git> gitMap;
     private C compiler;
+    private IncrementalCompilerState state;
 
     public JGITCompilerBeforeDecorator(C compiler) {
+        this(compiler, new IncrementalCompilerState());
+    }
+
+    public JGITCompilerBeforeDecorator(C compiler,
+                                       IncrementalCompilerState state) {
         this.compiler = compiler;
+        this.state = state;
         this.gitMap = new HashMap<>();
     }
 
@@ -119,7 +128,9 @@ public class JGITCompilerBeforeDecorator<T extends CompilationResponse, C extend
         if (projectPath.getFileSystem() instanceof JGitFileSystem) {
             final JGitFileSystem fs = (JGitFileSystem) projectPath.getFileSystem();
             if (!gitMap.containsKey(fs)) {
-                gitMap.put(fs, JGitUtils.tempClone(fs, req.getRequestUUID()));
+                // with a stable working copy the outputs and the incremental state survive to this compiler
+                final File workspace = state.getWorkspace(fs.getGit().getRepository().getDirectory().getAbsolutePath() + projectPath.toUri());
+                gitMap.put(fs, workspace != null ? JGitUtils.cloneOrOpen(fs, workspace) : JGitUtils.tempClone(fs, req.getRequestUUID()));
             }
             return Optional.of(gitMap.get(fs));
         }
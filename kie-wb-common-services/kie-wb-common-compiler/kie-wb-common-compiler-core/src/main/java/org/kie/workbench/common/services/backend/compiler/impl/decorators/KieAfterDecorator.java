@@ -36,6 +36,7 @@ import org.kie.api.builder.KieModule;
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenConfig;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
 import org.slf4j.Logger;
@@ -82,10 +83,14 @@ public class KieAfterDecorator<T extends CompilationResponse, C extends AFCompil
     }
 
     private T handleAfter(CompilationRequest req, T res) {
-        if (req.getInfo().isKiePluginPresent()) {
-            return (T) handleKieMavenPlugin(req, res);
-        }
-        return (T) handleNormalBuild(req, res);
+        final KieCompilationResponse kieRes = req.getInfo().isKiePluginPresent() ? handleKieMavenPlugin(req, res) : handleNormalBuild(req, res);
+        ((DefaultKieCompilationResponse) kieRes).setModulesBuildTime(getModulesBuildTime(req));
+        return (T) kieRes;
+    }
+
+    private Map<String, Long> getModulesBuildTime(CompilationRequest req) {
+        final KieTuple modulesBuildTime = read(req, MavenConfig.MODULES_BUILD_TIME, "Modules build time not present in the map");
+        return (Map<String, Long>) modulesBuildTime.getOptionalObject().orElse(Collections.emptyMap());
     }
 
     private KieCompilationResponse handleKieMavenPlugin(CompilationRequest req,
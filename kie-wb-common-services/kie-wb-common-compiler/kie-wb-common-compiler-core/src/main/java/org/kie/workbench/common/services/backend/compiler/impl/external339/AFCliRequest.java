@@ -17,6 +17,7 @@
 package org.kie.workbench.common.services.backend.compiler.impl.external339;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -57,7 +58,7 @@ public class AFCliRequest {
         this.workingDirectory = multiModuleProjectDirectory;
         this.request = new DefaultMavenExecutionRequest();
         this.args = args;
-        this.map = new HashMap<>(map);
+        this.map = Collections.synchronizedMap(new HashMap<>(map));
         this.requestUUID = requestUUID;
         this.bannedEnvVars = bannedEnvVars;
     }
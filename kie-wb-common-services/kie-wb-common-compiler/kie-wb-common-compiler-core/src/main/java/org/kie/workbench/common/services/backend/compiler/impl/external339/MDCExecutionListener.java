@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.external339;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.slf4j.MDC;
+
+/***
+ * ExecutionListener that carries the MDC of the thread that started the build on the threads used by the
+ * multithreaded builder, in this way the output of every module of a parallel build is routed by the
+ * KieSiftingAppender to the log of the right compilation
+ */
+public class MDCExecutionListener implements ExecutionListener {
+
+    private final ExecutionListener delegate;
+    private final Map<String, String> context;
+    private final Thread owner;
+
+    public MDCExecutionListener(ExecutionListener delegate) {
+        this.delegate = delegate;
+        Map<String, String> current = MDC.getCopyOfContextMap();
+        this.context = current != null ? current : Collections.emptyMap();
+        this.owner = Thread.currentThread();
+    }
+
+    private void enter() {
+        if (Thread.currentThread() != owner) {
+            MDC.setContextMap(context);
+        }
+    }
+
+    private void leave() {
+        if (Thread.currentThread() != owner) {
+            MDC.clear();
+        }
+    }
+
+    @Override
+    public void projectDiscoveryStarted(ExecutionEvent event) {
+        enter();
+        delegate.projectDiscoveryStarted(event);
+    }
+
+    @Override
+    public void sessionStarted(ExecutionEvent event) {
+        enter();
+        delegate.sessionStarted(event);
+    }
+
+    @Override
+    public void sessionEnded(ExecutionEvent event) {
+        enter();
+        delegate.sessionEnded(event);
+    }
+
+    @Override
+    public void projectSkipped(ExecutionEvent event) {
+        enter();
+        try {
+            delegate.projectSkipped(event);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public void projectStarted(ExecutionEvent event) {
+        enter();
+        delegate.projectStarted(event);
+    }
+
+    @Override
+    public void projectSucceeded(ExecutionEvent event) {
+        enter();
+        try {
+            delegate.projectSucceeded(event);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public void projectFailed(ExecutionEvent event) {
+        enter();
+        try {
+            delegate.projectFailed(event);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public void mojoSkipped(ExecutionEvent event) {
+        enter();
+        delegate.mojoSkipped(event);
+    }
+
+    @Override
+    public void mojoStarted(ExecutionEvent event) {
+        enter();
+        delegate.mojoStarted(event);
+    }
+
+    @Override
+    public void mojoSucceeded(ExecutionEvent event) {
+        enter();
+        delegate.mojoSucceeded(event);
+    }
+
+    @Override
+    public void mojoFailed(ExecutionEvent event) {
+        enter();
+        delegate.mojoFailed(event);
+    }
+
+    @Override
+    public void forkStarted(ExecutionEvent event) {
+        enter();
+        delegate.forkStarted(event);
+    }
+
+    @Override
+    public void forkSucceeded(ExecutionEvent event) {
+        enter();
+        delegate.forkSucceeded(event);
+    }
+
+    @Override
+    public void forkFailed(ExecutionEvent event) {
+        enter();
+        delegate.forkFailed(event);
+    }
+
+    @Override
+    public void forkedProjectStarted(ExecutionEvent event) {
+        enter();
+        delegate.forkedProjectStarted(event);
+    }
+
+    @Override
+    public void forkedProjectSucceeded(ExecutionEvent event) {
+        enter();
+        delegate.forkedProjectSucceeded(event);
+    }
+
+    @Override
+    public void forkedProjectFailed(ExecutionEvent event) {
+        enter();
+        delegate.forkedProjectFailed(event);
+    }
+}
@@ -70,6 +70,7 @@ import org.apache.maven.eventspy.internal.EventSpyDispatcher;
 import org.apache.maven.exception.DefaultExceptionHandler;
 import org.apache.maven.exception.ExceptionHandler;
 import org.apache.maven.exception.ExceptionSummary;
+import org.apache.maven.execution.BuildSummary;
 import org.apache.maven.execution.DefaultMavenExecutionRequest;
 import org.apache.maven.execution.ExecutionListener;
 import org.apache.maven.execution.MavenExecutionRequest;
@@ -99,6 +100,7 @@ import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.eclipse.aether.transfer.TransferListener;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenConfig;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -749,6 +751,24 @@ public class ReusableAFMavenCli {
         }
     }
 
+    /**
+     * Time in millis spent on every module of the reactor, keyed by groupId:artifactId in build order
+     */
+    private Map<String, Long> getModulesBuildTime(MavenExecutionResult result) {
+        Map<String, Long> modulesBuildTime = new LinkedHashMap<>();
+        List<MavenProject> projects = result.getTopologicallySortedProjects();
+        if (projects != null) {
+            for (MavenProject project : projects) {
+                BuildSummary summary = result.getBuildSummary(project);
+                if (summary != null) {
+                    modulesBuildTime.put(project.getGroupId() + ":" + project.getArtifactId(),
+                                         summary.getTime());
+                }
+            }
+        }
+        return modulesBuildTime;
+    }
+
     protected int execute(AFCliRequest cliRequest) throws MavenExecutionRequestPopulationException {
         MavenExecutionRequest request = reusableExecutionRequestPopulator.populateDefaults(cliRequest.getRequest());
 
@@ -756,6 +776,9 @@ public class ReusableAFMavenCli {
 
         MavenExecutionResult result = reusableMaven.execute(request);
 
+        cliRequest.getMap().put(cliRequest.getRequestUUID() + "." + MavenConfig.MODULES_BUILD_TIME,
+                                getModulesBuildTime(result));
+
         reusableEventSpyDispatcher.onEvent(result);
 
         reusableEventSpyDispatcher.close();
@@ -1117,6 +1140,7 @@ public class ReusableAFMavenCli {
         if (reusableEventSpyDispatcher != null) {
             executionListener = reusableEventSpyDispatcher.chainListener(executionListener);
         }
+        executionListener = new MDCExecutionListener(executionListener);
 
         String alternatePomFile = null;
         if (commandLine.hasOption(CLIManager.ALTERNATE_POM_FILE)) {
@@ -1224,11 +1248,15 @@ public class ReusableAFMavenCli {
         // parameters but this is sufficient for now. Ultimately we want components like Builders to provide a way to
         // extend the command line to accept its own configuration parameters.
         //
-        final String threadConfiguration = commandLine.hasOption(CLIManager.THREADS)
+        String threadConfiguration = commandLine.hasOption(CLIManager.THREADS)
                 ? commandLine.getOptionValue(CLIManager.THREADS)
                 : request.getSystemProperties().getProperty(
                 MavenCli.THREADS_DEPRECATED); // TODO: Remove this setting. Note that the int-tests use it
 
+        if (threadConfiguration == null) {
+            threadConfiguration = System.getProperty(MavenConfig.MAVEN_THREADS);
+        }
+
         if (threadConfiguration != null) {
             //
             // Default to the standard multithreaded builder
@@ -19,6 +19,7 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
@@ -40,8 +41,14 @@ public class DefaultIncrementalCompilerEnabler implements IncrementalCompilerEna
     protected String FILE_URI = "file://";
     private boolean isValidConfiguration;
     private DefaultPomEditor editor;
+    private IncrementalCompilerState state;
 
     public DefaultIncrementalCompilerEnabler() {
+        this(new IncrementalCompilerState());
+    }
+
+    public DefaultIncrementalCompilerEnabler(IncrementalCompilerState state) {
+        this.state = state;
         ConfigurationContextProvider confProvider = new ConfigurationContextProvider();
         isValidConfiguration = confProvider.isValid();
         if (isValidConfiguration) {
@@ -64,11 +71,22 @@ public class DefaultIncrementalCompilerEnabler implements IncrementalCompilerEna
         Boolean isPresent = isPresent(placeHolder);   // check if the main pom is already scanned and edited
         if (placeHolder.isValid() && !isPresent) {
             List<String> pomsList = MavenUtils.searchPoms(mainPom.getParent()); // recursive NIO search in all subfolders
+            String projectDir = mainPom.getParent().toAbsolutePath().toString();
+            Optional<Boolean> processed = state.getProcessed(projectDir, pomsList);
+            if (processed.isPresent()) {
+                // poms already enabled by a previous compiler, rewriting them would invalidate the incremental state
+                editor.restore(pomsList, processed.get(), req);
+                return new ProcessedPoms(Boolean.TRUE,
+                                         pomsList);
+            }
             boolean result = false;
             if (pomsList.size() > 0) {
                 result = processFoundPoms(pomsList,
                                           req);
             }
+            if (result) {
+                state.storeProcessed(projectDir, pomsList, req.getInfo().isKiePluginPresent());
+            }
             return new ProcessedPoms(result,
                                      pomsList);
         } else {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.incrementalenabler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Stores on disk, per project, the poms already processed by the incremental compiler enabler with the hash of their content
+ * and the working copies of the git projects, in this way the first build after a restart or after the eviction
+ * of the compiler finds the poms already enabled and the outputs and the incremental state of the previous builds.
+ * It's enabled only when the state dir is configured, the dir mustn't be shared between processes building the same projects
+ */
+public class IncrementalCompilerState {
+
+    public static final String STATE_DIR = "org.kie.compiler.incremental.state.dir";
+    private static final String STATE_SUFFIX = ".properties";
+    private static final String WORKSPACES = "workspaces";
+    private static final String KIE_PLUGIN_PRESENT = "kiePluginPresent";
+    private static final String POMS = "poms";
+    private static final String POM = "pom.";
+    private static final String HASH = "hash.";
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalCompilerState.class);
+
+    private final File stateDir;
+
+    public IncrementalCompilerState() {
+        this(System.getProperty(STATE_DIR) != null ? new File(System.getProperty(STATE_DIR)) : null);
+    }
+
+    /**
+     * @param stateDir directory where the state is stored, null to disable the persistence
+     */
+    public IncrementalCompilerState(File stateDir) {
+        this.stateDir = stateDir;
+        if (stateDir != null && !stateDir.exists() && !stateDir.mkdirs()) {
+            logger.error("Unable to create the incremental state dir:{}", stateDir);
+        }
+    }
+
+    public boolean isEnabled() {
+        return stateDir != null && stateDir.isDirectory();
+    }
+
+    /**
+     * @return the kie plugin flag of the stored processing when all the poms of the project are the same already processed
+     */
+    public Optional<Boolean> getProcessed(String projectDir,
+                                          List<String> poms) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        File entry = getEntry(projectDir);
+        if (!entry.isFile()) {
+            return Optional.empty();
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(entry.toPath())) {
+            props.load(in);
+            if (Integer.parseInt(props.getProperty(POMS, "-1")) != poms.size()) {
+                return Optional.empty();
+            }
+            for (int i = 0; i < poms.size(); i++) {
+                String pom = poms.get(i);
+                if (!pom.equals(props.getProperty(POM + i)) || !hash(pom).equals(props.getProperty(HASH + i))) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(Boolean.valueOf(props.getProperty(KIE_PLUGIN_PRESENT)));
+        } catch (Exception e) {
+            logger.error("Unable to read the incremental state " + entry, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the poms of the project as processed, to call after their rewriting
+     */
+    public void storeProcessed(String projectDir,
+                               List<String> poms,
+                               Boolean kiePluginPresent) {
+        if (!isEnabled()) {
+            return;
+        }
+        File entry = getEntry(projectDir);
+        Properties props = new Properties();
+        try {
+            props.setProperty(KIE_PLUGIN_PRESENT, String.valueOf(kiePluginPresent));
+            props.setProperty(POMS, String.valueOf(poms.size()));
+            for (int i = 0; i < poms.size(); i++) {
+                props.setProperty(POM + i, poms.get(i));
+                props.setProperty(HASH + i, hash(poms.get(i)));
+            }
+            File tmp = new File(stateDir, entry.getName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+                props.store(out, projectDir);
+            }
+            Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            logger.error("Unable to write the incremental state " + entry, e);
+        }
+    }
+
+    public void removeProcessed(String projectDir) {
+        if (isEnabled()) {
+            getEntry(projectDir).delete();
+        }
+    }
+
+    /**
+     * @return the stable directory where to keep the working copy identified by the key, null when the state is disabled
+     */
+    public File getWorkspace(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return new File(new File(stateDir, WORKSPACES), digest(key));
+    }
+
+    private File getEntry(String projectDir) {
+        return new File(stateDir, digest(projectDir) + STATE_SUFFIX);
+    }
+
+    private String hash(String pom) throws IOException {
+        return digest(Files.readAllBytes(Paths.get(pom)));
+    }
+
+    private String digest(String value) {
+        return digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String digest(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return ObjectId.fromRaw(digest.digest(content)).name();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
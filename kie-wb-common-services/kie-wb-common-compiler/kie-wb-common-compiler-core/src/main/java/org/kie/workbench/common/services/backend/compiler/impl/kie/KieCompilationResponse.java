@@ -48,4 +48,9 @@ public interface KieCompilationResponse extends CompilationResponse {
      * Provides the List of classes annotated in the drl files with Event
      */
     Set<String> getEventTypeClasses();
+
+    /**
+     * Provides the build time in millis of every module of the reactor, keyed by groupId:artifactId in build order
+     */
+    Map<String, Long> getModulesBuildTime();
 }
@@ -150,6 +150,26 @@ public class DefaultPomEditor implements PomEditor {
 
 
 
+    /**
+     * Adds to the history and to the request the outcome of poms already processed
+     * without reading and writing them again
+     */
+    public void restore(List<String> poms,
+                        Boolean kiePluginPresent,
+                        CompilationRequest request) {
+        request.getInfo().lateAdditionKiePluginPresent(kiePluginPresent);
+        if (!request.skipProjectDependenciesCreationList()) {
+            String args[] = addCreateClasspathMavenArgs(request.getKieCliRequest().getArgs(), request);
+            request.getKieCliRequest().setArgs(args);
+        }
+        for (String pom : poms) {
+            PomPlaceHolder placeHolder = readSingle(Paths.get(URI.create(FILE_URI + pom)));
+            if (placeHolder.isValid()) {
+                history.add(placeHolder);
+            }
+        }
+    }
+
     /* Pom's Plugin manipulation methods*/
 
     private PluginPresents updatePom(Model model) {
@@ -16,7 +16,9 @@
 package org.kie.workbench.common.services.backend.compiler.impl.utils;
 
 import java.io.File;
+import java.io.IOException;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.PullResult;
 import org.eclipse.jgit.api.RebaseResult;
@@ -59,6 +61,31 @@ public class JGitUtils {
         return result;
     }
 
+    /**
+     * Opens the working copy in the workspace when present, otherwise clones the repo into it
+     */
+    public static Git cloneOrOpen(final JGitFileSystem fs,
+                                  final File workspace) {
+        if (new File(workspace, ".git").isDirectory()) {
+            try {
+                return Git.open(workspace);
+            } catch (IOException e) {
+                logger.error("Unable to open the working copy " + workspace + ", it will be cloned again", e);
+                FileUtils.deleteQuietly(workspace);
+            }
+        }
+        try {
+            return Git.cloneRepository()
+                    .setURI(fs.getGit().getRepository().getDirectory().toURI().toString())
+                    .setDirectory(workspace)
+                    .setBare(false)
+                    .setCloneAllBranches(true)
+                    .call();
+        } catch (GitAPIException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static Git tempClone(final JGitFileSystem fs,
                                 final String uuid) {
         try {
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /***
  * Map to hold the outputs of the compilations using the UUID key to retrieve and store
@@ -27,6 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class OutputSharedMap {
 
     private static Map<String, List<String>> map = new ConcurrentHashMap();
+    private static Map<String, Consumer<String>> listeners = new ConcurrentHashMap<>();
 
     public static List<String> getLog(String key) {
         if (map.containsKey(key)) {
@@ -47,9 +49,25 @@ public class OutputSharedMap {
             map.put(key, new ArrayList<>());
             map.get(key).add(msg);
         }
+        Consumer<String> listener = listeners.get(key);
+        if (listener != null) {
+            listener.accept(msg);
+        }
+    }
+
+    /***
+     * Registers a consumer notified of every message added to the log with this key
+     */
+    public static void addListener(String key, Consumer<String> listener) {
+        listeners.put(key, listener);
+    }
+
+    public static void removeListener(String key) {
+        listeners.remove(key);
     }
 
     public static void purgeAll() {
         map.clear();
+        listeners.clear();
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class BaseMavenCompilerOverrideTest {
+
+    private Path tmpRoot;
+    private Path existing;
+    private Path added;
+    private Map<Path, String> contentDuringBuild;
+
+    @Before
+    public void setUp() throws Exception {
+        tmpRoot = Files.createTempDirectory("override");
+        existing = tmpRoot.resolve("src/main/resources/existing.drl");
+        added = tmpRoot.resolve("src/main/resources/added.drl");
+        Files.createDirectories(existing.getParent());
+        Files.write(existing, "original".getBytes(StandardCharsets.UTF_8));
+        contentDuringBuild = new HashMap<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(tmpRoot.toFile());
+    }
+
+    @Test
+    public void overridesAreRestoredWhenTheBuildFails() {
+        Map<Path, InputStream> override = new LinkedHashMap<>();
+        override.put(existing, stream("overridden"));
+        override.put(added, stream("added"));
+
+        try {
+            compiler(true).compile(request(), override);
+            fail("The build error must be raised");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("build failed");
+        }
+
+        assertThat(contentDuringBuild.get(existing)).isEqualTo("overridden");
+        assertThat(contentDuringBuild.get(added)).isEqualTo("added");
+        assertThat(read(existing)).isEqualTo("original");
+        assertThat(Files.exists(added)).isFalse();
+    }
+
+    @Test
+    public void partialOverridesAreRestored() {
+        Map<Path, InputStream> override = new LinkedHashMap<>();
+        // the stream breaks after the first bytes are written on the file
+        override.put(existing, new ByteArrayInputStream("partial".getBytes(StandardCharsets.UTF_8)) {
+            private boolean first = true;
+
+            @Override
+            public synchronized int read(byte[] b,
+                                         int off,
+                                         int len) {
+                if (first) {
+                    first = false;
+                    return super.read(b, off, 3);
+                }
+                throw new IllegalStateException("broken stream");
+            }
+        });
+        override.put(added, stream("added"));
+
+        CompilationResponse res = compiler(false).compile(request(), override);
+
+        assertThat(res.isSuccessful()).isTrue();
+        assertThat(contentDuringBuild.get(existing)).isEqualTo("par");
+        assertThat(contentDuringBuild.get(added)).isEqualTo("added");
+        assertThat(read(existing)).isEqualTo("original");
+        assertThat(Files.exists(added)).isFalse();
+    }
+
+    private BaseMavenCompiler<CompilationResponse> compiler(boolean failBuild) {
+        return new BaseMavenCompiler<CompilationResponse>(true, false) {
+            @Override
+            public synchronized CompilationResponse compile(CompilationRequest req) {
+                contentDuringBuild.put(existing, read(existing));
+                contentDuringBuild.put(added, Files.exists(added) ? read(added) : null);
+                if (failBuild) {
+                    throw new IllegalStateException("build failed");
+                }
+                return new DefaultKieCompilationResponse(Boolean.TRUE, req.getRequestUUID());
+            }
+        };
+    }
+
+    private CompilationRequest request() {
+        return new DefaultCompilationRequest(tmpRoot.toString(),
+                                             new WorkspaceCompilationInfo(tmpRoot),
+                                             new String[]{MavenCLIArgs.COMPILE},
+                                             Boolean.TRUE,
+                                             true);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(Path path) {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
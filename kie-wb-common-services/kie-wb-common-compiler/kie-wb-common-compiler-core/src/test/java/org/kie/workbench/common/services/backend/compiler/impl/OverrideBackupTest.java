@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.java.nio.IOException;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class OverrideBackupTest {
+
+    private Path tmpRoot;
+    private File backupDir;
+
+    @Before
+    public void setUp() throws Exception {
+        tmpRoot = Files.createTempDirectory("override-backup");
+        backupDir = Files.createDirectories(tmpRoot.resolve("backup")).toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(tmpRoot.toFile());
+    }
+
+    @Test
+    public void everyFileIsRestoredAndTheBackupsAreDeleted() {
+        Path first = write("first.txt", "first");
+        Path second = write("second.txt", "second");
+        Path added = tmpRoot.resolve("added.txt");
+
+        OverrideBackup backup = new OverrideBackup(backupDir);
+        backup.backup(first);
+        backup.backup(added);
+        backup.backup(second);
+        assertThat(backupDir.list()).hasSize(2);
+
+        write("first.txt", "changed");
+        write("added.txt", "added");
+        write("second.txt", "changed");
+        backup.restore();
+
+        assertThat(read(first)).isEqualTo("first");
+        assertThat(read(second)).isEqualTo("second");
+        assertThat(Files.exists(added)).isFalse();
+        assertThat(backupDir.list()).isEmpty();
+    }
+
+    @Test
+    public void aFailedRestoreDoesNotStopTheOthers() {
+        Path first = write("first.txt", "first");
+        Path added = tmpRoot.resolve("added");
+        Path second = write("second.txt", "second");
+
+        OverrideBackup backup = new OverrideBackup(backupDir);
+        backup.backup(first);
+        backup.backup(added);
+        backup.backup(second);
+
+        write("first.txt", "changed");
+        // a not empty directory can't be deleted
+        write("added/child.txt", "child");
+        write("second.txt", "changed");
+
+        try {
+            backup.restore();
+            fail("The paths not restored must be reported");
+        } catch (IOException e) {
+            assertThat(e.getMessage()).contains(added.toString());
+        }
+
+        assertThat(read(first)).isEqualTo("first");
+        assertThat(read(second)).isEqualTo("second");
+        assertThat(backupDir.list()).isEmpty();
+    }
+
+    private Path write(String relativePath,
+                       String content) {
+        Path path = tmpRoot.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(Path path) {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
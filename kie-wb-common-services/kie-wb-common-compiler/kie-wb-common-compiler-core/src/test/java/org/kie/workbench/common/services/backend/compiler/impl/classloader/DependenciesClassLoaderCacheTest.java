@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.classloader;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DependenciesClassLoaderCacheTest {
+
+    private File repo;
+    private File jar;
+    private File otherJar;
+    private DependenciesClassLoaderCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        repo = Files.createTempDirectory("repo").toFile();
+        jar = new File(repo, "dep-1.0.jar");
+        otherJar = new File(repo, "other-1.0.jar");
+        Files.write(jar.toPath(), "jar".getBytes(StandardCharsets.UTF_8));
+        Files.write(otherJar.toPath(), "other".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(repo, "dep-1.0.jar.sha1").toPath(), "aaaa  dep-1.0.jar".getBytes(StandardCharsets.UTF_8));
+        cache = new DependenciesClassLoaderCache();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(repo);
+    }
+
+    @Test
+    public void testSameDependenciesShareTheLoader() throws Exception {
+        List<URL> urls = Arrays.asList(jar.toURI().toURL(), otherJar.toURI().toURL());
+        URLClassLoader first = cache.acquire(urls);
+        URLClassLoader second = cache.acquire(Arrays.asList(jar.toURI().toURL(), otherJar.toURI().toURL()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getReferences(first)).isEqualTo(2);
+    }
+
+    @Test
+    public void testLoaderClosedWithTheLastRelease() throws Exception {
+        List<URL> urls = Arrays.asList(jar.toURI().toURL());
+        URLClassLoader first = cache.acquire(urls);
+        cache.acquire(urls);
+
+        assertThat(cache.release(first)).isFalse();
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.release(first)).isTrue();
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.release(first)).isFalse();
+
+        assertThat(cache.acquire(urls)).isNotSameAs(first);
+    }
+
+    @Test
+    public void testDifferentDependencies() throws Exception {
+        URLClassLoader first = cache.acquire(Arrays.asList(jar.toURI().toURL()));
+        URLClassLoader other = cache.acquire(Arrays.asList(otherJar.toURI().toURL()));
+
+        assertThat(other).isNotSameAs(first);
+        assertThat(other.getParent()).isSameAs(cache.getParent());
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testLoaderOpenWhileARetainedChildIsReachable() throws Exception {
+        List<URL> urls = Arrays.asList(jar.toURI().toURL());
+        URLClassLoader shared = cache.acquire(urls);
+        ClassLoader child = new URLClassLoader(new URL[0], shared);
+
+        assertThat(cache.retain(shared, child)).isTrue();
+        assertThat(cache.release(shared)).isFalse();
+        assertThat(cache.getReferences(shared)).isEqualTo(1);
+        assertThat(cache.retain(getClass().getClassLoader(), child)).isFalse();
+
+        child = null;
+        for (int i = 0; i < 50 && cache.getReferences(shared) > 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertThat(cache.getReferences(shared)).isEqualTo(0);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testKeyFollowsTheChecksum() throws Exception {
+        List<URL> urls = Arrays.asList(jar.toURI().toURL());
+        String key = cache.getKey(urls);
+        assertThat(cache.getKey(urls)).isEqualTo(key);
+
+        Files.write(new File(repo, "dep-1.0.jar.sha1").toPath(), "bbbb".getBytes(StandardCharsets.UTF_8));
+        assertThat(cache.getKey(urls)).isNotEqualTo(key);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.external339;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.ExecutionEvent;
+import org.junit.After;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenConfig;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MDCExecutionListenerTest {
+
+    @After
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void testMDCPropagatedOnModuleThreads() throws Exception {
+        MDC.put(MavenConfig.COMPILATION_ID, "uuid-1");
+        final AtomicReference<String> onStarted = new AtomicReference<>();
+        final AtomicReference<String> afterSucceeded = new AtomicReference<>();
+
+        final MDCExecutionListener listener = new MDCExecutionListener(new AbstractExecutionListener() {
+            @Override
+            public void projectStarted(ExecutionEvent event) {
+                onStarted.set(MDC.get(MavenConfig.COMPILATION_ID));
+            }
+        });
+
+        Thread module = new Thread(() -> {
+            listener.projectStarted(null);
+            listener.projectSucceeded(null);
+            afterSucceeded.set(String.valueOf(MDC.get(MavenConfig.COMPILATION_ID)));
+        });
+        module.start();
+        module.join();
+
+        assertThat(onStarted.get()).isEqualTo("uuid-1");
+        assertThat(afterSucceeded.get()).isEqualTo("null");
+    }
+
+    @Test
+    public void testMDCOfTheOwnerThreadUntouched() {
+        MDC.put(MavenConfig.COMPILATION_ID, "uuid-2");
+        final MDCExecutionListener listener = new MDCExecutionListener(new AbstractExecutionListener());
+
+        listener.projectStarted(null);
+        listener.projectSucceeded(null);
+
+        assertThat(MDC.get(MavenConfig.COMPILATION_ID)).isEqualTo("uuid-2");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.incrementalenabler;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalCompilerStateTest {
+
+    private File stateDir;
+    private File projectDir;
+    private File pom;
+    private File modulePom;
+
+    @Before
+    public void setUp() throws Exception {
+        stateDir = Files.createTempDirectory("state").toFile();
+        projectDir = Files.createTempDirectory("project").toFile();
+        pom = new File(projectDir, "pom.xml");
+        modulePom = new File(new File(projectDir, "module"), "pom.xml");
+        modulePom.getParentFile().mkdirs();
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+        Files.write(modulePom.toPath(), "<project><module/></project>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(stateDir);
+        FileUtils.deleteQuietly(projectDir);
+    }
+
+    @Test
+    public void testStoredStateSurvivesANewInstance() {
+        List<String> poms = Arrays.asList(pom.getAbsolutePath(), modulePom.getAbsolutePath());
+        new IncrementalCompilerState(stateDir).storeProcessed(projectDir.getAbsolutePath(), poms, Boolean.TRUE);
+
+        IncrementalCompilerState state = new IncrementalCompilerState(stateDir);
+        assertThat(state.getProcessed(projectDir.getAbsolutePath(), poms)).contains(Boolean.TRUE);
+    }
+
+    @Test
+    public void testChangedPomInvalidatesTheState() throws Exception {
+        List<String> poms = Arrays.asList(pom.getAbsolutePath(), modulePom.getAbsolutePath());
+        IncrementalCompilerState state = new IncrementalCompilerState(stateDir);
+        state.storeProcessed(projectDir.getAbsolutePath(), poms, Boolean.FALSE);
+
+        Files.write(modulePom.toPath(), "<project><changed/></project>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(state.getProcessed(projectDir.getAbsolutePath(), poms)).isEmpty();
+    }
+
+    @Test
+    public void testDifferentPomsInvalidatesTheState() {
+        IncrementalCompilerState state = new IncrementalCompilerState(stateDir);
+        state.storeProcessed(projectDir.getAbsolutePath(), Arrays.asList(pom.getAbsolutePath(), modulePom.getAbsolutePath()), Boolean.FALSE);
+
+        assertThat(state.getProcessed(projectDir.getAbsolutePath(), Collections.singletonList(pom.getAbsolutePath()))).isEmpty();
+
+        state.removeProcessed(projectDir.getAbsolutePath());
+        assertThat(state.getProcessed(projectDir.getAbsolutePath(), Arrays.asList(pom.getAbsolutePath(), modulePom.getAbsolutePath()))).isEmpty();
+    }
+
+    @Test
+    public void testDisabledWithoutStateDir() {
+        IncrementalCompilerState state = new IncrementalCompilerState(null);
+        List<String> poms = Collections.singletonList(pom.getAbsolutePath());
+        state.storeProcessed(projectDir.getAbsolutePath(), poms, Boolean.TRUE);
+
+        assertThat(state.isEnabled()).isFalse();
+        assertThat(state.getProcessed(projectDir.getAbsolutePath(), poms)).isEmpty();
+        assertThat(state.getWorkspace(projectDir.getAbsolutePath())).isNull();
+    }
+
+    @Test
+    public void testStableWorkspace() {
+        IncrementalCompilerState state = new IncrementalCompilerState(stateDir);
+        assertThat(state.getWorkspace("repo")).isEqualTo(new IncrementalCompilerState(stateDir).getWorkspace("repo"));
+        assertThat(state.getWorkspace("repo")).isNotEqualTo(state.getWorkspace("other"));
+    }
+}
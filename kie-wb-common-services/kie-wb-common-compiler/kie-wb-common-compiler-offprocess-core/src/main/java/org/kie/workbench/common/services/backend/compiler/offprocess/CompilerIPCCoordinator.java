@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.services.backend.compiler.offprocess;
 
+import java.util.function.Consumer;
+
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 
@@ -25,4 +27,14 @@ public interface CompilerIPCCoordinator<T extends CompilationResponse> {
      */
     T compile(final CompilationRequest req);
 
+    /**
+     * Compile a project starting from the main POM, the maven output lines are sent to the consumer while the build runs
+     */
+    T compile(final CompilationRequest req, final Consumer<String> logConsumer);
+
+    /**
+     * Releases the compiler processes and the queues owned by this coordinator
+     */
+    void dispose();
+
 }
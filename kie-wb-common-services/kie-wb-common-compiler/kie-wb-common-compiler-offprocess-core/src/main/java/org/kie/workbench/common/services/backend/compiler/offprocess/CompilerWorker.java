@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess;
+
+/***
+ * A long lived JVM running builds requested through its own request queue
+ */
+public interface CompilerWorker {
+
+    /***
+     * Enqueues a build on this worker, the result is written by the worker on the shared response queue
+     * @param uuid of the request
+     * @param projectPath absolute path of the project to build
+     * @param mavenRepo absolute path of the maven repo
+     * @param alternateSettingsAbsPath absolute path of the settings.xml or empty
+     */
+    void submit(String uuid,
+                String projectPath,
+                String mavenRepo,
+                String alternateSettingsAbsPath);
+
+    /***
+     * Health check of the underlying process
+     */
+    boolean isAlive();
+
+    /***
+     * Number of builds submitted to this worker since it was started
+     */
+    int getBuildsCount();
+
+    /***
+     * Timestamp in millis of the last time this worker was returned to the pool
+     */
+    long getLastUsed();
+
+    /***
+     * Records the time this worker was returned to the pool
+     * @param timestamp in millis taken from the clock of the pool
+     */
+    void touch(long timestamp);
+
+    /***
+     * Stops the underlying process and releases its request queue
+     */
+    void stop();
+}
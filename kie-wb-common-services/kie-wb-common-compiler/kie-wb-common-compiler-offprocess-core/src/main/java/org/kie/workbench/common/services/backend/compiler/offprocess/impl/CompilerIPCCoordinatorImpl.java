@@ -21,6 +21,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.IOUtils;
 import org.guvnor.common.services.project.backend.server.utils.configuration.ConfigurationKey;
@@ -30,8 +35,8 @@ import org.kie.workbench.common.services.backend.compiler.configuration.Configur
 import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
-import org.kie.workbench.common.services.backend.compiler.offprocess.ClientIPC;
 import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerIPCCoordinator;
+import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerWorker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,18 +52,26 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
     private String javaHome;
     private String javaBin;
     private String classpathTemplate;
-    private ResponseSharedMap responseMap;
-    private ClientIPC clientIPC;
+    private static final long HEALTH_CHECK_MILLIS = 1000l;
+    private static final long RESPONSE_AFTER_EXIT_MILLIS = 5000l;
+    private ResponseDispatcher dispatcher;
     private QueueProvider provider;
     private String queueName;
     private String kieVersion;
+    private CompilerWorkerPoolConfiguration poolConfiguration;
+    private Map<String, CompilerWorkerPool> workerPools;
 
     public CompilerIPCCoordinatorImpl(QueueProvider provider) {
+        this(provider, CompilerWorkerPoolConfiguration.fromSystemProperties());
+    }
+
+    public CompilerIPCCoordinatorImpl(QueueProvider provider, CompilerWorkerPoolConfiguration poolConfiguration) {
+        this.poolConfiguration = poolConfiguration;
+        this.workerPools = new ConcurrentHashMap<>();
         this.kieVersion = getKieVersion();
         this.queueName = provider.getAbsolutePath();
         this.provider = provider;
-        responseMap = new ResponseSharedMap();
-        clientIPC = new ClientIPCImpl(responseMap, provider);
+        dispatcher = new ResponseDispatcher(provider);
         javaHome = System.getProperty("java.home");
         javaBin = javaHome + File.separator + "bin" + File.separator + "java";
         try {
@@ -70,9 +83,14 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
 
     @Override
     public CompilationResponse compile(CompilationRequest req) {
+        return compile(req, null);
+    }
+
+    @Override
+    public CompilationResponse compile(CompilationRequest req, Consumer<String> logConsumer) {
         return internalBuild(req.getMavenRepo(),
                              req.getInfo().getPrjPath().toAbsolutePath().toString(),
-                             getAlternateSettings(req.getOriginalArgs()),  req.getRequestUUID());
+                             getAlternateSettings(req.getOriginalArgs()),  req.getRequestUUID(), logConsumer);
     }
 
 
@@ -92,27 +110,88 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
         return "";
     }
 
-    private CompilationResponse internalBuild(String mavenRepo, String projectPath, String alternateSettingsAbsPath, String uuid) {
+    /***
+     * Stops the workers of the pools, the builds in progress are completed before the worker exits.
+     * The owner of the coordinator must call it when it's destroyed, the workers also exit on their own
+     * when the stdin pipe of the parent JVM is closed
+     */
+    @Override
+    public void dispose() {
+        workerPools.values().forEach(CompilerWorkerPool::shutdown);
+        workerPools.clear();
+        dispatcher.stop();
+    }
+
+    private CompilationResponse internalBuild(String mavenRepo, String projectPath, String alternateSettingsAbsPath, String uuid, Consumer<String> logConsumer) {
+        // registered before the request is sent to not miss a fast response
+        CompletableFuture<KieCompilationResponse> response = dispatcher.register(uuid, logConsumer);
+        if (poolConfiguration.isEnabled()) {
+            return internalBuildOnWorker(mavenRepo, projectPath, alternateSettingsAbsPath, uuid, response);
+        }
         String classpath = classpathTemplate.replace(placeholder, mavenRepo);
         try {
             invokeServerBuild(mavenRepo, projectPath, uuid, classpath, alternateSettingsAbsPath, queueName);
             if(logger.isDebugEnabled()) {
                 logger.debug("invokeServerBuild completed");
             }
-            return getCompilationResponse(uuid);
+            return response.get(RESPONSE_AFTER_EXIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dispatcher.unregister(uuid);
+            return new DefaultKieCompilationResponse(false, "");
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
+            dispatcher.unregister(uuid);
             return new DefaultKieCompilationResponse(false, "");
         }
     }
 
-    private CompilationResponse getCompilationResponse(String uuid) {
-        KieCompilationResponse res = clientIPC.getResponse(uuid);
-        if (res != null) {
-            return res;
-        } else {
-            return new DefaultKieCompilationResponse(true, "");
+    private CompilationResponse internalBuildOnWorker(String mavenRepo, String projectPath, String alternateSettingsAbsPath, String uuid,
+                                                      CompletableFuture<KieCompilationResponse> response) {
+        CompilerWorkerPool pool = workerPools.computeIfAbsent(mavenRepo, this::createPool);
+        CompilerWorker worker = null;
+        KieCompilationResponse res = null;
+        try {
+            worker = pool.acquire();
+            worker.submit(uuid, projectPath, mavenRepo, alternateSettingsAbsPath);
+            if (logger.isDebugEnabled()) {
+                logger.debug("build {} submitted to a compiler worker", uuid);
+            }
+            res = awaitResponse(uuid, worker, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        } finally {
+            if (res == null) {
+                dispatcher.unregister(uuid);
+            }
+            if (worker != null) {
+                pool.release(worker, res != null);
+            }
+        }
+        return res != null ? res : new DefaultKieCompilationResponse(false, "");
+    }
+
+    private KieCompilationResponse awaitResponse(String uuid, CompilerWorker worker, CompletableFuture<KieCompilationResponse> response) throws Exception {
+        long deadline = System.currentTimeMillis() + poolConfiguration.getBuildTimeoutMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                return response.get(HEALTH_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (!worker.isAlive() && !response.isDone()) {
+                    logger.error("The compiler worker building the request {} is no more alive", uuid);
+                    return null;
+                }
+            }
         }
+        logger.error("Timeout waiting the response of the request {}", uuid);
+        return null;
+    }
+
+    private CompilerWorkerPool createPool(String mavenRepo) {
+        String classpath = getClasspathIncludedCurrentModuleDep(mavenRepo, classpathTemplate.replace(placeholder, mavenRepo));
+        return new CompilerWorkerPool(poolConfiguration, () -> new CompilerWorkerImpl(javaBin, classpath, queueName));
     }
 
     private void invokeServerBuild(String mavenRepo, String projectPath, String uuid, String classpath, String alternateSettingsAbsPath, String queueName) throws Exception {
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Compiler worker backed by a ServerIPCWorker process, each worker owns its request queue
+ * while the responses are written on the queue shared with the coordinator
+ */
+public class CompilerWorkerImpl implements CompilerWorker {
+
+    private Logger logger = LoggerFactory.getLogger(CompilerWorkerImpl.class);
+    private final Process process;
+    private final QueueProvider requestQueue;
+    private final AtomicInteger buildsCount;
+    private volatile long lastUsed;
+
+    public CompilerWorkerImpl(String javaBin,
+                              String classpath,
+                              String responseQueuePath) {
+        this.requestQueue = new QueueProvider(responseQueuePath + "-worker-" + UUID.randomUUID().toString(), true);
+        this.buildsCount = new AtomicInteger();
+        this.lastUsed = System.currentTimeMillis();
+        String[] commandArrayWorker =
+                {
+                        javaBin,
+                        "-cp",
+                        classpath,
+                        "-Dorg.uberfire.nio.git.daemon.enabled=false",
+                        "-Dorg.uberfire.nio.ssh.daemon.enabled=false",
+                        ServerIPCWorker.class.getCanonicalName(),
+                        requestQueue.getAbsolutePath(),
+                        responseQueuePath
+                };
+        if (logger.isDebugEnabled()) {
+            logger.debug("Starting compiler worker with request queue:{}", requestQueue.getAbsolutePath());
+        }
+        ProcessBuilder workerPb = new ProcessBuilder(commandArrayWorker);
+        workerPb.redirectErrorStream(true);
+        // stdin stays a pipe, the worker stops itself when it is closed
+        workerPb.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        try {
+            this.process = workerPb.start();
+        } catch (IOException e) {
+            releaseQueue();
+            throw new RuntimeException("Unable to start the compiler worker process", e);
+        }
+    }
+
+    @Override
+    public void submit(String uuid,
+                       String projectPath,
+                       String mavenRepo,
+                       String alternateSettingsAbsPath) {
+        try {
+            byte[] bytez = ServerIPCImpl.serialize(new String[]{uuid, projectPath, mavenRepo, alternateSettingsAbsPath});
+            ExcerptAppender appender = requestQueue.getQueue().acquireAppender();
+            appender.writeBytes(Bytes.allocateDirect(bytez));
+            buildsCount.incrementAndGet();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to submit the build request " + uuid, e);
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    @Override
+    public int getBuildsCount() {
+        return buildsCount.get();
+    }
+
+    @Override
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    @Override
+    public void touch(long timestamp) {
+        lastUsed = timestamp;
+    }
+
+    @Override
+    public void stop() {
+        try {
+            process.getOutputStream().close();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        } finally {
+            releaseQueue();
+        }
+    }
+
+    private void releaseQueue() {
+        requestQueue.cleanQueue();
+        IOTools.shallowDeleteDirWithFiles(requestQueue.getAbsolutePath());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.util.Iterator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Pool of pre-warmed compiler worker processes.
+ * The pool keeps at least min workers alive, never runs more than max builds at the same time,
+ * stops the workers idle for longer than the idle timeout and recycles a worker after max builds.
+ */
+public class CompilerWorkerPool {
+
+    private Logger logger = LoggerFactory.getLogger(CompilerWorkerPool.class);
+    private final CompilerWorkerPoolConfiguration configuration;
+    private final Supplier<CompilerWorker> workerFactory;
+    private final BlockingDeque<CompilerWorker> idleWorkers;
+    private final Semaphore permits;
+    private final AtomicInteger liveWorkers;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed;
+
+    public CompilerWorkerPool(CompilerWorkerPoolConfiguration configuration,
+                              Supplier<CompilerWorker> workerFactory) {
+        this(configuration, workerFactory, System::currentTimeMillis, true);
+    }
+
+    /***
+     * @param clock time source compared with the last use of the idle workers
+     * @param scheduled false to run the maintenance only through explicit calls of maintain()
+     */
+    CompilerWorkerPool(CompilerWorkerPoolConfiguration configuration,
+                       Supplier<CompilerWorker> workerFactory,
+                       LongSupplier clock,
+                       boolean scheduled) {
+        this.configuration = configuration;
+        this.workerFactory = workerFactory;
+        this.clock = clock;
+        this.idleWorkers = new LinkedBlockingDeque<>();
+        this.permits = new Semaphore(configuration.getMaxSize(), true);
+        this.liveWorkers = new AtomicInteger();
+        if (scheduled) {
+            this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "compiler-worker-pool-maintenance");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = Math.max(1000l, configuration.getIdleTimeoutMillis() / 2);
+            maintenance.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.maintenance = null;
+        }
+    }
+
+    /***
+     * Blocking until a worker is available, the most recently used idle worker is preferred
+     */
+    public CompilerWorker acquire() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Compiler worker pool closed");
+        }
+        permits.acquire();
+        try {
+            CompilerWorker worker;
+            while ((worker = idleWorkers.pollFirst()) != null) {
+                if (worker.isAlive()) {
+                    return worker;
+                }
+                discard(worker);
+            }
+            return create();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /***
+     * Returns a worker to the pool, unhealthy or exhausted workers are stopped
+     * @param worker previously acquired
+     * @param healthy false if the build on this worker failed to complete
+     */
+    public void release(CompilerWorker worker,
+                        boolean healthy) {
+        try {
+            if (closed || !healthy || !worker.isAlive() || worker.getBuildsCount() >= configuration.getMaxBuildsPerWorker()) {
+                discard(worker);
+            } else {
+                worker.touch(clock.getAsLong());
+                idleWorkers.offerFirst(worker);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getLiveWorkers() {
+        return liveWorkers.get();
+    }
+
+    public int getIdleWorkers() {
+        return idleWorkers.size();
+    }
+
+    public void shutdown() {
+        closed = true;
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        CompilerWorker worker;
+        while ((worker = idleWorkers.pollFirst()) != null) {
+            discard(worker);
+        }
+    }
+
+    synchronized void maintain() {
+        try {
+            evictIdleAndDead();
+            ensureMinimum();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    private void evictIdleAndDead() {
+        long now = clock.getAsLong();
+        // least recently used workers are at the tail of the deque
+        Iterator<CompilerWorker> it = idleWorkers.descendingIterator();
+        while (it.hasNext()) {
+            CompilerWorker worker = it.next();
+            boolean expired = now - worker.getLastUsed() > configuration.getIdleTimeoutMillis()
+                    && liveWorkers.get() > configuration.getMinSize();
+            if ((expired || !worker.isAlive()) && idleWorkers.remove(worker)) {
+                discard(worker);
+            }
+        }
+    }
+
+    private void ensureMinimum() {
+        while (!closed && liveWorkers.get() < configuration.getMinSize()) {
+            CompilerWorker worker = create();
+            worker.touch(clock.getAsLong());
+            idleWorkers.offerLast(worker);
+        }
+    }
+
+    private CompilerWorker create() {
+        CompilerWorker worker = workerFactory.get();
+        liveWorkers.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Compiler worker started, live workers:{}", liveWorkers.get());
+        }
+        return worker;
+    }
+
+    private void discard(CompilerWorker worker) {
+        liveWorkers.decrementAndGet();
+        try {
+            worker.stop();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Compiler worker stopped after {} builds, live workers:{}", worker.getBuildsCount(), liveWorkers.get());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+/***
+ * Sizing and lifecycle settings of the pool of compiler worker processes.
+ * Defaults can be overridden with the system properties declared below, the pool is disabled unless
+ * {@link #POOL_ENABLED} is set to true and each build is then executed by a new process.
+ */
+public class CompilerWorkerPoolConfiguration {
+
+    public static final String POOL_ENABLED = "org.kie.compiler.offprocess.pool.enabled";
+    public static final String POOL_MIN_SIZE = "org.kie.compiler.offprocess.pool.min";
+    public static final String POOL_MAX_SIZE = "org.kie.compiler.offprocess.pool.max";
+    public static final String POOL_IDLE_TIMEOUT_MILLIS = "org.kie.compiler.offprocess.pool.idle.timeout";
+    public static final String POOL_MAX_BUILDS_PER_WORKER = "org.kie.compiler.offprocess.pool.max.builds";
+    public static final String POOL_BUILD_TIMEOUT_MILLIS = "org.kie.compiler.offprocess.pool.build.timeout";
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final int maxBuildsPerWorker;
+    private final long buildTimeoutMillis;
+
+    public CompilerWorkerPoolConfiguration(boolean enabled,
+                                           int minSize,
+                                           int maxSize,
+                                           long idleTimeoutMillis,
+                                           int maxBuildsPerWorker,
+                                           long buildTimeoutMillis) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size, min:" + minSize + " max:" + maxSize);
+        }
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxBuildsPerWorker = maxBuildsPerWorker;
+        this.buildTimeoutMillis = buildTimeoutMillis;
+    }
+
+    public static CompilerWorkerPoolConfiguration fromSystemProperties() {
+        return new CompilerWorkerPoolConfiguration(Boolean.parseBoolean(System.getProperty(POOL_ENABLED, "false")),
+                                                   Integer.getInteger(POOL_MIN_SIZE, 1),
+                                                   Integer.getInteger(POOL_MAX_SIZE, Runtime.getRuntime().availableProcessors()),
+                                                   Long.getLong(POOL_IDLE_TIMEOUT_MILLIS, 300000l),
+                                                   Integer.getInteger(POOL_MAX_BUILDS_PER_WORKER, 50),
+                                                   Long.getLong(POOL_BUILD_TIMEOUT_MILLIS, 600000l));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /***
+     * After this number of builds a worker is recycled to cap the metaspace leaked by the Maven/Plexus containers
+     */
+    public int getMaxBuildsPerWorker() {
+        return maxBuildsPerWorker;
+    }
+
+    public long getBuildTimeoutMillis() {
+        return buildTimeoutMillis;
+    }
+}
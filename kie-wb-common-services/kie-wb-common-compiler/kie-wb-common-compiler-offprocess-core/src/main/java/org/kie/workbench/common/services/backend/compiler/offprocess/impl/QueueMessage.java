@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.nio.charset.StandardCharsets;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ExcerptAppender;
+
+/***
+ * Frame of the documents written on the response queue.
+ * Every document starts with the correlation id and the type of the message, followed by the payload,
+ * in this way a reader can skip the messages of the other builds without deserializing them.
+ */
+public class QueueMessage {
+
+    /***
+     * A line of the maven output, the payload is the UTF-8 line
+     */
+    public static final byte LOG = 1;
+
+    /***
+     * The final response of the build, the payload is the serialized DefaultKieCompilationResponseOffProcess
+     */
+    public static final byte RESPONSE = 2;
+
+    private final String requestUUID;
+    private final byte type;
+    private final byte[] payload;
+
+    public QueueMessage(String requestUUID,
+                        byte type,
+                        byte[] payload) {
+        this.requestUUID = requestUUID;
+        this.type = type;
+        this.payload = payload;
+    }
+
+    public String getRequestUUID() {
+        return requestUUID;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public String getPayloadAsString() {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    public static void write(ExcerptAppender appender,
+                             String requestUUID,
+                             byte type,
+                             byte[] payload) {
+        Bytes<?> bytes = Bytes.allocateElasticDirect(payload.length + requestUUID.length() + 8);
+        try {
+            bytes.writeUtf8(requestUUID);
+            bytes.writeByte(type);
+            bytes.write(payload);
+            appender.writeBytes(bytes);
+        } finally {
+            bytes.release();
+        }
+    }
+
+    public static void writeLog(ExcerptAppender appender,
+                                String requestUUID,
+                                String line) {
+        write(appender, requestUUID, LOG, line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /***
+     * Reads only the header of the frame
+     * @return the correlation id or null if the document is empty
+     */
+    public static String readRequestUUID(Bytes<?> bytes) {
+        if (bytes.isEmpty()) {
+            return null;
+        }
+        return bytes.readUtf8();
+    }
+
+    /***
+     * Reads the rest of the frame, to be called after readRequestUUID
+     */
+    public static QueueMessage readBody(String requestUUID,
+                                        Bytes<?> bytes) {
+        byte type = bytes.readByte();
+        byte[] payload = new byte[(int) bytes.readRemaining()];
+        bytes.read(payload);
+        return new QueueMessage(requestUUID, type, payload);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Single reader of the response queue shared by all the builds.
+ * Every build registers its correlation id before the request is sent, the dispatcher routes the log lines
+ * to the build's consumer and completes the build's future when the response arrives.
+ * The frames of the builds not registered are skipped reading only the header.
+ */
+public class ResponseDispatcher {
+
+    private static final long MAX_IDLE_PAUSE_MILLIS = 10l;
+    private Logger logger = LoggerFactory.getLogger(ResponseDispatcher.class);
+    private final Map<String, PendingResponse> pending;
+    private final ExcerptTailer tailer;
+    private final Thread reader;
+    private volatile boolean running;
+
+    public ResponseDispatcher(QueueProvider provider) {
+        this.pending = new ConcurrentHashMap<>();
+        this.tailer = provider.getQueue().createTailer().toEnd();
+        this.running = true;
+        this.reader = new Thread(this::readLoop, "compiler-response-dispatcher-" + provider.getQueueName());
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    /***
+     * Registers a build, must be called before the request is submitted
+     * @param uuid correlation id of the build
+     * @param logConsumer receives the maven output lines while the build runs, can be null
+     * @return future completed with the response of the build
+     */
+    public CompletableFuture<KieCompilationResponse> register(String uuid,
+                                                              Consumer<String> logConsumer) {
+        PendingResponse response = new PendingResponse(logConsumer);
+        pending.put(uuid, response);
+        return response.future;
+    }
+
+    /***
+     * Removes a build no longer awaited, i.e. after a timeout
+     */
+    public void unregister(String uuid) {
+        PendingResponse response = pending.remove(uuid);
+        if (response != null) {
+            response.future.cancel(false);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public void stop() {
+        running = false;
+        reader.interrupt();
+        pending.values().forEach(response -> response.future.cancel(false));
+        pending.clear();
+    }
+
+    private void readLoop() {
+        long pause = 0;
+        while (running) {
+            try {
+                if (readNext()) {
+                    pause = 0;
+                } else {
+                    // back off while the queue is idle
+                    pause = Math.min(MAX_IDLE_PAUSE_MILLIS, pause + 1);
+                    Thread.sleep(pause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    boolean readNext() {
+        QueueMessage message = null;
+        try (DocumentContext dc = tailer.readingDocument()) {
+            if (!dc.isPresent()) {
+                return false;
+            }
+            Bytes<?> bytes = dc.wire().bytes();
+            String uuid = QueueMessage.readRequestUUID(bytes);
+            if (uuid != null && pending.containsKey(uuid)) {
+                message = QueueMessage.readBody(uuid, bytes);
+            }
+        }
+        if (message != null) {
+            dispatch(message);
+        }
+        return true;
+    }
+
+    private void dispatch(QueueMessage message) {
+        if (message.getType() == QueueMessage.LOG) {
+            PendingResponse response = pending.get(message.getRequestUUID());
+            if (response != null && response.logConsumer != null) {
+                response.logConsumer.accept(message.getPayloadAsString());
+            }
+        } else if (message.getType() == QueueMessage.RESPONSE) {
+            PendingResponse response = pending.remove(message.getRequestUUID());
+            if (response == null) {
+                return;
+            }
+            try {
+                DefaultKieCompilationResponseOffProcess res = (DefaultKieCompilationResponseOffProcess) ServerIPCImpl.deserialize(message.getPayload());
+                response.future.complete(new DefaultKieCompilationResponse(res));
+            } catch (Exception e) {
+                response.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class PendingResponse {
+
+        private final CompletableFuture<KieCompilationResponse> future = new CompletableFuture<>();
+        private final Consumer<String> logConsumer;
+
+        private PendingResponse(Consumer<String> logConsumer) {
+            this.logConsumer = logConsumer;
+        }
+    }
+}
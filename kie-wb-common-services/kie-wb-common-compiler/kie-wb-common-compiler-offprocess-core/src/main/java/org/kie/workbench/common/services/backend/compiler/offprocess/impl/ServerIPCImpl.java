@@ -15,13 +15,14 @@
  */
 package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.EnumSet;
 
-import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.queue.ExcerptAppender;
 import org.apache.commons.lang3.StringUtils;
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
@@ -33,6 +34,7 @@ import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompila
 import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieMavenCompilerFactory;
+import org.kie.workbench.common.services.backend.logback.OutputSharedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.java.nio.file.Paths;
@@ -43,6 +45,8 @@ import org.uberfire.java.nio.file.Paths;
 public class ServerIPCImpl {
 
     private static Logger logger = LoggerFactory.getLogger(ServerIPCImpl.class);
+    // kept across the builds of a worker to reuse the Maven cli and its Plexus container
+    private static AFCompiler compiler;
 
     public static void main(String[] args) throws Exception {
         checksParamsNumber(args);
@@ -105,28 +109,34 @@ public class ServerIPCImpl {
     }
 
     public static void execute(String workingDir, String mavenRepo, String alternateSettingsAbsPath, String uuid, QueueProvider provider) throws Exception {
-        DefaultKieCompilationResponseOffProcess res = build(workingDir, mavenRepo, alternateSettingsAbsPath, uuid);
+        // the maven output is streamed to the client while the build runs
+        OutputSharedMap.addListener(uuid, line -> QueueMessage.writeLog(provider.getQueue().acquireAppender(), uuid, line));
+        DefaultKieCompilationResponseOffProcess res;
+        try {
+            res = build(workingDir, mavenRepo, alternateSettingsAbsPath, uuid);
+        } finally {
+            OutputSharedMap.removeListener(uuid);
+        }
         byte[] bytez = serialize(res);
         if (bytez == null) {
             logger.warn("The serialized response is null, working dir:{}\n mavenrepo:{} \n alternateSettingsAbsPath:{} \n uuid:{}", workingDir, mavenRepo, alternateSettingsAbsPath, uuid);
             return;
         }
-        writeOnQueue(bytez, provider);
+        writeOnQueue(uuid, bytez, provider);
     }
 
-    private static void writeOnQueue(byte[] bytez, QueueProvider provider) {
+    private static void writeOnQueue(String uuid, byte[] bytez, QueueProvider provider) {
         if(logger.isDebugEnabled()) {
             logger.debug("write On Queue");
         }
         ExcerptAppender appender = provider.getQueue().acquireAppender();
-        appender.writeBytes(Bytes.allocateDirect(bytez));
+        QueueMessage.write(appender, uuid, QueueMessage.RESPONSE, bytez);
         if(logger.isDebugEnabled()) {
             logger.debug("last index appended:{}", appender.lastIndexAppended());
         }
     }
 
     private static DefaultKieCompilationResponseOffProcess build(String prjPath, String mavenRepo, String alternateSettingsAbsPath, String uuid) {
-        final AFCompiler compiler = KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.ENABLE_LOGGING, KieDecorator.STORE_KIE_OBJECTS ));
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(Paths.get("file://"+prjPath));
         CompilationRequest req;
         if (StringUtils.isNotEmpty(alternateSettingsAbsPath)) {
@@ -149,11 +159,20 @@ public class ServerIPCImpl {
                                                 Boolean.FALSE,
                                                 uuid);
         }
-        KieCompilationResponse res = (KieCompilationResponse) compiler.compile(req);
+        // the worker processes are shared between projects, the relative paths are resolved against the project
+        req.getKieCliRequest().setWorkingDirectory(info.getPrjPath().toAbsolutePath().toString());
+        KieCompilationResponse res = (KieCompilationResponse) getCompiler().compile(req);
         return new DefaultKieCompilationResponseOffProcess(res);
     }
 
-    private static byte[] serialize(Object obj) throws IOException {
+    private static synchronized AFCompiler getCompiler() {
+        if (compiler == null) {
+            compiler = KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.ENABLE_LOGGING, KieDecorator.STORE_KIE_OBJECTS));
+        }
+        return compiler;
+    }
+
+    static byte[] serialize(Object obj) throws IOException {
         try (ByteArrayOutputStream b = new ByteArrayOutputStream()) {
             try (ObjectOutputStream o = new ObjectOutputStream(b)) {
                 o.writeObject(obj);
@@ -161,4 +180,12 @@ public class ServerIPCImpl {
             return b.toByteArray();
         }
     }
+
+    static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ByteArrayInputStream b = new ByteArrayInputStream(bytes)) {
+            try (ObjectInputStream o = new ObjectInputStream(b)) {
+                return o.readObject();
+            }
+        }
+    }
 }
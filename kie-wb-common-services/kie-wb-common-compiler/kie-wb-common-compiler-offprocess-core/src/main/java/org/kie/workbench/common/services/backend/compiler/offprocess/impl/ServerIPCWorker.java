@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.IOException;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Long lived counterpart of ServerIPCImpl started by the CompilerWorkerPool.
+ * It reads the build requests from its own queue and writes the responses on the coordinator's queue,
+ * the process stops when its stdin is closed by the pool or by the exit of the parent JVM
+ */
+public class ServerIPCWorker {
+
+    private static Logger logger = LoggerFactory.getLogger(ServerIPCWorker.class);
+    private static final long POLL_MILLIS = 10l;
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            logger.error("Wrong number of params:{}", args.length);
+            throw new RuntimeException("Wrong number of params:" + args.length);
+        }
+        watchParent();
+        QueueProvider requestQueue = new QueueProvider(args[0], true);
+        QueueProvider responseQueue = new QueueProvider(args[1], true);
+        String threadName = Thread.currentThread().getName();
+        ExcerptTailer tailer = requestQueue.getQueue().createTailer();
+        while (running) {
+            String[] request = readRequest(tailer);
+            if (request == null) {
+                Thread.sleep(POLL_MILLIS);
+                continue;
+            }
+            try {
+                // the project directory is passed to the Maven cli as the working directory of the request
+                ServerIPCImpl.execute(request[1], request[2], request[3], request[0], responseQueue);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+            }
+            Thread.currentThread().setName(threadName);// restore the previous name to avoid the override of the maven output
+        }
+        requestQueue.cleanQueue();
+        responseQueue.cleanQueue();
+        System.exit(0);
+    }
+
+    private static String[] readRequest(ExcerptTailer tailer) {
+        try (DocumentContext dc = tailer.readingDocument()) {
+            if (!dc.isPresent()) {
+                return null;
+            }
+            Bytes bytes = dc.wire().bytes();
+            if (bytes.isEmpty()) {
+                return null;
+            }
+            try {
+                return (String[]) ServerIPCImpl.deserialize(bytes.toByteArray());
+            } catch (IOException | ClassNotFoundException e) {
+                logger.error(e.getMessage(), e);
+                return null;
+            }
+        }
+    }
+
+    private static void watchParent() {
+        Thread watcher = new Thread(() -> {
+            try {
+                while (System.in.read() != -1) {
+                    // nothing to read, we only wait for the end of the stream
+                }
+            } catch (IOException e) {
+                logger.error(e.getMessage(), e);
+            }
+            running = false;
+        }, "compiler-worker-parent-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+}
@@ -18,6 +18,8 @@ package org.kie.workbench.common.services.backend.compiler.offprocess.service.im
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
 
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerIPCCoordinator;
@@ -25,14 +27,20 @@ import org.kie.workbench.common.services.backend.compiler.offprocess.impl.Compil
 import org.kie.workbench.common.services.backend.compiler.offprocess.impl.QueueProvider;
 import org.kie.workbench.common.services.backend.compiler.offprocess.service.CompilerOffprocessService;
 
+/**
+ * The coordinator can keep a pool of compiler worker processes, they are stopped when the bean is destroyed
+ */
+@ApplicationScoped
 public class CompilerOffprocessServiceImpl implements CompilerOffprocessService {
 
     private ExecutorService executor;
     private CompilerIPCCoordinator compilerCoordinator;
+    private boolean ownedExecutor;
     private static final String defaultQueueName = "offprocess-queue";
 
     public CompilerOffprocessServiceImpl(){
         this(Executors.newCachedThreadPool(), defaultQueueName);
+        ownedExecutor = true;
     }
 
     public CompilerOffprocessServiceImpl(ExecutorService executor, String queueName){
@@ -48,4 +56,12 @@ public class CompilerOffprocessServiceImpl implements CompilerOffprocessService
     public CompletableFuture compile(CompilationRequest req) {
         return CompletableFuture.supplyAsync(() -> (compilerCoordinator.compile(req)), executor);
     }
+
+    @PreDestroy
+    public void destroy() {
+        compilerCoordinator.dispose();
+        if (ownedExecutor) {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerWorker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompilerWorkerPoolTest {
+
+    private List<FakeWorker> created;
+    private AtomicLong clock;
+    private CompilerWorkerPool pool;
+
+    @Before
+    public void setUp() {
+        created = new ArrayList<>();
+        clock = new AtomicLong(1000l);
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void poolDisabledByDefaultTest() {
+        String enabled = System.getProperty(CompilerWorkerPoolConfiguration.POOL_ENABLED);
+        System.clearProperty(CompilerWorkerPoolConfiguration.POOL_ENABLED);
+        try {
+            assertThat(CompilerWorkerPoolConfiguration.fromSystemProperties().isEnabled()).isFalse();
+        } finally {
+            if (enabled != null) {
+                System.setProperty(CompilerWorkerPoolConfiguration.POOL_ENABLED, enabled);
+            }
+        }
+    }
+
+    @Test
+    public void reuseWarmWorkerTest() throws Exception {
+        pool = newPool(new CompilerWorkerPoolConfiguration(true, 0, 2, 60000l, 10, 1000l));
+        CompilerWorker first = pool.acquire();
+        pool.release(first, true);
+        CompilerWorker second = pool.acquire();
+        assertThat(second).isSameAs(first);
+        pool.release(second, true);
+        assertThat(created).hasSize(1);
+    }
+
+    @Test
+    public void recycleAfterMaxBuildsTest() throws Exception {
+        pool = newPool(new CompilerWorkerPoolConfiguration(true, 0, 1, 60000l, 2, 1000l));
+        for (int i = 0; i < 4; i++) {
+            CompilerWorker worker = pool.acquire();
+            worker.submit("uuid-" + i, "prj", "repo", "");
+            pool.release(worker, true);
+        }
+        assertThat(created).hasSize(2);
+        assertThat(created.get(0).stopped).isTrue();
+    }
+
+    @Test
+    public void discardUnhealthyWorkerTest() throws Exception {
+        pool = newPool(new CompilerWorkerPoolConfiguration(true, 0, 1, 60000l, 10, 1000l));
+        CompilerWorker worker = pool.acquire();
+        pool.release(worker, false);
+        assertThat(created.get(0).stopped).isTrue();
+        assertThat(pool.getLiveWorkers()).isEqualTo(0);
+
+        CompilerWorker next = pool.acquire();
+        ((FakeWorker) next).alive = false;
+        pool.release(next, true);
+        assertThat(pool.acquire()).isNotSameAs(next);
+        assertThat(created).hasSize(3);
+    }
+
+    @Test
+    public void evictIdleAndKeepMinimumTest() throws Exception {
+        pool = newPool(new CompilerWorkerPoolConfiguration(true, 1, 3, 100l, 10, 1000l));
+        pool.maintain();
+        assertThat(pool.getLiveWorkers()).isEqualTo(1);
+
+        CompilerWorker a = pool.acquire();
+        CompilerWorker b = pool.acquire();
+        CompilerWorker c = pool.acquire();
+        pool.release(a, true);
+        pool.release(b, true);
+        pool.release(c, true);
+        assertThat(pool.getLiveWorkers()).isEqualTo(3);
+
+        clock.addAndGet(100l);
+        pool.maintain();
+        assertThat(pool.getLiveWorkers()).isEqualTo(3);
+
+        clock.addAndGet(1l);
+        pool.maintain();
+        assertThat(pool.getLiveWorkers()).isEqualTo(1);
+        assertThat(pool.getIdleWorkers()).isEqualTo(1);
+    }
+
+    private CompilerWorkerPool newPool(CompilerWorkerPoolConfiguration configuration) {
+        // the maintenance runs only when the test calls it
+        return new CompilerWorkerPool(configuration, () -> {
+            FakeWorker worker = new FakeWorker();
+            synchronized (created) {
+                created.add(worker);
+            }
+            return worker;
+        }, clock::get, false);
+    }
+
+    private static class FakeWorker implements CompilerWorker {
+
+        private volatile boolean alive = true;
+        private volatile boolean stopped;
+        private int builds;
+        private long lastUsed;
+
+        @Override
+        public void submit(String uuid,
+                           String projectPath,
+                           String mavenRepo,
+                           String alternateSettingsAbsPath) {
+            builds++;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return alive && !stopped;
+        }
+
+        @Override
+        public int getBuildsCount() {
+            return builds;
+        }
+
+        @Override
+        public long getLastUsed() {
+            return lastUsed;
+        }
+
+        @Override
+        public void touch(long timestamp) {
+            lastUsed = timestamp;
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+    }
+}
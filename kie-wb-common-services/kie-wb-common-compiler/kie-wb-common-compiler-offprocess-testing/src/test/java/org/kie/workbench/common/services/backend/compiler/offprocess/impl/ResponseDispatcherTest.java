@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseDispatcherTest {
+
+    private QueueProvider provider;
+    private ResponseDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        provider = new QueueProvider("dispatcher-queue-test-" + UUID.randomUUID().toString());
+        dispatcher = new ResponseDispatcher(provider);
+    }
+
+    @After
+    public void tearDown() {
+        dispatcher.stop();
+        provider.cleanQueue();
+        IOTools.shallowDeleteDirWithFiles(provider.getAbsolutePath());
+    }
+
+    @Test
+    public void routeInterleavedResponsesTest() throws Exception {
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        List<String> firstLogs = new CopyOnWriteArrayList<>();
+        List<String> secondLogs = new CopyOnWriteArrayList<>();
+        CompletableFuture<KieCompilationResponse> firstResponse = dispatcher.register(first, firstLogs::add);
+        CompletableFuture<KieCompilationResponse> secondResponse = dispatcher.register(second, secondLogs::add);
+
+        ExcerptAppender appender = provider.getQueue().acquireAppender();
+        QueueMessage.writeLog(appender, first, "[INFO] first module");
+        QueueMessage.writeLog(appender, second, "[INFO] second module");
+        QueueMessage.writeLog(appender, UUID.randomUUID().toString(), "[INFO] not registered");
+        writeResponse(appender, second, false);
+        QueueMessage.writeLog(appender, first, "[INFO] BUILD SUCCESS");
+        writeResponse(appender, first, true);
+
+        KieCompilationResponse firstRes = firstResponse.get(10, TimeUnit.SECONDS);
+        KieCompilationResponse secondRes = secondResponse.get(10, TimeUnit.SECONDS);
+        assertThat(firstRes.isSuccessful()).isTrue();
+        assertThat(((DefaultKieCompilationResponse) firstRes).getRequestUUID()).isEqualTo(first);
+        assertThat(secondRes.isSuccessful()).isFalse();
+        assertThat(((DefaultKieCompilationResponse) secondRes).getRequestUUID()).isEqualTo(second);
+        assertThat(firstLogs).containsExactly("[INFO] first module", "[INFO] BUILD SUCCESS");
+        assertThat(secondLogs).containsExactly("[INFO] second module");
+        assertThat(dispatcher.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void unregisterCancelsTheResponseTest() {
+        String uuid = UUID.randomUUID().toString();
+        CompletableFuture<KieCompilationResponse> response = dispatcher.register(uuid, null);
+        dispatcher.unregister(uuid);
+        assertThat(response.isCancelled()).isTrue();
+        assertThat(dispatcher.getPendingCount()).isEqualTo(0);
+    }
+
+    private void writeResponse(ExcerptAppender appender, String uuid, boolean successful) throws Exception {
+        QueueMessage.write(appender, uuid, QueueMessage.RESPONSE, ServerIPCImpl.serialize(new DefaultKieCompilationResponseOffProcess(successful, uuid)));
+    }
+}
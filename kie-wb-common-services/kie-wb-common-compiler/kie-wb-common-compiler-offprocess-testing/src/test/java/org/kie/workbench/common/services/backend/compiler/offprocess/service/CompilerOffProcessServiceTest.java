@@ -69,7 +69,7 @@ public class CompilerOffProcessServiceTest {
 
     @Test
     public void offProcessServiceCompileAsyncTest() throws Exception {
-        CompilerOffprocessService service = new CompilerOffprocessServiceImpl(executor, queueProvider);
+        CompilerOffprocessServiceImpl service = new CompilerOffprocessServiceImpl(executor, queueProvider);
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(prjPath);
         String uuid = UUID.randomUUID().toString();
         CompilationRequest req = new DefaultCompilationRequest(mavenRepo,
@@ -88,5 +88,6 @@ public class CompilerOffProcessServiceTest {
         assertThat(res.getMavenOutput()).isNotEmpty();
         DefaultKieCompilationResponse kres = (DefaultKieCompilationResponse) res;
         assertThat(uuid).isEqualToIgnoringCase( kres.getRequestUUID());
+        service.destroy();
     }
 }
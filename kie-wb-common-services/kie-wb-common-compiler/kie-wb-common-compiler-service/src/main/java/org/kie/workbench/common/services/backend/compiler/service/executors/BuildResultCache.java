@@ -0,0 +1,363 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
+import org.uberfire.java.nio.fs.jgit.JGitPathImpl;
+
+/**
+ * Cache of the successful build results keyed by the content of the project.
+ * The key is made of the hash of the project's source tree (the git tree id when the project lives
+ * in a JGit file system, a SHA-1 of the files otherwise), the settings.xml content and the build arguments.
+ * The entries are kept serialized in a LRU map and, when a cache dir is configured, stored on disk to survive a
+ * restart. Every hit is deserialized again, so each caller gets its own copy of the response.
+ * A build with overrides leaves in the target dir outputs not matching the project content, for this reason
+ * it invalidates the results of the project until the next build of the project is completed.
+ * The key doesn't cover the artifacts resolved from the maven repos (e.g. a new snapshot of a dependency),
+ * for this reason the cache is disabled unless its size is configured.
+ * The builds running goals with side effects outside the project (install, deploy) are never cached.
+ */
+public class BuildResultCache {
+
+    public static final String CACHE_SIZE = "org.kie.compiler.build.cache.size";
+    public static final String CACHE_DIR = "org.kie.compiler.build.cache.dir";
+    private static final String ENTRY_SUFFIX = ".response";
+    private static final List<String> NOT_CACHEABLE_GOALS = Arrays.asList(MavenCLIArgs.INSTALL,
+                                                                          MavenCLIArgs.DEPLOY);
+    private static final Logger logger = LoggerFactory.getLogger(BuildResultCache.class);
+
+    private final int maxEntries;
+    private final File cacheDir;
+    private final Map<String, byte[]> entries;
+    private final Map<String, Set<String>> keysByProject;
+    private final Set<String> invalidatedProjects;
+
+    public BuildResultCache() {
+        this(Integer.getInteger(CACHE_SIZE, 0),
+             System.getProperty(CACHE_DIR) != null ? new File(System.getProperty(CACHE_DIR)) : null);
+    }
+
+    /**
+     * @param maxEntries max number of results kept, 0 disables the cache
+     * @param cacheDir directory to store the results, null to keep them only in memory
+     */
+    public BuildResultCache(int maxEntries,
+                            File cacheDir) {
+        this.maxEntries = maxEntries;
+        this.cacheDir = cacheDir;
+        if (cacheDir != null && !cacheDir.exists() && !cacheDir.mkdirs()) {
+            logger.error("Unable to create the build cache dir:{}", cacheDir);
+        }
+        this.keysByProject = new HashMap<>();
+        this.invalidatedProjects = new HashSet<>();
+        this.entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                if (size() > BuildResultCache.this.maxEntries) {
+                    deleteStored(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * @return false if the build runs a goal whose effects are not reproduced by a cached result
+     */
+    public boolean isCacheable(String[] args) {
+        for (String arg : args) {
+            if (NOT_CACHEABLE_GOALS.contains(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the key of the build or null if the content of the project can't be hashed
+     */
+    public String getKey(Path projectPath,
+                         String mavenRepoPath,
+                         String settingXML,
+                         boolean skipProjectDepCreation,
+                         String[] args) {
+        try {
+            String treeHash = getTreeHash(projectPath);
+            if (treeHash == null) {
+                return null;
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            update(digest, treeHash);
+            update(digest, mavenRepoPath);
+            update(digest, String.valueOf(skipProjectDepCreation));
+            for (String arg : args) {
+                update(digest, arg);
+            }
+            if (settingXML != null) {
+                File settings = new File(settingXML);
+                if (settings.isFile()) {
+                    digest.update(Files.readAllBytes(settings.toPath()));
+                }
+            }
+            return ObjectId.fromRaw(digest.digest()).name();
+        } catch (Exception e) {
+            logger.error("Unable to compute the build cache key of " + projectPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return a copy of the result stored with the key, null if there's no result or the outputs of the project
+     * were changed by a build with overrides
+     */
+    public synchronized KieCompilationResponse get(Path projectPath,
+                                                   String key) {
+        if (invalidatedProjects.contains(getProjectId(projectPath))) {
+            return null;
+        }
+        byte[] res = entries.get(key);
+        if (res == null) {
+            res = load(key);
+            if (res == null) {
+                return null;
+            }
+            entries.put(key, res);
+            keysByProject.computeIfAbsent(getProjectId(projectPath), id -> new HashSet<>()).add(key);
+        }
+        return deserialize(key, res);
+    }
+
+    /**
+     * Stores the result of a successful build of the project, the results of the project are valid again after it
+     */
+    public synchronized void put(Path projectPath,
+                                 String key,
+                                 KieCompilationResponse res) {
+        if (!res.isSuccessful()) {
+            return;
+        }
+        String projectId = getProjectId(projectPath);
+        invalidatedProjects.remove(projectId);
+        byte[] bytes = serialize(key, res);
+        if (bytes == null) {
+            return;
+        }
+        entries.put(key, bytes);
+        keysByProject.computeIfAbsent(projectId, id -> new HashSet<>()).add(key);
+        store(key, bytes);
+    }
+
+    /**
+     * Drops the results of the project, called when a build with overrides starts
+     */
+    public synchronized void invalidate(Path projectPath) {
+        String projectId = getProjectId(projectPath);
+        invalidatedProjects.add(projectId);
+        Set<String> keys = keysByProject.remove(projectId);
+        if (keys != null) {
+            keys.forEach(key -> {
+                entries.remove(key);
+                deleteStored(key);
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        new ArrayList<>(entries.keySet()).forEach(this::deleteStored);
+        entries.clear();
+        keysByProject.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private String getProjectId(Path projectPath) {
+        return projectPath.toUri().toString();
+    }
+
+    private String getTreeHash(Path projectPath) throws IOException, NoSuchAlgorithmException {
+        if (projectPath.getFileSystem() instanceof JGitFileSystem) {
+            return getGitTreeId((JGitFileSystem) projectPath.getFileSystem(), (JGitPathImpl) projectPath);
+        }
+        return getFilesHash(projectPath.toFile().toPath());
+    }
+
+    private String getGitTreeId(JGitFileSystem fs,
+                                JGitPathImpl projectPath) throws IOException {
+        Repository repo = fs.getGit().getRepository();
+        ObjectId tree = repo.resolve(Constants.R_HEADS + projectPath.getRefTree() + "^{tree}");
+        if (tree == null) {
+            return null;
+        }
+        String path = projectPath.toString();
+        if (path.isEmpty() || path.equals("/")) {
+            return tree.name();
+        }
+        try (TreeWalk walk = TreeWalk.forPath(repo, path.startsWith("/") ? path.substring(1) : path, tree)) {
+            return walk != null ? walk.getObjectId(0).name() : null;
+        }
+    }
+
+    private String getFilesHash(java.nio.file.Path root) throws IOException, NoSuchAlgorithmException {
+        if (!Files.isDirectory(root)) {
+            return null;
+        }
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        List<java.nio.file.Path> files;
+        try (Stream<java.nio.file.Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> isSource(root.relativize(file)))
+                    .sorted(Comparator.comparing(java.nio.file.Path::toString))
+                    .collect(Collectors.toList());
+        }
+        for (java.nio.file.Path file : files) {
+            update(digest, root.relativize(file).toString());
+            digest.update(Files.readAllBytes(file));
+        }
+        return ObjectId.fromRaw(digest.digest()).name();
+    }
+
+    private boolean isSource(java.nio.file.Path relative) {
+        // build outputs and hidden files don't change the result of the build
+        for (java.nio.file.Path segment : relative) {
+            String name = segment.toString();
+            if (name.equals("target") || name.startsWith(".")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void update(MessageDigest digest,
+                        String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private byte[] load(String key) {
+        if (cacheDir == null) {
+            return null;
+        }
+        File entry = new File(cacheDir, key + ENTRY_SUFFIX);
+        if (!entry.isFile()) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(entry.toPath());
+        } catch (IOException e) {
+            logger.error("Unable to read the build cache entry " + entry, e);
+            entry.delete();
+            return null;
+        }
+    }
+
+    private KieCompilationResponse deserialize(String key,
+                                               byte[] bytes) {
+        try (ObjectInputStream o = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return new DefaultKieCompilationResponse((DefaultKieCompilationResponseOffProcess) o.readObject());
+        } catch (Exception e) {
+            logger.error("Unable to read the build cache entry " + key, e);
+            entries.remove(key);
+            deleteStored(key);
+            return null;
+        }
+    }
+
+    private byte[] serialize(String key,
+                             KieCompilationResponse res) {
+        try (ByteArrayOutputStream b = new ByteArrayOutputStream()) {
+            try (ObjectOutputStream o = new ObjectOutputStream(b)) {
+                o.writeObject(new DefaultKieCompilationResponseOffProcess(res));
+            }
+            return b.toByteArray();
+        } catch (Exception e) {
+            logger.error("Unable to write the build cache entry " + key, e);
+            return null;
+        }
+    }
+
+    private void store(String key,
+                       byte[] bytes) {
+        if (cacheDir == null) {
+            return;
+        }
+        File entry = new File(cacheDir, key + ENTRY_SUFFIX);
+        try {
+            Files.write(entry.toPath(), bytes);
+        } catch (IOException e) {
+            logger.error("Unable to write the build cache entry " + entry, e);
+            entry.delete();
+            return;
+        }
+        evictStored();
+    }
+
+    private void evictStored() {
+        File[] stored = cacheDir.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        if (stored == null || stored.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(stored, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < stored.length - maxEntries; i++) {
+            stored[i].delete();
+        }
+    }
+
+    private void deleteStored(String key) {
+        if (cacheDir != null) {
+            new File(cacheDir, key + ENTRY_SUFFIX).delete();
+        }
+    }
+}
@@ -37,16 +37,37 @@ import org.uberfire.java.nio.file.Path;
  */
 public class DefaultLocalExecutor implements CompilerExecutor {
 
+    public static final String MAX_PARALLEL_BUILDS = "org.kie.compiler.local.max.parallel.builds";
+
     private ExecutorService executor;
     private LRUCache<Path, CompilerAggregateEntryCache> compilerCacheForLocalInvocation;
+    private ProjectBuildScheduler scheduler;
+    private BuildResultCache buildResultCache;
 
     public DefaultLocalExecutor(ExecutorService executorService) {
+        this(executorService,
+             Integer.getInteger(MAX_PARALLEL_BUILDS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public DefaultLocalExecutor(ExecutorService executorService,
+                                int maxParallelBuilds) {
+        this(executorService,
+             maxParallelBuilds,
+             new BuildResultCache());
+    }
+
+    public DefaultLocalExecutor(ExecutorService executorService,
+                                int maxParallelBuilds,
+                                BuildResultCache buildResultCache) {
+        this.buildResultCache = buildResultCache;
         executor = executorService;
         compilerCacheForLocalInvocation = new LRUCache<Path, CompilerAggregateEntryCache>() {
         };
+        scheduler = new ProjectBuildScheduler(executor,
+                                              maxParallelBuilds);
     }
 
-    private AFCompiler getCompiler(Path projectPath) {
+    private synchronized AFCompiler getCompiler(Path projectPath) {
         CompilerAggregateEntryCache info = compilerCacheForLocalInvocation.getEntry(projectPath);
         if (info != null && info.getCompiler() != null) {
             return info.getCompiler();
@@ -102,8 +123,13 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                     skipProjectDepCreation,
                                     new String[]{goal});
         }
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)),
-                                             executor);
+        return scheduler.submit(projectPath,
+                                getBuildKey(mavenRepoPath,
+                                            skipProjectDepCreation,
+                                            req.getOriginalArgs()),
+                                () -> compileOrGetCached(compiler,
+                                                         req,
+                                                         settingXML));
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(Path projectPath,
@@ -116,8 +142,43 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                                    info,
                                                    skipProjectDepCreation,
                                                    args);
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)),
-                                             executor);
+        return scheduler.submit(projectPath,
+                                getBuildKey(mavenRepoPath,
+                                            skipProjectDepCreation,
+                                            args),
+                                () -> compileOrGetCached(compiler,
+                                                         req,
+                                                         null));
+    }
+
+    /**
+     * The key is computed when the build starts, after the previous builds of the project completed
+     */
+    private KieCompilationResponse compileOrGetCached(AFCompiler compiler,
+                                                      CompilationRequest req,
+                                                      String settingXML) {
+        if (!buildResultCache.isEnabled() || !buildResultCache.isCacheable(req.getOriginalArgs())) {
+            return (KieCompilationResponse) compiler.compile(req);
+        }
+        String key = buildResultCache.getKey(req.getInfo().getPrjPath(),
+                                             req.getMavenRepo(),
+                                             settingXML,
+                                             req.skipProjectDependenciesCreationList(),
+                                             req.getOriginalArgs());
+        if (key != null) {
+            KieCompilationResponse cached = buildResultCache.get(req.getInfo().getPrjPath(),
+                                                                 key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        KieCompilationResponse res = (KieCompilationResponse) compiler.compile(req);
+        if (key != null) {
+            buildResultCache.put(req.getInfo().getPrjPath(),
+                                 key,
+                                 res);
+        }
+        return res;
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(Path projectPath,
@@ -140,9 +201,21 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                     skipProjectDepCreation,
                                     new String[]{goal});
         }
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req,
-                                                                                              override)),
-                                             executor);
+        // the overrides make every build unique, they are never coalesced nor cached
+        return scheduler.submit(projectPath,
+                                null,
+                                () -> {
+                                    // the outputs left in the target dir no more match the cached results
+                                    buildResultCache.invalidate(req.getInfo().getPrjPath());
+                                    return (KieCompilationResponse) compiler.compile(req,
+                                                                                     override);
+                                });
+    }
+
+    private String getBuildKey(String mavenRepoPath,
+                               boolean skipProjectDepCreation,
+                               String[] args) {
+        return mavenRepoPath + "|" + skipProjectDepCreation + "|" + String.join("|", args);
     }
 
     /************************************ Suitable for the Local Builds ***********************************************/
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Schedules the builds of the local executor with single-flight semantics per project:
+ * - the builds of the same project run one at a time, because they share the same compiler;
+ * - a request equal to a build still waiting to start joins it instead of queueing a new one,
+ * so while a build is running at most one follow-up build per kind is queued;
+ * - the builds of distinct projects run in parallel up to a limit, the waiting projects are served in FIFO order.
+ */
+class ProjectBuildScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectBuildScheduler.class);
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Map<Path, ProjectLane> lanes;
+
+    ProjectBuildScheduler(ExecutorService executor,
+                          int maxParallelBuilds) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxParallelBuilds, true);
+        this.lanes = new HashMap<>();
+    }
+
+    /**
+     * @param projectPath project to build
+     * @param buildKey identifies equivalent builds, null if the build can't be shared (i.e. with overrides)
+     * @param build the build to run
+     */
+    CompletableFuture<KieCompilationResponse> submit(Path projectPath,
+                                                     String buildKey,
+                                                     Supplier<KieCompilationResponse> build) {
+        final PendingBuild pending;
+        synchronized (lanes) {
+            ProjectLane lane = lanes.computeIfAbsent(projectPath, p -> new ProjectLane());
+            PendingBuild queued = buildKey != null ? lane.queued.get(buildKey) : null;
+            if (queued != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Build of {} coalesced on the queued one", projectPath);
+                }
+                return queued.result.thenApply(res -> res);
+            }
+            pending = new PendingBuild(buildKey, build);
+            if (buildKey != null) {
+                lane.queued.put(buildKey, pending);
+            }
+            lane.scheduled++;
+            lane.tail = lane.tail.thenRunAsync(() -> run(projectPath, lane, pending), executor)
+                    .whenComplete((v, error) -> {
+                        if (error != null) {
+                            // i.e. rejected by the executor
+                            completed(projectPath, lane, pending);
+                            pending.result.completeExceptionally(error);
+                        }
+                    })
+                    .exceptionally(error -> null);
+        }
+        return pending.result.thenApply(res -> res);
+    }
+
+    int getScheduledProjects() {
+        synchronized (lanes) {
+            return lanes.size();
+        }
+    }
+
+    private void run(Path projectPath,
+                     ProjectLane lane,
+                     PendingBuild pending) {
+        synchronized (lanes) {
+            // from now on an equal request needs a follow-up build to see the latest changes
+            if (pending.buildKey != null) {
+                lane.queued.remove(pending.buildKey, pending);
+            }
+        }
+        boolean acquired = false;
+        KieCompilationResponse response = null;
+        Throwable error = null;
+        try {
+            permits.acquire();
+            acquired = true;
+            response = pending.build.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = e;
+        } catch (Throwable t) {
+            logger.error("Build of " + projectPath + " failed", t);
+            error = t;
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+            completed(projectPath, lane, pending);
+        }
+        if (error != null) {
+            pending.result.completeExceptionally(error);
+        } else {
+            pending.result.complete(response);
+        }
+    }
+
+    private void completed(Path projectPath,
+                           ProjectLane lane,
+                           PendingBuild pending) {
+        synchronized (lanes) {
+            if (pending.buildKey != null) {
+                lane.queued.remove(pending.buildKey, pending);
+            }
+            lane.scheduled--;
+            if (lane.scheduled == 0) {
+                lanes.remove(projectPath, lane);
+            }
+        }
+    }
+
+    private static class ProjectLane {
+
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private final Map<String, PendingBuild> queued = new HashMap<>();
+        private int scheduled;
+    }
+
+    private static class PendingBuild {
+
+        private final String buildKey;
+        private final Supplier<KieCompilationResponse> build;
+        private final CompletableFuture<KieCompilationResponse> result = new CompletableFuture<>();
+
+        private PendingBuild(String buildKey,
+                             Supplier<KieCompilationResponse> build) {
+            this.buildKey = buildKey;
+            this.build = build;
+        }
+    }
+}
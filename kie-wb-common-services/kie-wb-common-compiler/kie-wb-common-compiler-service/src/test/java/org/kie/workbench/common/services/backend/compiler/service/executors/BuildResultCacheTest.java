@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
+import org.uberfire.mocks.FileSystemTestingUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BuildResultCacheTest {
+
+    private File tmpRoot;
+    private File project;
+    private Path projectPath;
+    private String[] compile = new String[]{MavenCLIArgs.COMPILE};
+
+    @Before
+    public void setUp() throws Exception {
+        tmpRoot = Files.createTempDirectory("build-cache").toFile();
+        project = new File(tmpRoot, "project");
+        write("pom.xml", "<project/>");
+        write("src/main/resources/rules.drl", "rule X when then end");
+        projectPath = Paths.get(project.toURI());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(tmpRoot);
+    }
+
+    @Test
+    public void keyFollowsTheSourceContent() throws Exception {
+        BuildResultCache cache = new BuildResultCache(4, null);
+        String key = cache.getKey(projectPath, "/repo", null, false, compile);
+        assertThat(key).isNotNull();
+        assertThat(cache.getKey(projectPath, "/repo", null, false, compile)).isEqualTo(key);
+
+        write("target/classes/rules.drl", "rule X when then end");
+        assertThat(cache.getKey(projectPath, "/repo", null, false, compile)).isEqualTo(key);
+
+        write("src/main/resources/rules.drl", "rule Y when then end");
+        assertThat(cache.getKey(projectPath, "/repo", null, false, compile)).isNotEqualTo(key);
+    }
+
+    @Test
+    public void keyFollowsTheBuildArguments() {
+        BuildResultCache cache = new BuildResultCache(4, null);
+        String key = cache.getKey(projectPath, "/repo", null, false, compile);
+        assertThat(cache.getKey(projectPath, "/repo", null, true, compile)).isNotEqualTo(key);
+        assertThat(cache.getKey(projectPath, "/other-repo", null, false, compile)).isNotEqualTo(key);
+        assertThat(cache.getKey(projectPath, "/repo", null, false, new String[]{MavenCLIArgs.INSTALL})).isNotEqualTo(key);
+    }
+
+    @Test
+    public void keyFollowsTheGitTreeOfTheProject() throws Exception {
+        System.setProperty("org.uberfire.nio.git.daemon.enabled", "false");
+        System.setProperty("org.uberfire.nio.git.ssh.enabled", "false");
+        FileSystemTestingUtils fileSystemTestingUtils = new FileSystemTestingUtils();
+        fileSystemTestingUtils.setup();
+        try {
+            IOService ioService = fileSystemTestingUtils.getIoService();
+            JGitFileSystem fs = (JGitFileSystem) ioService.newFileSystem(URI.create("git://build-cache-repo"),
+                                                                         new HashMap<String, Object>() {{
+                                                                             put("init", Boolean.TRUE);
+                                                                             put("internal", Boolean.TRUE);
+                                                                         }});
+            ioService.write(fs.getPath("/project/pom.xml"), "<project/>");
+            ioService.write(fs.getPath("/project/src/main/resources/rules.drl"), "rule X when then end");
+            ioService.write(fs.getPath("/other/pom.xml"), "<project/>");
+
+            BuildResultCache cache = new BuildResultCache(4, null);
+            Path gitProject = fs.getPath("/project");
+            String key = cache.getKey(gitProject, "/repo", null, false, compile);
+            assertThat(key).isNotNull();
+            assertThat(cache.getKey(gitProject, "/repo", null, false, compile)).isEqualTo(key);
+            assertThat(cache.getKey(fs.getPath("/"), "/repo", null, false, compile)).isNotEqualTo(key);
+
+            ioService.write(fs.getPath("/other/pom.xml"), "<project><modelVersion>4.0.0</modelVersion></project>");
+            assertThat(cache.getKey(gitProject, "/repo", null, false, compile)).isEqualTo(key);
+
+            ioService.write(fs.getPath("/project/src/main/resources/rules.drl"), "rule Y when then end");
+            assertThat(cache.getKey(gitProject, "/repo", null, false, compile)).isNotEqualTo(key);
+
+            assertThat(cache.getKey(fs.getPath("/missing"), "/repo", null, false, compile)).isNull();
+        } finally {
+            fileSystemTestingUtils.cleanup();
+            System.clearProperty("org.uberfire.nio.git.daemon.enabled");
+            System.clearProperty("org.uberfire.nio.git.ssh.enabled");
+        }
+    }
+
+    @Test
+    public void buildsWithSideEffectsAreNotCacheable() {
+        BuildResultCache cache = new BuildResultCache(4, null);
+        assertThat(cache.isCacheable(compile)).isTrue();
+        assertThat(cache.isCacheable(new String[]{MavenCLIArgs.COMPILE, MavenCLIArgs.INSTALL})).isFalse();
+        assertThat(cache.isCacheable(new String[]{MavenCLIArgs.DEPLOY})).isFalse();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        assertThat(new BuildResultCache().isEnabled()).isFalse();
+    }
+
+    @Test
+    public void onlySuccessfulBuildsAreCached() {
+        BuildResultCache cache = new BuildResultCache(4, null);
+        cache.put(projectPath, "failed", new DefaultKieCompilationResponse(false, "failed"));
+        cache.put(projectPath, "successful", new DefaultKieCompilationResponse(true, "successful"));
+        assertThat(cache.get(projectPath, "failed")).isNull();
+        assertThat(cache.get(projectPath, "successful")).isNotNull();
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() {
+        BuildResultCache cache = new BuildResultCache(2, null);
+        cache.put(projectPath, "a", new DefaultKieCompilationResponse(true, "a"));
+        cache.put(projectPath, "b", new DefaultKieCompilationResponse(true, "b"));
+        cache.get(projectPath, "a");
+        cache.put(projectPath, "c", new DefaultKieCompilationResponse(true, "c"));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(projectPath, "a")).isNotNull();
+        assertThat(cache.get(projectPath, "b")).isNull();
+    }
+
+    @Test
+    public void eachHitIsACopy() {
+        BuildResultCache cache = new BuildResultCache(4, null);
+        cache.put(projectPath, "key", new DefaultKieCompilationResponse(true, "uuid"));
+        DefaultKieCompilationResponse first = (DefaultKieCompilationResponse) cache.get(projectPath, "key");
+        DefaultKieCompilationResponse second = (DefaultKieCompilationResponse) cache.get(projectPath, "key");
+        assertThat(first).isNotSameAs(second);
+        assertThat(second.getRequestUUID()).isEqualTo("uuid");
+    }
+
+    @Test
+    public void overrideBuildsInvalidateTheProjectResults() {
+        File cacheDir = new File(tmpRoot, "cache");
+        BuildResultCache cache = new BuildResultCache(4, cacheDir);
+        Path otherProject = Paths.get(new File(tmpRoot, "other").toURI());
+        cache.put(projectPath, "key", new DefaultKieCompilationResponse(true, "uuid"));
+        cache.put(otherProject, "other", new DefaultKieCompilationResponse(true, "other"));
+
+        cache.invalidate(projectPath);
+        assertThat(cache.get(projectPath, "key")).isNull();
+        assertThat(cache.get(otherProject, "other")).isNotNull();
+        assertThat(new BuildResultCache(4, cacheDir).get(projectPath, "key")).isNull();
+
+        //a failed build doesn't restore the target dir of the project
+        cache.put(projectPath, "key", new DefaultKieCompilationResponse(false, "failed"));
+        assertThat(cache.get(projectPath, "key")).isNull();
+
+        cache.put(projectPath, "key", new DefaultKieCompilationResponse(true, "rebuilt"));
+        assertThat(((DefaultKieCompilationResponse) cache.get(projectPath, "key")).getRequestUUID()).isEqualTo("rebuilt");
+    }
+
+    @Test
+    public void entriesSurviveARestart() {
+        File cacheDir = new File(tmpRoot, "cache");
+        new BuildResultCache(4, cacheDir).put(projectPath, "key", new DefaultKieCompilationResponse(true, "uuid"));
+
+        BuildResultCache restarted = new BuildResultCache(4, cacheDir);
+        DefaultKieCompilationResponse res = (DefaultKieCompilationResponse) restarted.get(projectPath, "key");
+        assertThat(res).isNotNull();
+        assertThat(res.isSuccessful()).isTrue();
+        assertThat(res.getRequestUUID()).isEqualTo("uuid");
+    }
+
+    private void write(String relativePath,
+                       String content) throws Exception {
+        File file = new File(project, relativePath);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
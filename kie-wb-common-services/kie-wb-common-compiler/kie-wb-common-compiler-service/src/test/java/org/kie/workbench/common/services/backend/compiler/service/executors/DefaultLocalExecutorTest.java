@@ -28,6 +28,7 @@ import org.junit.Test;
 import org.kie.workbench.common.services.backend.compiler.BaseCompilerTest;
 import org.kie.workbench.common.services.backend.compiler.TestUtilMaven;
 import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
 import org.uberfire.java.nio.file.Paths;
 
@@ -194,4 +195,39 @@ public class DefaultLocalExecutorTest extends BaseCompilerTest {
         KieCompilationResponse res = futureRes.get();
         assertThat(res.isSuccessful()).isTrue();
     }
+
+    @Test
+    public void plainBuildAfterOverrideBuildIsNotServedFromTheCache() throws Exception{
+        DefaultLocalExecutor executor = new DefaultLocalExecutor(executorService,
+                                                                 1,
+                                                                 new BuildResultCache(4, null));
+        org.uberfire.java.nio.file.Path projectPath = Paths.get(tmpRoot.toAbsolutePath()+"/dummy");
+
+        KieCompilationResponse first = executor.build(projectPath,
+                                                      mavenRepoPath,
+                                                      TestUtilMaven.getSettingsFile()).get();
+        assertThat(first.isSuccessful()).isTrue();
+
+        KieCompilationResponse cached = executor.build(projectPath,
+                                                       mavenRepoPath,
+                                                       TestUtilMaven.getSettingsFile()).get();
+        assertThat(cached).isNotSameAs(first);
+        assertThat(((DefaultKieCompilationResponse) cached).getRequestUUID()).isEqualTo(((DefaultKieCompilationResponse) first).getRequestUUID());
+
+        Map<org.uberfire.java.nio.file.Path, InputStream> override = new HashMap<>();
+        org.uberfire.java.nio.file.Path path = org.uberfire.java.nio.file.Paths.get(tmpRoot+ "/dummy/src/main/java/dummy/DummyOverride.java");
+        override.put(path, new FileInputStream(new File("target/test-classes/dummy_override/src/main/java/dummy/DummyOverride.java")));
+        KieCompilationResponse overridden = executor.build(projectPath,
+                                                           mavenRepoPath,
+                                                           TestUtilMaven.getSettingsFile(),
+                                                           override).get();
+        assertThat(overridden.isSuccessful()).isTrue();
+
+        //the project content is unchanged but its target dir holds the outputs of the override build
+        KieCompilationResponse rebuilt = executor.build(projectPath,
+                                                        mavenRepoPath,
+                                                        TestUtilMaven.getSettingsFile()).get();
+        assertThat(rebuilt.isSuccessful()).isTrue();
+        assertThat(((DefaultKieCompilationResponse) rebuilt).getRequestUUID()).isNotEqualTo(((DefaultKieCompilationResponse) first).getRequestUUID());
+    }
 }
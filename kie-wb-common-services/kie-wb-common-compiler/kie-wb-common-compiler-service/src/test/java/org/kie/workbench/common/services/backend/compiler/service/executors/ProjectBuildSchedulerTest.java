@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectBuildSchedulerTest {
+
+    private ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private Path projectA = Paths.get("file:///tmp/scheduler/projectA");
+    private Path projectB = Paths.get("file:///tmp/scheduler/projectB");
+    private Path projectC = Paths.get("file:///tmp/scheduler/projectC");
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void coalesceBuildsQueuedBehindARunningOne() throws Exception {
+        ProjectBuildScheduler scheduler = new ProjectBuildScheduler(executorService, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger followUps = new AtomicInteger();
+
+        CompletableFuture<KieCompilationResponse> running = scheduler.submit(projectA, "compile", blockingBuild(started, release));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<KieCompilationResponse> second = scheduler.submit(projectA, "compile", countingBuild(followUps));
+        CompletableFuture<KieCompilationResponse> third = scheduler.submit(projectA, "compile", countingBuild(followUps));
+        CompletableFuture<KieCompilationResponse> fourth = scheduler.submit(projectA, "compile", countingBuild(followUps));
+        release.countDown();
+
+        assertThat(running.get(10, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        assertThat(second.get(10, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        assertThat(third.get(10, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        assertThat(fourth.get(10, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        assertThat(followUps.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void buildsWithoutKeyAreNeverCoalesced() throws Exception {
+        ProjectBuildScheduler scheduler = new ProjectBuildScheduler(executorService, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+
+        CompletableFuture<KieCompilationResponse> running = scheduler.submit(projectA, null, blockingBuild(started, release));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<KieCompilationResponse> second = scheduler.submit(projectA, null, countingBuild(builds));
+        CompletableFuture<KieCompilationResponse> third = scheduler.submit(projectA, null, countingBuild(builds));
+        release.countDown();
+
+        CompletableFuture.allOf(running, second, third).get(10, TimeUnit.SECONDS);
+        assertThat(builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void buildsOfTheSameProjectRunOneAtATime() throws Exception {
+        ProjectBuildScheduler scheduler = new ProjectBuildScheduler(executorService, 4);
+        ConcurrencyTracker tracker = new ConcurrencyTracker();
+
+        CompletableFuture<KieCompilationResponse> compile = scheduler.submit(projectA, "compile", tracker.build());
+        CompletableFuture<KieCompilationResponse> install = scheduler.submit(projectA, "install", tracker.build());
+        CompletableFuture<KieCompilationResponse> override = scheduler.submit(projectA, null, tracker.build());
+
+        CompletableFuture.allOf(compile, install, override).get(10, TimeUnit.SECONDS);
+        assertThat(tracker.max.get()).isEqualTo(1);
+        assertThat(scheduler.getScheduledProjects()).isEqualTo(0);
+    }
+
+    @Test
+    public void distinctProjectsRunInParallelUpToTheLimit() throws Exception {
+        ProjectBuildScheduler scheduler = new ProjectBuildScheduler(executorService, 2);
+        ConcurrencyTracker tracker = new ConcurrencyTracker();
+
+        CompletableFuture<KieCompilationResponse> a = scheduler.submit(projectA, "compile", tracker.build());
+        CompletableFuture<KieCompilationResponse> b = scheduler.submit(projectB, "compile", tracker.build());
+        CompletableFuture<KieCompilationResponse> c = scheduler.submit(projectC, "compile", tracker.build());
+
+        CompletableFuture.allOf(a, b, c).get(10, TimeUnit.SECONDS);
+        assertThat(tracker.max.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedBuildDoesNotBlockTheProject() throws Exception {
+        ProjectBuildScheduler scheduler = new ProjectBuildScheduler(executorService, 1);
+        CompletableFuture<KieCompilationResponse> failed = scheduler.submit(projectA, "compile", () -> {
+            throw new IllegalStateException("broken build");
+        });
+        CompletableFuture<KieCompilationResponse> next = scheduler.submit(projectA, "install", () -> new DefaultKieCompilationResponse(true, ""));
+
+        assertThat(next.get(10, TimeUnit.SECONDS).isSuccessful()).isTrue();
+        assertThat(failed.isCompletedExceptionally()).isTrue();
+    }
+
+    private Supplier<KieCompilationResponse> blockingBuild(CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new DefaultKieCompilationResponse(true, "");
+        };
+    }
+
+    private Supplier<KieCompilationResponse> countingBuild(AtomicInteger counter) {
+        return () -> {
+            counter.incrementAndGet();
+            return new DefaultKieCompilationResponse(true, "");
+        };
+    }
+
+    private static class ConcurrencyTracker {
+
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        private Supplier<KieCompilationResponse> build() {
+            return () -> {
+                max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return new DefaultKieCompilationResponse(true, "");
+            };
+        }
+    }
+}
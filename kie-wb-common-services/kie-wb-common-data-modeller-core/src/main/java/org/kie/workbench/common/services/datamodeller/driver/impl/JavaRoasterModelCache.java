@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Keeps the result of loading each of the java files of a module with the {@link JavaRoasterModelDriver},
+ * so that only the files whose content changed are parsed again on the next model load.
+ * <p>
+ * The type names in a file are resolved against the other files of the module and its dependencies, so
+ * all the entries are discarded when a file is added or removed, or when the dependencies signature given
+ * by the caller (e.g. a hash of the module resolved dependencies) changes. Every discard starts a new
+ * generation of entries: the results of a load that started before the discard are not cached.
+ * <p>
+ * The data objects and enums kept by the cache are shared by all the models loaded with it, so they must
+ * not be modified.
+ */
+public class JavaRoasterModelCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private String filesSignature;
+
+    private String dependenciesSignature;
+
+    private long generation;
+
+    /**
+     * Discards all the cached entries when the module files or the dependencies signature
+     * have changed since the previous model load.
+     * @return the generation the results of the load must be cached with.
+     */
+    synchronized long validate(final Collection<Path> files,
+                               final String dependenciesSignature) {
+        final StringBuilder builder = new StringBuilder();
+        final Collection<String> uris = new TreeSet<>();
+        for (Path file : files) {
+            uris.add(file.toUri().toString());
+        }
+        for (String uri : uris) {
+            builder.append(uri).append('\n');
+        }
+        final String newFilesSignature = FileHashingUtils.md5Hex(builder.toString());
+        if (!newFilesSignature.equals(filesSignature)) {
+            invalidate();
+            filesSignature = newFilesSignature;
+        }
+        if (!String.valueOf(dependenciesSignature).equals(this.dependenciesSignature)) {
+            invalidate();
+            this.dependenciesSignature = String.valueOf(dependenciesSignature);
+        }
+        return generation;
+    }
+
+    ModelDriverResult get(final Path file,
+                          final String hash,
+                          final long generation) {
+        final Entry entry = entries.get(file.toUri().toString());
+        return entry != null && entry.generation == generation && entry.hash.equals(hash) ? entry.result : null;
+    }
+
+    /**
+     * Keeps the result of loading a file, unless the entries were discarded since the load started.
+     */
+    synchronized void put(final Path file,
+                          final String hash,
+                          final long generation,
+                          final ModelDriverResult result) {
+        if (generation == this.generation) {
+            entries.put(file.toUri().toString(),
+                        new Entry(hash,
+                                  generation,
+                                  result));
+        }
+    }
+
+    public synchronized void clear() {
+        invalidate();
+        filesSignature = null;
+        dependenciesSignature = null;
+    }
+
+    private void invalidate() {
+        entries.clear();
+        generation++;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+
+        private final String hash;
+
+        private final long generation;
+
+        private final ModelDriverResult result;
+
+        private Entry(final String hash,
+                      final long generation,
+                      final ModelDriverResult result) {
+            this.hash = hash;
+            this.generation = generation;
+            this.result = result;
+        }
+    }
+}
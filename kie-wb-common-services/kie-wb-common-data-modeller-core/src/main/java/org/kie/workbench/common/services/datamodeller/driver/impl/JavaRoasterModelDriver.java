@@ -26,6 +26,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.forge.roaster.ParserException;
@@ -55,6 +60,7 @@ import org.kie.workbench.common.services.datamodeller.core.AnnotationValuePairDe
 import org.kie.workbench.common.services.datamodeller.core.DataModel;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.ElementType;
+import org.kie.workbench.common.services.datamodeller.core.JavaEnum;
 import org.kie.workbench.common.services.datamodeller.core.ObjectProperty;
 import org.kie.workbench.common.services.datamodeller.core.Visibility;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
@@ -79,6 +85,7 @@ import org.kie.workbench.common.services.datamodeller.driver.model.DriverResult;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DataModelUtils;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
 import org.kie.workbench.common.services.datamodeller.util.FileUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
 import org.slf4j.Logger;
@@ -106,6 +113,12 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
     private FilterHolder filterHolder;
 
+    private JavaRoasterModelCache modelCache;
+
+    private String dependenciesSignature;
+
+    private ExecutorService executorService;
+
     private static final String DATA_OBJECT_LOAD_ERROR = "It was not possible to create or load DataObject: \"{0}\" .";
 
     private static final String ANNOTATION_LOAD_ERROR = "It was not possible to create or load a DataObject or Field annotation for annotation class name: \"{0}\" .";
@@ -142,6 +155,47 @@ public class JavaRoasterModelDriver implements ModelDriver {
         this.filterHolder = filterHolder;
     }
 
+    /**
+     * Creates a driver that keeps the result of loading each of the module files in the given cache.
+     * @param modelCache the cache for the module being loaded.
+     * @param dependenciesSignature a value that changes whenever the module dependencies change, the cache
+     * is discarded when it differs from the value used on the previous load.
+     */
+    public JavaRoasterModelDriver(IOService ioService,
+                                  Path javaRootPath,
+                                  ClassLoader classLoader,
+                                  FilterHolder filterHolder,
+                                  JavaRoasterModelCache modelCache,
+                                  String dependenciesSignature) {
+        this(ioService,
+             javaRootPath,
+             classLoader,
+             filterHolder);
+        this.modelCache = modelCache;
+        this.dependenciesSignature = dependenciesSignature;
+    }
+
+    /**
+     * Creates a driver that keeps the result of loading each of the module files in the given cache, and
+     * parses the files of a model load in the given executor.
+     * @param executorService the executor the files are parsed in, they are parsed in the calling thread when null.
+     */
+    public JavaRoasterModelDriver(IOService ioService,
+                                  Path javaRootPath,
+                                  ClassLoader classLoader,
+                                  FilterHolder filterHolder,
+                                  JavaRoasterModelCache modelCache,
+                                  String dependenciesSignature,
+                                  ExecutorService executorService) {
+        this(ioService,
+             javaRootPath,
+             classLoader,
+             filterHolder,
+             modelCache,
+             dependenciesSignature);
+        this.executorService = executorService;
+    }
+
     @Override
     public List<AnnotationDefinition> getConfiguredAnnotations() {
         return configuredAnnotations;
@@ -168,10 +222,101 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
         ModelDriverResult result = new ModelDriverResult();
         DataModel dataModel;
-        String fileContent;
         dataModel = createModel();
         result.setDataModel(dataModel);
 
+        List<Path> files = scanFiles();
+        if (files != null) {
+            final long generation = modelCache != null ? modelCache.validate(files,
+                                                                              dependenciesSignature) : 0;
+
+            //files are read in the calling thread, as the ioService may depend on the current context.
+            List<Pair<Path, String>> fileContents = new ArrayList<>();
+            for (Path file : files) {
+                logger.debug("Starting file loading into model, file: " + file);
+                fileContents.add(new Pair<>(file,
+                                            ioService.readAllString(file)));
+            }
+
+            //then parsed in the executor when given, and added to the model in the scanning order.
+            List<ModelDriverResult> fileResults = new ArrayList<>();
+            try {
+                if (executorService != null) {
+                    List<Callable<ModelDriverResult>> tasks = fileContents.stream()
+                            .map(fileContent -> (Callable<ModelDriverResult>) () -> loadFile(fileContent.getK1(),
+                                                                                             fileContent.getK2(),
+                                                                                             generation))
+                            .collect(Collectors.toList());
+                    for (Future<ModelDriverResult> fileResult : executorService.invokeAll(tasks)) {
+                        fileResults.add(fileResult.get());
+                    }
+                } else {
+                    for (Pair<Path, String> fileContent : fileContents) {
+                        fileResults.add(loadFile(fileContent.getK1(),
+                                                 fileContent.getK2(),
+                                                 generation));
+                    }
+                }
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                //Unexpected error.
+                logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                          javaRootPath.toUri()),
+                             cause);
+                throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                            javaRootPath.toUri()),
+                                               cause);
+            }
+
+            for (ModelDriverResult fileResult : fileResults) {
+                addFileResult(fileResult,
+                              result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the types defined in a single java file of the module, so the parsing cost does not depend on
+     * the module size. The result of the previous loads is used when a model cache was given, the file has
+     * not changed and the module files are the same as in the previous load.
+     */
+    public ModelDriverResult loadModel(Path file) throws ModelDriverException {
+
+        ModelDriverResult result = new ModelDriverResult();
+        result.setDataModel(createModel());
+
+        //the types of the file are resolved against the other module files, the cache is validated as in a full load.
+        long generation = 0;
+        if (modelCache != null) {
+            List<Path> files = scanFiles();
+            generation = modelCache.validate(files != null ? files : Collections.emptyList(),
+                                             dependenciesSignature);
+        }
+
+        logger.debug("Starting file loading into model, file: " + file);
+        String fileContent = ioService.readAllString(file);
+        try {
+            addFileResult(loadFile(file,
+                                   fileContent,
+                                   generation),
+                          result);
+        } catch (Exception e) {
+            //Unexpected error.
+            logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                      file.toUri()),
+                         e);
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        file.toUri()),
+                                           e);
+        }
+        return result;
+    }
+
+    private List<Path> scanFiles() {
         List<Path> rootPaths = new ArrayList<Path>();
         rootPaths.add(javaRootPath);
 
@@ -179,62 +324,96 @@ public class JavaRoasterModelDriver implements ModelDriver {
                                                                                     rootPaths,
                                                                                     ".java",
                                                                                     true);
-        if (scanResults != null) {
-            for (FileUtils.ScanResult scanResult : scanResults) {
-
-                logger.debug("Starting file loading into model, file: " + scanResult.getFile());
-                fileContent = ioService.readAllString(scanResult.getFile());
-                if (fileContent == null || "".equals(fileContent)) {
-                    logger.debug("file: " + scanResult.getFile() + " is empty.");
-                    result.addError(new DriverError("File has no content",
-                                                    Paths.convert(scanResult.getFile())));
-                    continue;
-                }
-                try {
-                    JavaType<?> javaType = Roaster.parse(fileContent);
-                    final boolean isManaged = isManagedJavaType(javaType);
-                    final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
-                    if (isManaged && !vetoed) {
-                        if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors(result,
-                                            scanResult.getFile(),
-                                            javaType.getSyntaxErrors());
-                        } else if (javaType.isEnum()) {
-                            loadFromJavaEnum((JavaEnumSource) javaType,
-                                             scanResult.getFile(),
-                                             dataModel,
-                                             result);
-                        } else {
-                            loadFromJavaClass((JavaClassSource) javaType,
-                                              scanResult.getFile(),
-                                              dataModel,
-                                              result);
-                        }
-                    } else if (vetoed) {
-                        logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                     javaType.getQualifiedName(),
-                                     scanResult.getFile());
-                    } else {
-                        logger.debug("File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped.");
-                    }
-                } catch (ParserException e) {
-                    result.addError(new DriverError(e.getMessage(),
-                                                    Paths.convert(scanResult.getFile())));
-                } catch (Exception e) {
-                    //Unexpected error.
-                    logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
-                                              javaRootPath.toUri()),
-                                 e);
-                    throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
-                                                                javaRootPath.toUri()),
-                                                   e);
+        return scanResults != null ? scanResults.stream()
+                .map(FileUtils.ScanResult::getFile)
+                .collect(Collectors.toList()) : null;
+    }
+
+    private ModelDriverResult loadFile(Path file,
+                                       String fileContent,
+                                       long generation) throws Exception {
+
+        ModelDriverResult result = new ModelDriverResult();
+        DataModel dataModel = createModel();
+        result.setDataModel(dataModel);
+
+        if (fileContent == null || "".equals(fileContent)) {
+            logger.debug("file: " + file + " is empty.");
+            result.addError(new DriverError("File has no content",
+                                            Paths.convert(file)));
+            return result;
+        }
+
+        String hash = null;
+        if (modelCache != null) {
+            hash = FileHashingUtils.md5Hex(fileContent);
+            ModelDriverResult cachedResult = modelCache.get(file,
+                                                            hash,
+                                                            generation);
+            if (cachedResult != null) {
+                logger.debug("file: " + file + " has not changed, the cached result will be used.");
+                return cachedResult;
+            }
+        }
+
+        try {
+            JavaType<?> javaType = Roaster.parse(fileContent);
+            final boolean isManaged = isManagedJavaType(javaType);
+            final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
+            if (isManaged && !vetoed) {
+                if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
+                    //if a file has parsing errors it will be skipped.
+                    addSyntaxErrors(result,
+                                    file,
+                                    javaType.getSyntaxErrors());
+                } else if (javaType.isEnum()) {
+                    loadFromJavaEnum((JavaEnumSource) javaType,
+                                     file,
+                                     dataModel,
+                                     result);
+                } else {
+                    loadFromJavaClass((JavaClassSource) javaType,
+                                      file,
+                                      dataModel,
+                                      result);
                 }
+            } else if (vetoed) {
+                logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
+                             javaType.getQualifiedName(),
+                             file);
+            } else {
+                logger.debug("File: " + file + " do not contain a managed java type, it will be skipped.");
             }
+        } catch (ParserException e) {
+            result.addError(new DriverError(e.getMessage(),
+                                            Paths.convert(file)));
+        }
+
+        if (modelCache != null) {
+            modelCache.put(file,
+                           hash,
+                           generation,
+                           result);
         }
         return result;
     }
 
+    private void addFileResult(ModelDriverResult fileResult,
+                               ModelDriverResult result) {
+        DataModel dataModel = result.getDataModel();
+        for (DataObject dataObject : fileResult.getDataModel().getDataObjects()) {
+            dataModel.addDataObject(dataObject);
+        }
+        for (JavaEnum javaEnum : fileResult.getDataModel().getJavaEnums()) {
+            dataModel.addJavaEnum(javaEnum);
+        }
+        result.getClassPaths().putAll(fileResult.getClassPaths());
+        result.getUnmanagedProperties().putAll(fileResult.getUnmanagedProperties());
+        for (DriverError error : fileResult.getErrors()) {
+            result.addError(error);
+        }
+    }
+
     private boolean isVetoed(final JavaType<?> javaType) {
         return filterHolder.getSourceFilters().stream().anyMatch(filter -> filter.veto(javaType));
     }
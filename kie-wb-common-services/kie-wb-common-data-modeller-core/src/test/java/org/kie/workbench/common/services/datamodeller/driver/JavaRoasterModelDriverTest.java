@@ -26,6 +26,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
 import javax.annotation.Generated;
 import javax.enterprise.inject.Instance;
@@ -79,6 +81,7 @@ import org.kie.workbench.common.services.datamodeller.core.impl.JavaEnumImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.MethodImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.ParameterImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.TypeImpl;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
@@ -217,6 +220,74 @@ public class JavaRoasterModelDriverTest {
         }
     }
 
+    @Test
+    public void modelReadWithCacheTest() throws Exception {
+        final SourceFilter pojo1Filter = javaType -> false;
+        final NestedClassFilter nestedClassFilter = javaType -> javaType.isClass() && javaType.getAnnotation(Generated.class) != null;
+        final MethodFilter methodFilter = method -> !method.isConstructor() && method.getAnnotation(Generated.class) != null;
+
+        FilterHolder filterHolder = mock(FilterHolder.class);
+        when(filterHolder.getSourceFilters()).thenReturn(Collections.singleton(pojo1Filter));
+        when(filterHolder.getNestedClassFilters()).thenReturn(Collections.singleton(nestedClassFilter));
+        when(filterHolder.getMethodFilters()).thenReturn(Collections.singleton(methodFilter));
+
+        JavaRoasterModelCache modelCache = new JavaRoasterModelCache();
+        ModelDriverResult firstResult;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            //the files of the first load are parsed in the given executor.
+            firstResult = new JavaRoasterModelDriver(ioService,
+                                                     rootPath,
+                                                     getClass().getClassLoader(),
+                                                     filterHolder,
+                                                     modelCache,
+                                                     "signature1",
+                                                     executorService).loadModel();
+        } finally {
+            executorService.shutdownNow();
+        }
+        ModelDriverResult cachedResult = new JavaRoasterModelDriver(ioService,
+                                                                    rootPath,
+                                                                    getClass().getClassLoader(),
+                                                                    filterHolder,
+                                                                    modelCache,
+                                                                    "signature1").loadModel();
+
+        DataModel dataModelOriginal = createModel();
+        assertEquals(dataModelOriginal.getDataObjects().size(),
+                     cachedResult.getDataModel().getDataObjects().size());
+        for (DataObject dataObject : dataModelOriginal.getDataObjects()) {
+            DataModelerAssert.assertEqualsDataObject(dataObject,
+                                                     cachedResult.getDataModel().getDataObject(dataObject.getClassName()));
+            //unchanged files are not parsed again.
+            assertSame(firstResult.getDataModel().getDataObject(dataObject.getClassName()),
+                       cachedResult.getDataModel().getDataObject(dataObject.getClassName()));
+        }
+        for (JavaEnum javaEnum : dataModelOriginal.getJavaEnums()) {
+            DataModelerAssert.assertEqualsJavaEnum(javaEnum,
+                                                   cachedResult.getDataModel().getJavaEnum(javaEnum.getClassName()));
+        }
+        assertEquals(firstResult.getClassPaths(),
+                     cachedResult.getClassPaths());
+        verifyErrorFilesWereDetected(cachedResult,
+                                     Paths.convert(rootPath.resolve(ERROR_FILE1)),
+                                     Paths.convert(rootPath.resolve(ERROR_FILE2)));
+
+        //all the files are parsed again when the dependencies change.
+        ModelDriverResult reloadedResult = new JavaRoasterModelDriver(ioService,
+                                                                      rootPath,
+                                                                      getClass().getClassLoader(),
+                                                                      filterHolder,
+                                                                      modelCache,
+                                                                      "signature2").loadModel();
+        for (DataObject dataObject : dataModelOriginal.getDataObjects()) {
+            DataModelerAssert.assertEqualsDataObject(dataObject,
+                                                     reloadedResult.getDataModel().getDataObject(dataObject.getClassName()));
+            assertNotSame(firstResult.getDataModel().getDataObject(dataObject.getClassName()),
+                          reloadedResult.getDataModel().getDataObject(dataObject.getClassName()));
+        }
+    }
+
     private void verifyErrorFilesWereDetected(ModelDriverResult result,
                                               org.uberfire.backend.vfs.Path... errorFiles) {
         assertEquals(result.getErrors().size(),
@@ -282,6 +353,41 @@ public class JavaRoasterModelDriverTest {
                                                  result.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"));
     }
 
+    @Test
+    public void loadModelForFileTest() throws ModelDriverException {
+        Path path = rootPath.resolve("package1").resolve("Pojo1.java");
+        JavaRoasterModelCache modelCache = new JavaRoasterModelCache();
+        JavaRoasterModelDriver javaRoasterModelDriver = new JavaRoasterModelDriver(ioService,
+                                                                                   rootPath,
+                                                                                   getClass().getClassLoader(),
+                                                                                   mock(FilterHolder.class),
+                                                                                   modelCache,
+                                                                                   "signature1");
+        ModelDriverResult result = javaRoasterModelDriver.loadModel(path);
+        assertFalse(result.hasErrors());
+        assertEquals(1,
+                     result.getDataModel().getDataObjects().size());
+        DataModelerAssert.assertEqualsDataObject(createPojo1(),
+                                                 result.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"));
+
+        //the file is not parsed again while unchanged.
+        ModelDriverResult cachedResult = javaRoasterModelDriver.loadModel(path);
+        assertSame(result.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"),
+                   cachedResult.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"));
+
+        //but it is when the module files have changed since the previous load, as in a full load.
+        ModelDriverResult reloadedResult = new JavaRoasterModelDriver(ioService,
+                                                                      rootPath.resolve("package1"),
+                                                                      getClass().getClassLoader(),
+                                                                      mock(FilterHolder.class),
+                                                                      modelCache,
+                                                                      "signature1").loadModel(path);
+        DataModelerAssert.assertEqualsDataObject(createPojo1(),
+                                                 reloadedResult.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"));
+        assertNotSame(result.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"),
+                      reloadedResult.getDataModel().getDataObject("org.kie.workbench.common.services.datamodeller.driver.package1.Pojo1"));
+    }
+
     @Test
     public void loadDataObjectWithFailures() throws ModelDriverException {
         Path errorFile1 = rootPath.resolve(ERROR_FILE1);
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.net.URI;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JavaRoasterModelCacheTest {
+
+    private static final String HASH = "hash1";
+
+    private JavaRoasterModelCache modelCache;
+
+    private Path file;
+
+    private ModelDriverResult result;
+
+    @Before
+    public void setUp() {
+        modelCache = new JavaRoasterModelCache();
+        file = mock(Path.class);
+        when(file.toUri()).thenReturn(URI.create("default://master@repo/module/src/main/java/Pojo1.java"));
+        result = new ModelDriverResult();
+    }
+
+    @Test
+    public void testResultsAreKeptWhileUnchanged() {
+        final long generation = modelCache.validate(Collections.singletonList(file),
+                                                    "signature1");
+        modelCache.put(file,
+                       HASH,
+                       generation,
+                       result);
+
+        assertEquals(generation,
+                     modelCache.validate(Collections.singletonList(file),
+                                         "signature1"));
+        assertSame(result,
+                   modelCache.get(file,
+                                  HASH,
+                                  generation));
+        assertNull(modelCache.get(file,
+                                  "hash2",
+                                  generation));
+    }
+
+    @Test
+    public void testResultsOfAStaleLoadAreRejected() {
+        final long staleGeneration = modelCache.validate(Collections.singletonList(file),
+                                                         "signature1");
+        final long generation = modelCache.validate(Collections.singletonList(file),
+                                                    "signature2");
+        assertNotEquals(staleGeneration,
+                        generation);
+
+        //a load that started under the previous signature finishes after the change.
+        modelCache.put(file,
+                       HASH,
+                       staleGeneration,
+                       result);
+
+        assertEquals(0,
+                     modelCache.size());
+        assertNull(modelCache.get(file,
+                                  HASH,
+                                  generation));
+    }
+
+    @Test
+    public void testResultsOfAPreviousGenerationAreNotServed() {
+        final long staleGeneration = modelCache.validate(Collections.singletonList(file),
+                                                         "signature1");
+        modelCache.put(file,
+                       HASH,
+                       staleGeneration,
+                       result);
+
+        modelCache.clear();
+
+        assertNull(modelCache.get(file,
+                                  HASH,
+                                  staleGeneration));
+    }
+}
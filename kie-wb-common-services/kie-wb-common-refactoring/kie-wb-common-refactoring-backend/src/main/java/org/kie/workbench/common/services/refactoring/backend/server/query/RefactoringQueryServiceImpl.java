@@ -23,9 +23,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.function.IntFunction;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -107,16 +105,21 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Sort sort = namedQuery.getSortOrder();
 
         try {
-            List<KObject> found = config.getIndexProvider().findByQuery(Collections.EMPTY_LIST,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (request.distinctResults()) {
-                found = distinct(found);
+            if (!Boolean.TRUE.equals(request.distinctResults())) {
+                //Counted by the index, no document is loaded
+                return (int) config.getIndexProvider().findHitsByQuery(Collections.emptyList(),
+                                                                       query);
             }
 
-            return found.size();
+            //Duplicates can only be told apart by their stored fields
+            return (int) config.getIndexProvider().findByQuery(Collections.emptyList(),
+                                                               query,
+                                                               sort,
+                                                               0)
+                    .stream()
+                    .map(RefactoringQueryServiceImpl::generateUniqueIdentifierForKObject)
+                    .distinct()
+                    .count();
         } catch (final Exception ex) {
             String message = "Error during Query!";
             logger.error(message,
@@ -166,12 +169,9 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         List<KObject> kObjects
                 = search(query,
                          sort,
-                         () -> (startIndex),
-                         // start index of docs to get
-                         (numHits) -> (numHits - startIndex > pageSize ? pageSize : numHits - startIndex),
-                         request.distinctResults()
-                         // num docs to add to response
-        );
+                         startIndex,
+                         pageSize,
+                         Boolean.TRUE.equals(request.distinctResults()));
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -202,12 +202,9 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final List<KObject> kObjects
                 = search(query,
                          sort,
-                         () -> (0),
-                         // start index of docs to get
-                         (numHits) -> (numHits),
-                         false
-                         // num docs to add to response
-        );
+                         0,
+                         0,
+                         false);
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -217,10 +214,15 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
+    /**
+     * Only the documents up to the end of the requested page are loaded from the index. When the results have to be
+     * distinct the window is doubled until it holds enough distinct documents or the index has no more hits.
+     * @param pageSize Number of documents to return, 0 for all of them
+     */
     private List<KObject> search(final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
+                                 final int startIndex,
+                                 final int pageSize,
                                  final boolean distinct,
                                  final ClusterSegment... clusterSegments) {
 
@@ -229,19 +231,27 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
                     .map(clusterSegment -> clusterSegment.getClusterId())
                     .collect(Collectors.toList());
 
-            List<KObject> found = config.getIndexProvider().findByQuery(indices,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (distinct) {
-                found = distinct(found);
+            final int endIndex = pageSize > 0 ? startIndex + pageSize : 0;
+            int limit = endIndex;
+            while (true) {
+                List<KObject> found = config.getIndexProvider().findByQuery(indices,
+                                                                            query,
+                                                                            sort,
+                                                                            limit);
+                final boolean exhausted = limit == 0 || found.size() < limit;
+
+                if (distinct) {
+                    found = distinct(found);
+                }
+                if (exhausted || found.size() >= endIndex || limit >= Integer.MAX_VALUE / 2) {
+                    final int toIndex = endIndex > 0 ? Math.min(endIndex,
+                                                                found.size()) : found.size();
+                    return found.subList(Math.min(startIndex,
+                                                  toIndex),
+                                         toIndex);
+                }
+                limit = limit * 2;
             }
-            final int startIndex = startIndexSupplier.get();
-            final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(found.size());
-
-            return found.subList(startIndex,
-                                 startIndex + numOfHitsToReturn);
         } catch (
                 final Exception ex)
 
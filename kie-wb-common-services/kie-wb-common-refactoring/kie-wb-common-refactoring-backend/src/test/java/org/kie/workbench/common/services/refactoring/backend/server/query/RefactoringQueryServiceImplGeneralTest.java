@@ -18,10 +18,12 @@ package org.kie.workbench.common.services.refactoring.backend.server.query;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.search.Query;
 import org.junit.Test;
 import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
 import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
@@ -30,6 +32,15 @@ import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlF
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourceReferencesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm.TermSearchType;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.paging.PageResponse;
 
 import static org.junit.Assert.*;
 
@@ -55,6 +66,64 @@ public class RefactoringQueryServiceImplGeneralTest extends BaseIndexingTest<Tes
         assertTrue(queryNames.contains("FindResourceReferencesQuery"));
     }
 
+    @Test
+    public void testHitCountIsTheIndexCount() throws IOException, InterruptedException {
+        final Path[] paths = {
+                basePath.resolve("drl1.drl"),
+                basePath.resolve("drl2.drl"),
+                basePath.resolve("drl3.drl"),
+                basePath.resolve("functions.drl")
+        };
+        final String[] content = {
+                loadText("findresources/drl1.drl"),
+                loadText("findresources/drl2.drl"),
+                loadText("findresources/drl3.drl"),
+                loadText("findresources/functions.drl")
+        };
+        for (int i = 0; i < paths.length; ++i) {
+            ioService().write(paths[i],
+                              content[i]);
+        }
+
+        Thread.sleep(5000); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final Set<ValueIndexTerm> terms = new HashSet<ValueIndexTerm>() {{
+            add(new ValueReferenceIndexTerm("org.kie.workbench.common.services.refactoring.backend.server.drl.classes",
+                                            ResourceType.JAVA,
+                                            TermSearchType.PREFIX));
+        }};
+        final FindResourceReferencesQuery namedQuery = new FindResourceReferencesQuery();
+        final Query query = namedQuery.toQuery(terms);
+        final long indexHits = getConfig().getIndexProvider().findHitsByQuery(Collections.emptyList(),
+                                                                              query);
+        final List<KObject> indexDocuments = getConfig().getIndexProvider().findByQuery(Collections.emptyList(),
+                                                                                        query,
+                                                                                        namedQuery.getSortOrder(),
+                                                                                        0);
+
+        //Not distinct, the hits are counted by the index
+        final int hitCount = service.queryHitCount(new RefactoringPageRequest(FindResourceReferencesQuery.NAME,
+                                                                              terms,
+                                                                              0,
+                                                                              10,
+                                                                              false));
+        assertEquals(3,
+                     hitCount);
+        assertEquals(indexHits,
+                     hitCount);
+        assertEquals(indexDocuments.size(),
+                     hitCount);
+
+        //Only the requested page is returned
+        final PageResponse<RefactoringPageRow> page = service.query(new RefactoringPageRequest(FindResourceReferencesQuery.NAME,
+                                                                                               terms,
+                                                                                               1,
+                                                                                               1,
+                                                                                               false));
+        assertEquals(1,
+                     page.getPageRowList().size());
+    }
+
     @Override
     protected TestIndexer getIndexer() {
         return new TestDrlFileIndexer();
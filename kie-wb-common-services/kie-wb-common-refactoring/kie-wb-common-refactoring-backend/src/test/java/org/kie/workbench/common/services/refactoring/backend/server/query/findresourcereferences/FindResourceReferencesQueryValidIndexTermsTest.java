@@ -35,6 +35,7 @@ import org.kie.workbench.common.services.refactoring.model.index.terms.valueterm
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 
@@ -203,6 +204,75 @@ public class FindResourceReferencesQueryValidIndexTermsTest
         }
     }
 
+    @Test
+    public void testFindResourceReferencesQueryHitCountAndPaging() throws IOException, InterruptedException {
+        //Add test files
+        final Path [] paths = {
+                basePath.resolve( "drl1.drl" ),
+                basePath.resolve( "drl2.drl" ),
+                basePath.resolve( "drl3.drl" ),
+                basePath.resolve( "functions.drl" )
+        };
+
+        final String [] content = {
+                loadText( "../findresources/drl1.drl" ),
+                loadText( "../findresources/drl2.drl" ),
+                loadText( "../findresources/drl3.drl" ),
+                loadText( "../findresources/functions.drl" )
+        };
+
+        for( int i = 0; i < paths.length; ++i ) {
+            ioService().write( paths[i], content[i] );
+        }
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final int hits = 3;
+        final Set<ValueIndexTerm> queryTerms = new HashSet<ValueIndexTerm>() {{
+            add( new ValueReferenceIndexTerm(
+                    "org.kie.workbench.common.services.refactoring.backend.server.drl.classes",
+                    ResourceType.JAVA,
+                    TermSearchType.PREFIX) );
+        }};
+
+        assertEquals( hits,
+                      service.queryHitCount( new RefactoringPageRequest( FindResourceReferencesQuery.NAME,
+                                                                         queryTerms,
+                                                                         0,
+                                                                         null ) ) );
+        assertEquals( hits,
+                      service.queryHitCount( new RefactoringPageRequest( FindResourceReferencesQuery.NAME,
+                                                                         queryTerms,
+                                                                         0,
+                                                                         null,
+                                                                         Boolean.TRUE ) ) );
+
+        final Set<Path> pagedPaths = new HashSet<Path>();
+        for ( int startIndex = 0; startIndex < hits; startIndex += 2 ) {
+            final PageResponse<RefactoringPageRow> response = service.query( new RefactoringPageRequest( FindResourceReferencesQuery.NAME,
+                                                                                                         queryTerms,
+                                                                                                         startIndex,
+                                                                                                         2,
+                                                                                                         Boolean.TRUE ) );
+            assertNotNull( response );
+            assertEquals( Math.min( 2,
+                                    hits - startIndex ),
+                          response.getPageRowList().size() );
+            for ( RefactoringPageRow row : response.getPageRowList() ) {
+                pagedPaths.add( Paths.convert( (org.uberfire.backend.vfs.Path) row.getValue() ) );
+            }
+        }
+        assertEquals( hits,
+                      pagedPaths.size() );
+
+        final PageResponse<RefactoringPageRow> response = service.query( new RefactoringPageRequest( FindResourceReferencesQuery.NAME,
+                                                                                                     queryTerms,
+                                                                                                     4,
+                                                                                                     2 ) );
+        assertEquals( 0,
+                      response.getPageRowList().size() );
+    }
+
 
     @Override
     protected TestIndexer getIndexer() {
@@ -17,6 +17,8 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.text.MessageFormat;
@@ -24,11 +26,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import org.apache.commons.io.IOUtils;
 import org.appformer.maven.support.DependencyFilter;
 import org.appformer.maven.support.PomModel;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
@@ -110,7 +118,15 @@ public class Builder implements Serializable {
     private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
     private final Set<String> javaResources = new HashSet<String>();
     private final Predicate<String> classFilter;
-    private KieBuilder kieBuilder;
+    private final ForkJoinPool verificationPool;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    //The incremental builds update the KieModule of the published KieBuilder in place while holding the write lock,
+    //the readers hold the read lock. A full build compiles a new KieBuilder without it, readers aren't blocked
+    private final ReentrantReadWriteLock moduleLock = new ReentrantReadWriteLock();
+    private final Map<Path, PendingChange> pendingChanges = new LinkedHashMap<Path, PendingChange>();
+    //Guarded by pendingChanges, the incremental changes are queued only while it's set
+    private boolean fullBuildInProgress = false;
+    private volatile KieBuilder kieBuilder;
     private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
@@ -124,6 +140,7 @@ public class Builder implements Serializable {
                    final LRUPomModelCache pomModelCache,
                    final PackageNameWhiteListService packageNameWhiteListService,
                    final Predicate<String> classFilter,
+                   final ForkJoinPool verificationPool,
                    final KieBuilder kieBuilder,
                    final KieFileSystem kieFileSystem) {
         this.project = project;
@@ -133,6 +150,7 @@ public class Builder implements Serializable {
         this.buildValidationHelpers = buildValidationHelpers;
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.classFilter = classFilter;
+        this.verificationPool = verificationPool;
 
         this.projectGAV = project.getPom().getGav();
         this.projectRoot = Paths.convert(project.getRootPath());
@@ -165,13 +183,47 @@ public class Builder implements Serializable {
              pomModelCache,
              packageNameWhiteListService,
              classFilter,
+             null);
+    }
+
+    /**
+     * @param verificationPool pool used to verify the external classes in parallel, owned by the caller. When null
+     * the classes are verified in the building thread
+     */
+    public Builder(final Module project,
+                   final IOService ioService,
+                   final KieModuleService moduleService,
+                   final ProjectImportsService importsService,
+                   final List<BuildValidationHelper> buildValidationHelpers,
+                   final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                   final LRUPomModelCache pomModelCache,
+                   final PackageNameWhiteListService packageNameWhiteListService,
+                   final Predicate<String> classFilter,
+                   final ForkJoinPool verificationPool) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             verificationPool,
              null,
              KieServices.Factory.get().newKieFileSystem());
     }
 
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone(kieFileSystemClone);
+        final KieFileSystem kieFileSystemClone;
+        final KieBuilderImpl kieBuilder;
+        buildLock.lock();
+        try {
+            kieFileSystemClone = kieFileSystemClone();
+            kieBuilder = kieBuilderClone(kieFileSystemClone);
+        } finally {
+            buildLock.unlock();
+        }
 
         return new Builder(project,
                            ioService,
@@ -182,6 +234,7 @@ public class Builder implements Serializable {
                            pomModelCache,
                            packageNameWhiteListService,
                            classFilter,
+                           verificationPool,
                            kieBuilder,
                            kieFileSystemClone);
     }
@@ -202,36 +255,59 @@ public class Builder implements Serializable {
         return kieBuilder;
     }
 
+    /**
+     * Readers keep getting the KieModule of the last completed build while a full build is running,
+     * the incremental changes received in the meantime are queued and applied by this build before it completes,
+     * their messages are part of its results.
+     */
     public BuildResults build() {
         final BuildResults results = new BuildResults(projectGAV);
-        synchronized (kieFileSystem) {
+        final List<BuildMessage> kieMessages = new ArrayList<BuildMessage>();
+        final IncrementalBuildResults pendingResults = new IncrementalBuildResults(projectGAV);
+        buildLock.lock();
+        try {
+            synchronized (pendingChanges) {
+                fullBuildInProgress = true;
+            }
             //KieBuilder is not re-usable for successive "full" builds
-            kieBuilder = createKieBuilder(kieFileSystem);
+            final KieBuilder newKieBuilder = createKieBuilder(kieFileSystem);
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             try {
-                final Results kieResults = ((InternalKieBuilder) kieBuilder).buildAll(classFilter).getResults();
-                results.addAllBuildMessages(convertMessages(kieResults.getMessages(),
-                                                            handles));
+                final Results kieResults = ((InternalKieBuilder) newKieBuilder).buildAll(classFilter).getResults();
+                kieMessages.addAll(convertMessages(kieResults.getMessages(),
+                                                   handles));
             } catch (LinkageError e) {
                 final String msg = MessageFormat.format(ERROR_CLASS_NOT_FOUND,
                                                         e.getLocalizedMessage());
                 logger.warn(msg);
-                results.addBuildMessage(makeWarningMessage(msg));
+                kieMessages.add(makeWarningMessage(msg));
             } catch (Throwable e) {
                 final String msg = e.getLocalizedMessage();
                 logger.error(msg,
                              e);
-                results.addBuildMessage(makeErrorMessage(msg));
+                kieMessages.add(makeErrorMessage(msg));
             } finally {
-                final PomModel pomModel = ((KieBuilderImpl) kieBuilder).getPomModel();
+                kieBuilder = newKieBuilder;
+                final PomModel pomModel = ((KieBuilderImpl) newKieBuilder).getPomModel();
                 if (pomModel != null) {
                     pomModelCache.setEntry(project,
                                            pomModel);
                 }
             }
+            drainPendingChanges(pendingResults);
+        } finally {
+            synchronized (pendingChanges) {
+                fullBuildInProgress = false;
+            }
+            buildLock.unlock();
         }
 
+        //Messages of the changes received during the build
+        kieMessages.removeAll(pendingResults.getRemovedMessages());
+        kieMessages.addAll(pendingResults.getAddedMessages());
+        results.addAllBuildMessages(kieMessages);
+
         //Add validate messages from external helpers
         for (Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet()) {
             final org.uberfire.backend.vfs.Path vfsPath = Paths.convert(e.getKey());
@@ -273,15 +349,18 @@ public class Builder implements Serializable {
 
     public BuildResults build(final Path resource,
                               final InputStream inputStream) {
-        synchronized (kieFileSystem) {
+        buildLock.lock();
+        try {
             final String destinationPath = destinationPath(resource);
             final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource(new BufferedInputStream(inputStream));
 
             kieFileSystem.write(destinationPath,
                                 inputStreamResource);
-        }
 
-        return build();
+            return build();
+        } finally {
+            buildLock.unlock();
+        }
     }
 
     private List<BuildMessage> verifyClasses(final KieModuleMetaData kieModuleMetaData) {
@@ -289,7 +368,8 @@ public class Builder implements Serializable {
         // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
         // X references another external class Y, Y is also accessible by the class loader.
         return new ClassVerifier(kieModuleMetaData,
-                                 getTypeSourceResolver(kieModuleMetaData)).verify(getWhiteList(kieModuleMetaData));
+                                 getTypeSourceResolver(kieModuleMetaData),
+                                 verificationPool).verify(getWhiteList(kieModuleMetaData));
     }
 
     private WhiteList getWhiteList(final KieModuleMetaData kieModuleMetaData) {
@@ -333,26 +413,35 @@ public class Builder implements Serializable {
 
         checkAFullBuildHasBeenPerformed();
 
-        //Resource Type might require "external" validation (i.e. it's not covered by Kie)
         final IncrementalBuildResults results = new IncrementalBuildResults(projectGAV);
-        final BuildValidationHelper validator = getBuildValidationHelper(resource);
-        if (validator != null) {
-            final List<ValidationMessage> addedValidationMessages = validator.validate(Paths.convert(resource));
-
-            results.addAllAddedMessages(convertValidationMessages(addedValidationMessages));
-            results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidationHelperMessages.remove(resource)));
-
-            nonKieResourceValidationHelpers.put(resource,
-                                                validator);
-            nonKieResourceValidationHelperMessages.put(resource,
-                                                       addedValidationMessages);
+        if (queueChangeDuringFullBuild(resource,
+                                       () -> new PendingChange(ResourceChangeType.UPDATE,
+                                                               readContent(inputStream)))) {
+            return results;
         }
+        buildLock.lock();
+        try {
+            //Resource Type might require "external" validation (i.e. it's not covered by Kie)
+            final BuildValidationHelper validator = getBuildValidationHelper(resource);
+            if (validator != null) {
+                final List<ValidationMessage> addedValidationMessages = validator.validate(Paths.convert(resource));
+
+                results.addAllAddedMessages(convertValidationMessages(addedValidationMessages));
+                results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidationHelperMessages.remove(resource)));
+
+                nonKieResourceValidationHelpers.put(resource,
+                                                    validator);
+                nonKieResourceValidationHelperMessages.put(resource,
+                                                           addedValidationMessages);
+            }
 
-        synchronized (kieFileSystem) {
+            discardPendingChange(resource);
             addNewResource(resource,
                            inputStream);
             buildIncrementally(results,
                                destinationPath(resource));
+        } finally {
+            buildLock.unlock();
         }
 
         return results;
@@ -376,18 +465,27 @@ public class Builder implements Serializable {
 
         checkAFullBuildHasBeenPerformed();
 
-        //Resource Type might have been validated "externally" (i.e. it's not covered by Kie). Clear any errors.
         final IncrementalBuildResults results = new IncrementalBuildResults(projectGAV);
-        final BuildValidationHelper validator = getBuildValidationHelper(resource);
-        if (validator != null) {
-            nonKieResourceValidationHelpers.remove(resource);
-            results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidationHelperMessages.remove(resource)));
+        if (queueChangeDuringFullBuild(resource,
+                                       () -> new PendingChange(ResourceChangeType.DELETE,
+                                                               null))) {
+            return results;
         }
+        buildLock.lock();
+        try {
+            //Resource Type might have been validated "externally" (i.e. it's not covered by Kie). Clear any errors.
+            final BuildValidationHelper validator = getBuildValidationHelper(resource);
+            if (validator != null) {
+                nonKieResourceValidationHelpers.remove(resource);
+                results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidationHelperMessages.remove(resource)));
+            }
 
-        synchronized (kieFileSystem) {
+            discardPendingChange(resource);
             removeResource(resource);
             buildIncrementally(results,
                                destinationPath(resource));
+        } finally {
+            buildLock.unlock();
         }
 
         return results;
@@ -432,7 +530,11 @@ public class Builder implements Serializable {
         final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
         final IncrementalBuildResults results = new IncrementalBuildResults(projectGAV);
 
-        synchronized (kieFileSystem) {
+        if (queueChangesDuringFullBuild(changes)) {
+            return results;
+        }
+        buildLock.lock();
+        try {
             for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet()) {
                 for (final ResourceChange change : pathCollectionEntry.getValue()) {
                     final ResourceChangeType type = change.getType();
@@ -445,6 +547,7 @@ public class Builder implements Serializable {
 
                     final String destinationPath = destinationPath(resource);
                     changedFilesKieBuilderPaths.add(destinationPath);
+                    discardPendingChange(resource);
                     switch (type) {
                         case ADD:
                         case UPDATE:
@@ -455,7 +558,8 @@ public class Builder implements Serializable {
 
                             update(nonKieResourceValidatorAddedMessages,
                                    nonKieResourceValidatorRemovedMessages,
-                                   resource);
+                                   resource,
+                                   ioService.newInputStream(resource));
 
                             break;
                         case DELETE:
@@ -468,6 +572,8 @@ public class Builder implements Serializable {
             //Perform the Incremental build and get messages from incremental build
             buildIncrementally(results,
                                toArray(changedFilesKieBuilderPaths));
+        } finally {
+            buildLock.unlock();
         }
 
         //Copy in BuildMessages for non-KIE resources
@@ -485,7 +591,8 @@ public class Builder implements Serializable {
 
     private void update(final List<ValidationMessage> nonKieResourceValidatorAddedMessages,
                         final List<ValidationMessage> nonKieResourceValidatorRemovedMessages,
-                        final Path resource) {
+                        final Path resource,
+                        final InputStream inputStream) {
         //Resource Type might require "external" validation (i.e. it's not covered by Kie)
         final BuildValidationHelper validator = getBuildValidationHelper(resource);
         if (validator != null) {
@@ -510,7 +617,7 @@ public class Builder implements Serializable {
         }
 
         addNewResource(resource,
-                       ioService.newInputStream(resource));
+                       inputStream);
     }
 
     private void delete(final List<ValidationMessage> nonKieResourceValidatorRemovedMessages,
@@ -530,7 +637,13 @@ public class Builder implements Serializable {
     private void buildIncrementally(final IncrementalBuildResults results,
                                     final String... destinationPath) {
         try {
-            final IncrementalResults incrementalResults = ((InternalKieBuilder) kieBuilder).createFileSet(destinationPath).build();
+            final IncrementalResults incrementalResults;
+            moduleLock.writeLock().lock();
+            try {
+                incrementalResults = ((InternalKieBuilder) kieBuilder).createFileSet(destinationPath).build();
+            } finally {
+                moduleLock.writeLock().unlock();
+            }
             results.addAllAddedMessages(convertMessages(incrementalResults.getAddedMessages(),
                                                         handles));
             results.addAllRemovedMessages(convertMessages(incrementalResults.getRemovedMessages(),
@@ -553,6 +666,113 @@ public class Builder implements Serializable {
         }
     }
 
+    /**
+     * Queues the change if a full build is running, it will be applied by that build
+     * @return false if no full build is running and the change must be applied by the caller
+     */
+    private boolean queueChangeDuringFullBuild(final Path resource,
+                                               final Supplier<PendingChange> change) {
+        synchronized (pendingChanges) {
+            if (!fullBuildInProgress) {
+                return false;
+            }
+            queueChange(resource,
+                        change.get());
+            return true;
+        }
+    }
+
+    private boolean queueChangesDuringFullBuild(final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes) {
+        synchronized (pendingChanges) {
+            if (!fullBuildInProgress) {
+                return false;
+            }
+            for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet()) {
+                for (final ResourceChange change : pathCollectionEntry.getValue()) {
+                    checkNotNull("type",
+                                 change.getType());
+                    queueChange(Paths.convert(pathCollectionEntry.getKey()),
+                                new PendingChange(change.getType() == ResourceChangeType.DELETE ? ResourceChangeType.DELETE : ResourceChangeType.UPDATE,
+                                                  null));
+                }
+            }
+            return true;
+        }
+    }
+
+    private void queueChange(final Path resource,
+                             final PendingChange change) {
+        synchronized (pendingChanges) {
+            //Only the last change of a resource matters
+            pendingChanges.remove(resource);
+            pendingChanges.put(resource,
+                               change);
+        }
+    }
+
+    /**
+     * Discards a queued change superseded by the one being applied
+     */
+    private void discardPendingChange(final Path resource) {
+        synchronized (pendingChanges) {
+            pendingChanges.remove(resource);
+        }
+    }
+
+    /**
+     * Applies the changes queued during the full build until none is left, then ends the full build so that
+     * the next changes are applied by their callers. The build lock must be held.
+     */
+    private void drainPendingChanges(final IncrementalBuildResults results) {
+        while (true) {
+            final Map<Path, PendingChange> changes;
+            synchronized (pendingChanges) {
+                if (pendingChanges.isEmpty()) {
+                    fullBuildInProgress = false;
+                    return;
+                }
+                changes = new LinkedHashMap<Path, PendingChange>(pendingChanges);
+                pendingChanges.clear();
+            }
+            applyChanges(changes,
+                         results);
+        }
+    }
+
+    private void applyChanges(final Map<Path, PendingChange> changes,
+                              final IncrementalBuildResults results) {
+        final List<String> changedFilesKieBuilderPaths = new ArrayList<String>();
+        final List<ValidationMessage> nonKieResourceValidatorAddedMessages = new ArrayList<ValidationMessage>();
+        final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
+        for (final Map.Entry<Path, PendingChange> entry : changes.entrySet()) {
+            final Path resource = entry.getKey();
+            changedFilesKieBuilderPaths.add(destinationPath(resource));
+            if (entry.getValue().getType() == ResourceChangeType.DELETE) {
+                delete(nonKieResourceValidatorRemovedMessages,
+                       resource);
+            } else if (Files.isRegularFile(resource)) {
+                final byte[] content = entry.getValue().getContent();
+                update(nonKieResourceValidatorAddedMessages,
+                       nonKieResourceValidatorRemovedMessages,
+                       resource,
+                       content != null ? new ByteArrayInputStream(content) : ioService.newInputStream(resource));
+            }
+        }
+        buildIncrementally(results,
+                           toArray(changedFilesKieBuilderPaths));
+
+        results.addAllAddedMessages(convertValidationMessages(nonKieResourceValidatorAddedMessages));
+        results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidatorRemovedMessages));
+    }
+
+    private byte[] readContent(final InputStream inputStream) {
+        try (InputStream in = inputStream) {
+            return IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void checkAFullBuildHasBeenPerformed() {
         if (!isBuilt()) {
             throw new IllegalStateException("A full build needs to be performed before any incremental operations.");
@@ -564,8 +784,11 @@ public class Builder implements Serializable {
         if (!isBuilt()) {
             build();
         }
-        synchronized (kieFileSystem) {
+        moduleLock.readLock().lock();
+        try {
             return kieBuilder.getKieModule();
+        } finally {
+            moduleLock.readLock().unlock();
         }
     }
 
@@ -574,8 +797,11 @@ public class Builder implements Serializable {
         if (!isBuilt()) {
             build();
         }
-        synchronized (kieFileSystem) {
+        moduleLock.readLock().lock();
+        try {
             return ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+        } finally {
+            moduleLock.readLock().unlock();
         }
     }
 
@@ -595,27 +821,34 @@ public class Builder implements Serializable {
         //Kie classes are only available once built
         if (!isBuilt()) {
             results = build();
-        } else {
-            results = new BuildResults();
-            results.addAllBuildMessages(convertMessages(kieBuilder.getResults().getMessages(),
-                                                        handles));
         }
-        //It's impossible to retrieve a KieContainer if the KieModule contains errors
-        if (results.getErrorMessages().isEmpty()) {
-            // Do not retrieve the KieContainer with KieServices.newKieContainer(releaseId) since this looks-up the KieModule to
-            // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
-            // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
-            // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
-            final org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
-            final ReleaseId releaseId = kieModule.getReleaseId();
-            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieBuilder.getKieModule(),
-                                                                                                       null);
-            final KieContainer kieContainer = new KieContainerImpl(kieProject,
-                                                                   KieServices.Factory.get().getRepository(),
-                                                                   releaseId);
-            return kieContainer;
-        } else {
-            return null;
+        moduleLock.readLock().lock();
+        try {
+            final KieBuilder kieBuilder = this.kieBuilder;
+            if (results == null) {
+                results = new BuildResults();
+                results.addAllBuildMessages(convertMessages(kieBuilder.getResults().getMessages(),
+                                                            handles));
+            }
+            //It's impossible to retrieve a KieContainer if the KieModule contains errors
+            if (results.getErrorMessages().isEmpty()) {
+                // Do not retrieve the KieContainer with KieServices.newKieContainer(releaseId) since this looks-up the KieModule to
+                // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
+                // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
+                // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
+                final org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
+                final ReleaseId releaseId = kieModule.getReleaseId();
+                final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieModule,
+                                                                                                           null);
+                final KieContainer kieContainer = new KieContainerImpl(kieProject,
+                                                                       KieServices.Factory.get().getRepository(),
+                                                                       releaseId);
+                return kieContainer;
+            } else {
+                return null;
+            }
+        } finally {
+            moduleLock.readLock().unlock();
         }
     }
 
@@ -689,4 +922,24 @@ public class Builder implements Serializable {
     KieFileSystem getKieFileSystem() {
         return kieFileSystem;
     }
+
+    private static class PendingChange implements Serializable {
+
+        private final ResourceChangeType type;
+        private final byte[] content;
+
+        PendingChange(final ResourceChangeType type,
+                      final byte[] content) {
+            this.type = type;
+            this.content = content;
+        }
+
+        ResourceChangeType getType() {
+            return type;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+    }
 }
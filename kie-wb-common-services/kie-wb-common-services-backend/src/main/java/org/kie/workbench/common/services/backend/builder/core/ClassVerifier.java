@@ -15,13 +15,28 @@
  */
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.backend.compiler.impl.classloader.DependenciesClassLoaderCache;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,32 +50,112 @@ public class ClassVerifier {
     private final static String ERROR_EXTERNAL_CLASS_VERIFICATION = "Verification of class {0} failed and will not be available for authoring.\n" +
             "Underlying system error is: {1}. Please check the necessary external dependencies for this project are configured correctly.";
 
+    private static final int MAX_VERIFIED_DEPENDENCIES = 32;
+
+    /**
+     * External classes verified without errors, by dependencies of the module (the artifacts with their checksums)
+     */
+    private static final Map<String, Set<String>> verifiedClasses = Collections.synchronizedMap(new LinkedHashMap<String, Set<String>>(16,
+                                                                                                                                        0.75f,
+                                                                                                                                        true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Set<String>> eldest) {
+            return size() > MAX_VERIFIED_DEPENDENCIES;
+        }
+    });
+
     private final TypeSourceResolver typeSourceResolver;
     private final KieModuleMetaData kieModuleMetaData;
+    private final ForkJoinPool verificationPool;
 
     private final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
 
+    private long verificationTime;
+
     public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
                          final TypeSourceResolver typeSourceResolver) {
+        this(kieModuleMetaData,
+             typeSourceResolver,
+             null);
+    }
+
+    /**
+     * @param verificationPool pool used to verify the classes in parallel, owned by the caller. When null the classes
+     * are verified in the calling thread
+     */
+    public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
+                         final TypeSourceResolver typeSourceResolver,
+                         final ForkJoinPool verificationPool) {
         this.kieModuleMetaData = kieModuleMetaData;
         this.typeSourceResolver = typeSourceResolver;
+        this.verificationPool = verificationPool;
     }
 
     public List<BuildMessage> verify(WhiteList whiteList) {
+        final long start = System.currentTimeMillis();
+        final Set<String> verified = getVerifiedClasses();
 
+        final List<String[]> classes = new ArrayList<>();
         for (final String packageName : kieModuleMetaData.getPackages()) {
             if (whiteList.contains(packageName)) {
                 for (final String className : kieModuleMetaData.getClasses(packageName)) {
-                    verifyClass(packageName,
-                                className);
+                    if (!verified.contains(toFQCN(packageName, className))) {
+                        classes.add(new String[]{packageName, className});
+                    }
                 }
             }
         }
+
+        buildMessages.addAll(verifyClasses(classes,
+                                           verified));
+
+        verificationTime = System.currentTimeMillis() - start;
+        logger.debug("Verification of {} classes completed in {} ms",
+                     classes.size(),
+                     verificationTime);
         return buildMessages;
     }
 
-    private void verifyClass(final String packageName,
-                             final String className) {
+    /**
+     * @return the time in millis spent in the last verification
+     */
+    public long getVerificationTime() {
+        return verificationTime;
+    }
+
+    private List<BuildMessage> verifyClasses(final List<String[]> classes,
+                                             final Set<String> verified) {
+        if (verificationPool != null) {
+            try {
+                return verificationPool.submit(() -> verifyAll(classes.parallelStream(),
+                                                                   verified)).get();
+            } catch (RejectedExecutionException e) {
+                //the pool has been shut down, the application is being undeployed
+                logger.debug("Verification pool not available, verifying the classes in the calling thread");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        return verifyAll(classes.stream(),
+                             verified);
+    }
+
+    private List<BuildMessage> verifyAll(final Stream<String[]> classes,
+                                             final Set<String> verified) {
+        return classes.map(clazz -> verifyClass(clazz[0],
+                                                clazz[1],
+                                                verified))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<BuildMessage> verifyClass(final String packageName,
+                                               final String className,
+                                               final Set<String> verified) {
 
         try {
             final Class clazz = kieModuleMetaData.getClass(packageName,
@@ -68,11 +163,13 @@ public class ClassVerifier {
             if (clazz != null) {
                 if (TypeSource.JAVA_DEPENDENCY == typeSourceResolver.getTypeSource(clazz)) {
                     verifyExternalClass(clazz);
+                    verified.add(toFQCN(packageName, className));
                 }
             } else {
                 logger.warn(MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
                                                  toFQCN(packageName, className)));
             }
+            return Optional.empty();
         } catch (Throwable e) {
             final String msg = MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
                                                     toFQCN(packageName, className),
@@ -80,8 +177,22 @@ public class ClassVerifier {
 
             logger.warn(msg);
             logger.debug("This state is usually encountered when the Project references a class not on the classpath; e.g. in a Maven 'provided' scope or 'optional' dependency.", e);
-            buildMessages.add(makeWarningMessage(msg));
+            return Optional.of(makeWarningMessage(msg));
+        }
+    }
+
+    /**
+     * The external classes don't change while the artifacts of the module are the same, so the successful verifications
+     * are shared by the builds of the modules with the same dependencies
+     */
+    private Set<String> getVerifiedClasses() {
+        final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+        if (classLoader == null || !(classLoader.getParent() instanceof URLClassLoader)) {
+            return ConcurrentHashMap.newKeySet();
         }
+        final List<URL> dependencies = Arrays.asList(((URLClassLoader) classLoader.getParent()).getURLs());
+        return verifiedClasses.computeIfAbsent(DependenciesClassLoaderCache.getInstance().getKey(dependencies),
+                                               key -> ConcurrentHashMap.newKeySet());
     }
 
     private String toFQCN(final String packageName,
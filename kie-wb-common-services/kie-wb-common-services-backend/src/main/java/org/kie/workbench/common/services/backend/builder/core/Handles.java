@@ -15,8 +15,8 @@
 
 package org.kie.workbench.common.services.backend.builder.core;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.uberfire.backend.vfs.Path;
 
@@ -24,7 +24,8 @@ class Handles {
 
     public final static String RESOURCE_PATH = "src/main/resources";
 
-    private Map<String, Path> handles = new HashMap<String, Path>();
+    //Read by the KieContainer readers while the builds update it
+    private Map<String, Path> handles = new ConcurrentHashMap<String, Path>();
 
     void put(String baseFileName, Path path) {
         handles.put(baseFileName, path);
@@ -17,6 +17,7 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -49,6 +50,11 @@ import static java.util.stream.StreamSupport.stream;
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Module, Builder> {
 
+    /**
+     * Number of threads used to verify the external classes of the builds, 0 verifies them in the building thread
+     */
+    static final String VERIFICATION_PARALLELISM = "org.kie.build.verification.parallelism";
+
     private final List<BuildValidationHelper> buildValidationHelpers = new ArrayList<>();
     private final List<Predicate<String>> classFilters = new ArrayList<>();
     private IOService ioService;
@@ -59,6 +65,7 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListServiceImpl packageNameWhiteListService;
     private Instance<Predicate<String>> classFilterBeans;
+    private ForkJoinPool verificationPool;
 
     public LRUBuilderCache() {
         //CDI proxy
@@ -89,12 +96,21 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                false).collect(toCollection(() -> buildValidationHelpers));
         stream(classFilterBeans.spliterator(),
                false).collect(toCollection(() -> classFilters));
+        final int parallelism = Integer.getInteger(VERIFICATION_PARALLELISM,
+                                                   Math.min(4,
+                                                            Runtime.getRuntime().availableProcessors()));
+        if (parallelism > 0) {
+            verificationPool = new ForkJoinPool(parallelism);
+        }
     }
 
     @PreDestroy
     public void destroyInstances() {
         buildValidationHelpers.forEach(helper -> buildValidationHelperBeans.destroy(helper));
         classFilters.forEach(filter -> classFilterBeans.destroy(filter));
+        if (verificationPool != null) {
+            verificationPool.shutdownNow();
+        }
     }
 
     public void invalidateProjectCache(@Observes final InvalidateDMOModuleCacheEvent event) {
@@ -137,7 +153,8 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                                   dependenciesClassLoaderCache,
                                   pomModelCache,
                                   packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
+                                  createSingleClassFilterPredicate(),
+                                  verificationPool);
 
             setEntry(module,
                      builder);
@@ -17,6 +17,11 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -25,6 +30,7 @@ import javax.inject.Named;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.backend.compiler.impl.classloader.DependenciesClassLoaderCache;
 import org.kie.workbench.common.services.shared.project.KieModule;
 
 @ApplicationScoped
@@ -33,6 +39,7 @@ public class LRUModuleDependenciesClassLoaderCache
         extends LRUCache<KieModule, ClassLoader> {
 
     private BuildInfoService buildInfoService;
+    private final Map<KieModule, ClassLoader> sharedClassLoaders = new HashMap<>();
 
     public LRUModuleDependenciesClassLoaderCache() {
     }
@@ -49,13 +56,25 @@ public class LRUModuleDependenciesClassLoaderCache
     public ClassLoader assertDependenciesClassLoader(final KieModule module) {
         ClassLoader classLoader = getEntry(module);
         if (classLoader == null) {
-            classLoader = buildClassLoader(module);
-            setEntry(module,
-                     classLoader);
+            classLoader = share(module,
+                                buildClassLoader(module));
         }
         return classLoader;
     }
 
+    /**
+     * Creates a ClassLoader delegating to the dependencies ClassLoader of the module. The dependencies ClassLoader
+     * stays open while the created ClassLoader is reachable, even if the module is evicted or invalidated meanwhile.
+     */
+    public synchronized ClassLoader newModuleClassLoader(final KieModule module,
+                                                         final Function<ClassLoader, ClassLoader> factory) {
+        final ClassLoader dependenciesClassLoader = assertDependenciesClassLoader(module);
+        final ClassLoader moduleClassLoader = factory.apply(dependenciesClassLoader);
+        DependenciesClassLoaderCache.getInstance().retain(dependenciesClassLoader,
+                                                          moduleClassLoader);
+        return moduleClassLoader;
+    }
+
     /**
      * This method and the subsequent caching was added for performance reasons, since the dependencies calculation and
      * module class loader calculation tends to be time consuming when we manage module with transitives dependencies.
@@ -83,8 +102,62 @@ public class LRUModuleDependenciesClassLoaderCache
 
     public void setDependenciesClassLoader(final KieModule module,
                                                         final ClassLoader classLoader) {
+        share(module,
+              classLoader);
+    }
+
+    @Override
+    public synchronized void invalidateCache() {
+        super.invalidateCache();
+        sharedClassLoaders.values().forEach(this::release);
+        sharedClassLoaders.clear();
+    }
+
+    @Override
+    public synchronized void invalidateCache(final KieModule module) {
+        super.invalidateCache(module);
+        release(sharedClassLoaders.remove(module));
+    }
+
+    /**
+     * The modules with the same dependencies share the same ClassLoader, the cache holds a reference to it while
+     * the module is in the cache and releases it on eviction, invalidation or replacement. The ClassLoader calculated
+     * by the KieModuleMetaData is left open, it's still referenced by the metadata and its callers.
+     */
+    private synchronized ClassLoader share(final KieModule module,
+                                           final ClassLoader classLoader) {
+        final DependenciesClassLoaderCache cache = DependenciesClassLoaderCache.getInstance();
+        ClassLoader dependenciesClassLoader = classLoader;
+        ClassLoader previous;
+        if (classLoader instanceof URLClassLoader && classLoader.getParent() == cache.getParent()) {
+            dependenciesClassLoader = cache.acquire(Arrays.asList(((URLClassLoader) classLoader).getURLs()));
+            previous = sharedClassLoaders.put(module,
+                                              dependenciesClassLoader);
+        } else {
+            previous = sharedClassLoaders.remove(module);
+        }
         setEntry(module,
-                 classLoader);
+                 dependenciesClassLoader);
+        release(previous);
+        releaseEvicted();
+        return dependenciesClassLoader;
+    }
+
+    private void releaseEvicted() {
+        final Iterator<Map.Entry<KieModule, ClassLoader>> it = sharedClassLoaders.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<KieModule, ClassLoader> entry = it.next();
+            if (!getKeys().contains(entry.getKey())) {
+                release(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private void release(final ClassLoader classLoader) {
+        if (classLoader != null) {
+            DependenciesClassLoaderCache.getInstance().release(classLoader);
+        }
     }
 
     private ClassLoader buildClassLoader(final KieModule module) {
@@ -38,14 +38,16 @@ public class ModuleClassLoaderHelper {
     public ClassLoader getModuleClassLoader(final KieModule kieModule) {
 
         final org.kie.api.builder.KieModule module = buildInfoService.getBuildInfo(kieModule).getKieModuleIgnoringErrors();
-        ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader(kieModule);
         ClassLoader moduleClassLoader;
         if (module instanceof InternalKieModule) {
             //will always be an internal kie module
             InternalKieModule internalModule = (InternalKieModule) module;
-            moduleClassLoader = new MapClassLoader(internalModule.getClassesMap(),
-                                                   dependenciesClassLoader);
+            //the dependencies class loader is shared and stays open while the module class loader is in use
+            moduleClassLoader = dependenciesClassLoaderCache.newModuleClassLoader(kieModule,
+                                                                                  dependenciesClassLoader -> new MapClassLoader(internalModule.getClassesMap(),
+                                                                                                                                dependenciesClassLoader));
         } else {
+            dependenciesClassLoaderCache.assertDependenciesClassLoader(kieModule);
             moduleClassLoader = KieModuleMetaData.Factory.newKieModuleMetaData(module).getClassLoader();
         }
         return moduleClassLoader;
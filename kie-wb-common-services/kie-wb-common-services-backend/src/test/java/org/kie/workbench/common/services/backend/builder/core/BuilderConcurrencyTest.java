@@ -0,0 +1,275 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
+import org.guvnor.common.services.project.model.Module;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.api.KieServices;
+import org.kie.internal.builder.IncrementalResults;
+import org.kie.internal.builder.InternalKieBuilder;
+import org.kie.internal.builder.KieBuilderSet;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProvider;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListLoader;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListSaver;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BuilderConcurrencyTest
+        extends BuilderTestBase {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    @Mock
+    private PackageNameSearchProvider packageNameSearchProvider;
+
+    private IOService ioService;
+    private KieModuleService moduleService;
+    private ProjectImportsService importsService;
+    private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
+    private final SimpleFileSystemProvider provider = new SimpleFileSystemProvider();
+    private ExecutorService executor;
+
+    private Module module;
+    private Path brokenRule;
+    private Path bean;
+
+    private volatile boolean blocking;
+    private CountDownLatch blocked;
+    private CountDownLatch unblock;
+
+    @Before
+    public void setUp() throws Exception {
+        PackageNameSearchProvider.PackageNameSearch nameSearch = mock(PackageNameSearchProvider.PackageNameSearch.class);
+        when(nameSearch.search()).thenReturn(new HashSet<String>());
+        when(packageNameSearchProvider.newTopLevelPackageNamesSearch(any(POM.class))).thenReturn(nameSearch);
+        super.startWeld();
+
+        ioService = getReference(IOService.class);
+        moduleService = getReference(KieModuleService.class);
+        importsService = getReference(ProjectImportsService.class);
+        dependenciesClassLoaderCache = getReference(LRUModuleDependenciesClassLoaderCache.class);
+        executor = Executors.newCachedThreadPool();
+
+        final Path root = provider.getPath(this.getClass().getResource("/BuilderExampleBrokenSyntax").toURI());
+        module = moduleService.resolveModule(Paths.convert(root));
+        brokenRule = root.resolve("src/main/resources/rule1.drl");
+        bean = root.resolve("src/main/java/org/kie/workbench/common/services/builder/tests/test1/Bean.java");
+
+        blocked = new CountDownLatch(1);
+        unblock = new CountDownLatch(1);
+    }
+
+    @After
+    public void cleanUp() {
+        executor.shutdownNow();
+        super.stopWeld();
+    }
+
+    @Test
+    public void testChangesReceivedDuringAFullBuildAreAppliedByTheBuild() throws Exception {
+        //The full build stops while it holds the build lock
+        final LRUPomModelCache pomModelCache = mock(LRUPomModelCache.class);
+        when(pomModelCache.getEntry(any(Module.class))).thenAnswer(invocation -> {
+            block();
+            return null;
+        });
+        final Builder builder = newBuilder(pomModelCache,
+                                           new ArrayList<>());
+        assertFalse(builder.build().getErrorMessages().isEmpty());
+
+        blocking = true;
+        final Future<BuildResults> build = executor.submit(() -> builder.build());
+        assertTrue(blocked.await(TIMEOUT_SECONDS,
+                                 TimeUnit.SECONDS));
+
+        //The change is queued without waiting for the build
+        final IncrementalBuildResults queued = executor.submit(() -> builder.deleteResource(brokenRule)).get(TIMEOUT_SECONDS,
+                                                                                                              TimeUnit.SECONDS);
+        assertTrue(queued.getAddedMessages().isEmpty());
+        assertTrue(queued.getRemovedMessages().isEmpty());
+        assertFalse(build.isDone());
+
+        unblock.countDown();
+        //The build applies the queued change and reports its messages
+        final BuildResults results = build.get(TIMEOUT_SECONDS,
+                                               TimeUnit.SECONDS);
+        assertTrue(results.getErrorMessages().isEmpty());
+        assertNotNull(builder.getKieContainer());
+
+        //Once the build completed the changes are applied by their callers
+        blocking = false;
+        final IncrementalBuildResults applied = builder.updateResource(brokenRule);
+        assertFalse(applied.getAddedMessages().isEmpty());
+    }
+
+    @Test
+    public void testIncrementalChangesWaitForEachOther() throws Exception {
+        //The incremental change of the bean stops while it holds the build lock
+        final BuildValidationHelper beanValidator = mock(BuildValidationHelper.class);
+        when(beanValidator.accepts(any(org.uberfire.backend.vfs.Path.class))).thenAnswer(invocation ->
+                                                                                               "Bean.java".equals(((org.uberfire.backend.vfs.Path) invocation.getArguments()[0]).getFileName()));
+        when(beanValidator.validate(any(org.uberfire.backend.vfs.Path.class))).thenAnswer(invocation -> {
+            block();
+            return Collections.emptyList();
+        });
+        final Builder builder = newBuilder(getReference(LRUPomModelCache.class),
+                                           Collections.singletonList(beanValidator));
+        assertFalse(builder.build().getErrorMessages().isEmpty());
+
+        blocking = true;
+        final Future<IncrementalBuildResults> beanUpdate = executor.submit(() -> builder.updateResource(bean));
+        assertTrue(blocked.await(TIMEOUT_SECONDS,
+                                 TimeUnit.SECONDS));
+
+        //No full build is running, the change is not queued but waits for the lock
+        final Future<IncrementalBuildResults> ruleDelete = executor.submit(() -> builder.deleteResource(brokenRule));
+        try {
+            ruleDelete.get(500,
+                           TimeUnit.MILLISECONDS);
+            fail("The incremental change must wait for the one holding the lock");
+        } catch (TimeoutException e) {
+            //expected
+        }
+
+        unblock.countDown();
+        //Each caller gets the messages of its own change
+        final IncrementalBuildResults beanResults = beanUpdate.get(TIMEOUT_SECONDS,
+                                                                   TimeUnit.SECONDS);
+        final IncrementalBuildResults ruleResults = ruleDelete.get(TIMEOUT_SECONDS,
+                                                                   TimeUnit.SECONDS);
+        assertTrue(beanResults.getRemovedMessages().isEmpty());
+        assertFalse(ruleResults.getRemovedMessages().isEmpty());
+        assertNotNull(builder.getKieContainer());
+    }
+
+    @Test
+    public void testReadersWaitForTheIncrementalBuildUpdatingTheModule() throws Exception {
+        //The incremental build stops while it updates the KieModule
+        final org.kie.api.builder.KieModule kieModule = mock(org.kie.api.builder.KieModule.class);
+        final IncrementalResults incrementalResults = mock(IncrementalResults.class);
+        when(incrementalResults.getAddedMessages()).thenReturn(Collections.emptyList());
+        when(incrementalResults.getRemovedMessages()).thenReturn(Collections.emptyList());
+        final KieBuilderSet fileSet = mock(KieBuilderSet.class);
+        when(fileSet.build()).thenAnswer(invocation -> {
+            block();
+            return incrementalResults;
+        });
+        final InternalKieBuilder kieBuilder = mock(InternalKieBuilder.class);
+        when(kieBuilder.getKieModule()).thenReturn(kieModule);
+        when(kieBuilder.createFileSet(Matchers.<String>anyVararg())).thenReturn(fileSet);
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            getReference(LRUPomModelCache.class),
+                                            getPackageNameWhiteListService(),
+                                            o -> true,
+                                            null,
+                                            kieBuilder,
+                                            KieServices.Factory.get().newKieFileSystem());
+
+        blocking = true;
+        final Future<IncrementalBuildResults> ruleDelete = executor.submit(() -> builder.deleteResource(brokenRule));
+        assertTrue(blocked.await(TIMEOUT_SECONDS,
+                                 TimeUnit.SECONDS));
+
+        //The reader doesn't see the KieModule while it's being updated
+        final Future<org.kie.api.builder.KieModule> reader = executor.submit(() -> builder.getKieModule());
+        try {
+            reader.get(500,
+                       TimeUnit.MILLISECONDS);
+            fail("The reader must wait for the incremental build updating the KieModule");
+        } catch (TimeoutException e) {
+            //expected
+        }
+
+        unblock.countDown();
+        assertTrue(ruleDelete.get(TIMEOUT_SECONDS,
+                                  TimeUnit.SECONDS).getAddedMessages().isEmpty());
+        assertSame(kieModule,
+                   reader.get(TIMEOUT_SECONDS,
+                              TimeUnit.SECONDS));
+    }
+
+    private void block() throws InterruptedException {
+        if (blocking) {
+            blocked.countDown();
+            unblock.await(TIMEOUT_SECONDS,
+                          TimeUnit.SECONDS);
+        }
+    }
+
+    private Builder newBuilder(final LRUPomModelCache pomModelCache,
+                               final List<BuildValidationHelper> validators) {
+        return new Builder(module,
+                           ioService,
+                           moduleService,
+                           importsService,
+                           validators,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           getPackageNameWhiteListService(),
+                           o -> true);
+    }
+
+    private PackageNameWhiteListService getPackageNameWhiteListService() {
+        return new PackageNameWhiteListServiceImpl(ioService,
+                                                   mock(KieModuleService.class),
+                                                   new PackageNameWhiteListLoader(packageNameSearchProvider,
+                                                                                  ioService),
+                                                   mock(PackageNameWhiteListSaver.class));
+    }
+}
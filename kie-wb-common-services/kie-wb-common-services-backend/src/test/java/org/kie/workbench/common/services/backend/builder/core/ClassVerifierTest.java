@@ -17,16 +17,24 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.soup.project.datamodel.oracle.TypeSource;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -60,5 +68,52 @@ public class ClassVerifierTest {
 		assertEquals("Verification of class org.kie.workbench.common.services.backend.builder.SomeClass failed and will not be available for authoring.\n"
 				+ "Underlying system error is: The access to the class is not allowed. Please check the necessary external dependencies for this project are configured correctly.",
 				messages.get(0).getText());
-	}		
-}
\ No newline at end of file
+	}
+
+	@Test
+	public void testVerifiedExternalClassesAreCachedByDependencies() throws Exception {
+		URL dependency = File.createTempFile("dependency", ".jar").toURI().toURL();
+		ClassLoader dependenciesClassLoader = new URLClassLoader(new URL[]{dependency});
+		when(kieModuleMetaData.getClassLoader()).thenReturn(new URLClassLoader(new URL[0], dependenciesClassLoader));
+		when(kieModuleMetaData.getPackages()).thenReturn(Arrays.asList("java.lang"));
+		when(kieModuleMetaData.getClasses("java.lang")).thenReturn(Arrays.asList("String"));
+		when(kieModuleMetaData.getClass("java.lang", "String")).thenReturn((Class) String.class);
+		when(typeSourceResolver.getTypeSource(String.class)).thenReturn(TypeSource.JAVA_DEPENDENCY);
+
+		WhiteList whiteList = new WhiteList();
+		whiteList.add("java.lang");
+
+		ClassVerifier classVerifier = new ClassVerifier(kieModuleMetaData, typeSourceResolver);
+		assertTrue(classVerifier.verify(whiteList).isEmpty());
+		assertTrue(classVerifier.getVerificationTime() >= 0);
+		assertTrue(new ClassVerifier(kieModuleMetaData, typeSourceResolver).verify(whiteList).isEmpty());
+
+		verify(kieModuleMetaData, times(1)).getClass("java.lang", "String");
+	}
+
+	@Test
+	public void testVerifyClassInThePool() {
+		WhiteList whiteList = new WhiteList();
+		whiteList.add("org.kie.workbench.common.services.backend.builder");
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			List<BuildMessage> messages = new ClassVerifier(kieModuleMetaData, typeSourceResolver, pool).verify(whiteList);
+			assertEquals(1, messages.size());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testVerifyClassAfterThePoolShutdown() {
+		WhiteList whiteList = new WhiteList();
+		whiteList.add("org.kie.workbench.common.services.backend.builder");
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		pool.shutdownNow();
+
+		List<BuildMessage> messages = new ClassVerifier(kieModuleMetaData, typeSourceResolver, pool).verify(whiteList);
+		assertEquals(1, messages.size());
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.compiler.impl.classloader.DependenciesClassLoaderCache;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUModuleDependenciesClassLoaderCacheTest {
+
+    private static final String RESOURCE = "dependency.txt";
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private KieModule otherModule;
+
+    private File dependency;
+    private LRUModuleDependenciesClassLoaderCache cache;
+
+    @Before
+    public void setup() throws Exception {
+        dependency = Files.createTempDirectory("dependency").toFile();
+        Files.write(new File(dependency,
+                             RESOURCE).toPath(),
+                    "content".getBytes());
+        cache = new LRUModuleDependenciesClassLoaderCache();
+    }
+
+    @After
+    public void tearDown() {
+        cache.invalidateCache();
+        new File(dependency,
+                 RESOURCE).delete();
+        dependency.delete();
+    }
+
+    @Test
+    public void testModulesWithTheSameDependenciesShareTheLoader() throws Exception {
+        final URLClassLoader metaDataLoader = newMetaDataLoader();
+        final URLClassLoader otherMetaDataLoader = newMetaDataLoader();
+
+        cache.setDependenciesClassLoader(module,
+                                         metaDataLoader);
+        cache.setDependenciesClassLoader(otherModule,
+                                         otherMetaDataLoader);
+
+        final ClassLoader shared = cache.assertDependenciesClassLoader(module);
+        assertThat(shared).isNotSameAs(metaDataLoader);
+        assertThat(cache.assertDependenciesClassLoader(otherModule)).isSameAs(shared);
+        assertThat(DependenciesClassLoaderCache.getInstance().getReferences(shared)).isEqualTo(2);
+    }
+
+    @Test
+    public void testTheMetaDataLoaderIsNotClosedWhenReplaced() throws Exception {
+        final URLClassLoader metaDataLoader = newMetaDataLoader();
+
+        cache.setDependenciesClassLoader(module,
+                                         metaDataLoader);
+
+        assertThat(cache.assertDependenciesClassLoader(module)).isNotSameAs(metaDataLoader);
+        //a closed URLClassLoader doesn't find any resource
+        assertThat(metaDataLoader.getResource(RESOURCE)).isNotNull();
+
+        cache.invalidateCache(module);
+
+        assertThat(metaDataLoader.getResource(RESOURCE)).isNotNull();
+        metaDataLoader.close();
+    }
+
+    @Test
+    public void testTheSharedLoaderIsClosedWithTheLastReference() throws Exception {
+        cache.setDependenciesClassLoader(module,
+                                         newMetaDataLoader());
+        cache.setDependenciesClassLoader(otherModule,
+                                         newMetaDataLoader());
+        final ClassLoader shared = cache.assertDependenciesClassLoader(module);
+
+        cache.invalidateCache(module);
+        assertThat(shared.getResource(RESOURCE)).isNotNull();
+
+        cache.invalidateCache(otherModule);
+        assertThat(shared.getResource(RESOURCE)).isNull();
+    }
+
+    private URLClassLoader newMetaDataLoader() throws Exception {
+        return new URLClassLoader(new URL[]{dependency.toURI().toURL()},
+                                  DependenciesClassLoaderCache.getInstance().getParent());
+    }
+}
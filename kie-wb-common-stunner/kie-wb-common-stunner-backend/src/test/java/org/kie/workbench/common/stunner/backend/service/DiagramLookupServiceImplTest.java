@@ -20,36 +20,64 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.VFSLookupManager;
+import org.kie.workbench.common.stunner.core.backend.service.AbstractDiagramLookupService;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DiagramLookupServiceImplTest {
 
     private static final String NAME = "name1";
+    private static final String TITLE = "title1";
+    private static final String URI = "default://master@repo/diagram1.bpmn";
 
     @Mock
-    private VFSLookupManager<Diagram<Graph, Metadata>> vfsLookupManager;
+    private VFSLookupManager<DiagramRepresentation> vfsLookupManager;
 
     @Mock
     private DiagramServiceImpl diagramService;
 
+    @Mock
+    private DiagramRepresentation diagramRepresentation;
+
     @Mock
     private Diagram<Graph, Metadata> diagram;
 
+    @Mock
+    private Metadata metadata;
+
+    @Mock
+    private Path path;
+
     private DiagramLookupServiceImpl tested;
 
     @Before
     public void setup() {
+        when(diagramRepresentation.getName()).thenReturn(NAME);
         when(diagram.getName()).thenReturn(NAME);
+        when(diagram.getMetadata()).thenReturn(metadata);
+        when(metadata.getTitle()).thenReturn(TITLE);
+        when(metadata.getPath()).thenReturn(path);
+        when(path.toURI()).thenReturn(URI);
+        when(diagramService.getDiagramByPath(path)).thenReturn(diagram);
         tested = new DiagramLookupServiceImpl(vfsLookupManager,
                                               diagramService);
     }
@@ -59,8 +87,61 @@ public class DiagramLookupServiceImplTest {
         String criteria = DiagramLookupRequest.CRITERIA_NAME + "=" + NAME;
         String criteria1 = DiagramLookupRequest.CRITERIA_NAME + "=" + "name2";
         String criteria2 = "";
-        assertTrue(tested.matches(criteria, diagram));
-        assertFalse(tested.matches(criteria1, diagram));
-        assertTrue(tested.matches(criteria2, diagram));
+        assertTrue(tested.matches(criteria, diagramRepresentation));
+        assertFalse(tested.matches(criteria1, diagramRepresentation));
+        assertTrue(tested.matches(criteria2, diagramRepresentation));
+    }
+
+    @Test
+    public void testRepresentationsAreCachedByPath() {
+        final DiagramRepresentation representation = tested.getDiagramRepresentationByPath(path);
+        assertEquals(NAME, representation.getName());
+        assertEquals(TITLE, representation.getTitle());
+        assertEquals(path, representation.getPath());
+
+        assertSame(representation, tested.getDiagramRepresentationByPath(path));
+        verify(diagramService, times(1)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testRepresentationIsEvictedWhenUpdated() {
+        tested.getDiagramRepresentationByPath(path);
+        tested.onResourceUpdated(new ResourceUpdatedEvent(path,
+                                                          "",
+                                                          mock(SessionInfo.class)));
+        tested.getDiagramRepresentationByPath(path);
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testMissingDiagramsAreNotCached() {
+        when(diagramService.getDiagramByPath(path)).thenReturn(null);
+        assertNull(tested.getDiagramRepresentationByPath(path));
+
+        when(diagramService.getDiagramByPath(path)).thenReturn(diagram);
+        assertEquals(NAME, tested.getDiagramRepresentationByPath(path).getName());
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testLeastRecentlyListedRepresentationsAreEvicted() {
+        System.setProperty(AbstractDiagramLookupService.CACHE_SIZE_PROPERTY, "1");
+        try {
+            tested = new DiagramLookupServiceImpl(vfsLookupManager,
+                                                  diagramService);
+        } finally {
+            System.clearProperty(AbstractDiagramLookupService.CACHE_SIZE_PROPERTY);
+        }
+        final Path otherPath = mock(Path.class);
+        when(otherPath.toURI()).thenReturn("default://master@repo/diagram2.bpmn");
+        when(diagramService.getDiagramByPath(otherPath)).thenReturn(diagram);
+
+        tested.getDiagramRepresentationByPath(path);
+        tested.getDiagramRepresentationByPath(otherPath);
+        tested.getDiagramRepresentationByPath(otherPath);
+        tested.getDiagramRepresentationByPath(path);
+
+        verify(diagramService, times(2)).getDiagramByPath(path);
+        verify(diagramService, times(1)).getDiagramByPath(otherPath);
     }
 }
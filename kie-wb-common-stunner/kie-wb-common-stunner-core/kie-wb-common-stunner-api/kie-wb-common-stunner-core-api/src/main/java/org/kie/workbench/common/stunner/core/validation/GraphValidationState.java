@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.validation;
+
+import java.util.Collection;
+
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+
+/**
+ * The results of the previous validations for a graph, used by the
+ * graph validator to perform incremental validations.
+ * @param <V> The graph element violation type.
+ * @see GraphValidator#newValidationState()
+ */
+public interface GraphValidationState<V extends GraphElementViolation> {
+
+    /**
+     * Returns <code>true</code> if the state keeps the results for the
+     * given <code>graph</code> and <code>ruleSet</code>.
+     */
+    boolean isBoundTo(Graph graph,
+                      RuleSet ruleSet);
+
+    /**
+     * Discards the results, so the next validation performs a full pass.
+     */
+    void clear();
+
+    /**
+     * Returns all the violations currently registered for the graph.
+     */
+    Collection<V> getViolations();
+}
@@ -19,6 +19,7 @@ package org.kie.workbench.common.stunner.core.validation;
 import java.util.Collection;
 import java.util.function.Consumer;
 
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.rule.RuleSet;
 
@@ -39,4 +40,24 @@ public interface GraphValidator<G extends Graph, V extends GraphElementViolation
     void validate(Graph graph,
                   RuleSet ruleSet,
                   Consumer<Collection<V>> resultConsumer);
+
+    /**
+     * Creates an empty state for the incremental validations of a graph.
+     */
+    GraphValidationState<V> newValidationState();
+
+    /**
+     * Validates the <code>graph</code> instance by only re-evaluating the rules
+     * affected by the <code>changedElements</code> since the previous validation
+     * kept in the given <code>state</code>.
+     * The first validation for a <code>state</code>, or any validation for a different
+     * graph or rule set, performs a full validation.
+     * The <code>resultConsumer</code> provides the same violations as a full validation
+     * of the graph.
+     */
+    void validate(Graph graph,
+                  RuleSet ruleSet,
+                  GraphValidationState<V> state,
+                  Collection<? extends Element> changedElements,
+                  Consumer<Collection<V>> resultConsumer);
 }
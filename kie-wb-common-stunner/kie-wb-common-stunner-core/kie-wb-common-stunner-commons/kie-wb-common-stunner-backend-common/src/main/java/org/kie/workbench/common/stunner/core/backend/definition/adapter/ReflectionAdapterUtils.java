@@ -18,11 +18,17 @@ package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,53 +36,86 @@ import org.kie.workbench.common.stunner.core.definition.adapter.binding.Bindable
 
 public class ReflectionAdapterUtils {
 
+    /**
+     * Declared fields of each type, keyed by name and already made accessible.
+     * Resolved once per type, so property reads and writes do not scan the
+     * class hierarchy again on every call.
+     */
+    private static final ClassValue<Map<String, Field>> DECLARED_FIELDS = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue(final Class<?> type) {
+            final Map<String, Field> fields = new LinkedHashMap<>();
+            for (Field field : type.getDeclaredFields()) {
+                makeAccessible(field);
+                fields.put(field.getName(),
+                           field);
+            }
+            return Collections.unmodifiableMap(fields);
+        }
+    };
+
+    /**
+     * The fields with a given name along the class hierarchy of each type,
+     * most specific first.
+     */
+    private static final ClassValue<Map<String, List<Field>>> HIERARCHY_FIELDS_BY_NAME = new ClassValue<Map<String, List<Field>>>() {
+        @Override
+        protected Map<String, List<Field>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The first field annotated with a given annotation on each level of the
+     * class hierarchy of each type, most specific first.
+     */
+    private static final ClassValue<Map<Class<? extends Annotation>, List<Field>>> HIERARCHY_FIELDS_BY_ANNOTATION = new ClassValue<Map<Class<? extends Annotation>, List<Field>>>() {
+        @Override
+        protected Map<Class<? extends Annotation>, List<Field>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getAnnotatedFieldValue(object,
-                                              c,
-                                              annotationType);
+        for (Field field : getHierarchyFields(object.getClass(),
+                                              annotationType)) {
+            V result = (V) field.get(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T, V> Set<V> getFieldValues(final T object,
                                                final Set<String> fieldNames) throws IllegalAccessException {
         Set<V> result = new LinkedHashSet<V>();
         if (null != fieldNames) {
             for (String fieldName : fieldNames) {
-                Class<?> c = object.getClass();
-                while (!c.getName().equals(Object.class.getName())) {
-                    V result1 = getFieldValue(object,
-                                              c,
-                                              fieldName);
+                for (Field field : getHierarchyFields(object.getClass(),
+                                                      fieldName)) {
+                    V result1 = (V) field.get(object);
                     if (null != result1) {
                         result.add(result1);
                     }
-                    c = c.getSuperclass();
                 }
             }
         }
         return result;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getFieldValue(object,
-                                     c,
-                                     fieldName);
+        for (Field field : getHierarchyFields(object.getClass(),
+                                              fieldName)) {
+            V result = (V) field.get(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -85,64 +124,30 @@ public class ReflectionAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final Field field = getAnnotatedField(sourceType,
+                                              annotationType);
+        return null != field ? (V) field.get(object) : null;
     }
 
     @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final Field field = getField(sourceType,
+                                     fieldName);
+        return null != field ? (V) field.get(object) : null;
     }
 
     public static <T> Field getField(final T object,
                                      final String fieldName) throws SecurityException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            Field result = getField(c,
-                                    fieldName);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        final List<Field> fields = getHierarchyFields(object.getClass(),
+                                                      fieldName);
+        return fields.isEmpty() ? null : fields.get(0);
     }
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws SecurityException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        return null != fieldName ? DECLARED_FIELDS.get(sourceType).get(fieldName) : null;
     }
 
     public static List<Field> getFields(final Class<?> sourceType) throws SecurityException {
@@ -196,6 +201,57 @@ public class ReflectionAdapterUtils {
         return null;
     }
 
+    private static List<Field> getHierarchyFields(final Class<?> type,
+                                                  final String fieldName) {
+        if (null == fieldName) {
+            return Collections.emptyList();
+        }
+        return HIERARCHY_FIELDS_BY_NAME.get(type).computeIfAbsent(fieldName,
+                                                                  name -> collectHierarchyFields(type,
+                                                                                                 c -> getField(c,
+                                                                                                               name)));
+    }
+
+    private static List<Field> getHierarchyFields(final Class<?> type,
+                                                  final Class<? extends Annotation> annotationType) {
+        return HIERARCHY_FIELDS_BY_ANNOTATION.get(type).computeIfAbsent(annotationType,
+                                                                        annotation -> collectHierarchyFields(type,
+                                                                                                             c -> getAnnotatedField(c,
+                                                                                                                                    annotation)));
+    }
+
+    private static List<Field> collectHierarchyFields(final Class<?> type,
+                                                      final Function<Class<?>, Field> fieldResolver) {
+        final List<Field> result = new ArrayList<>();
+        Class<?> c = type;
+        while (null != c && !c.getName().equals(Object.class.getName())) {
+            final Field field = fieldResolver.apply(c);
+            if (null != field) {
+                result.add(field);
+            }
+            c = c.getSuperclass();
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static Field getAnnotatedField(final Class<?> sourceType,
+                                           final Class<? extends Annotation> annotationType) {
+        for (Field field : DECLARED_FIELDS.get(sourceType).values()) {
+            if (null != field.getAnnotation(annotationType)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static void makeAccessible(final Field field) {
+        try {
+            field.setAccessible(true);
+        } catch (SecurityException e) {
+            // Left as is, the access itself reports the failure.
+        }
+    }
+
     public static String getDefinitionId(final Class<?> type) {
         return BindableAdapterUtils.getDefinitionId(type);
     }
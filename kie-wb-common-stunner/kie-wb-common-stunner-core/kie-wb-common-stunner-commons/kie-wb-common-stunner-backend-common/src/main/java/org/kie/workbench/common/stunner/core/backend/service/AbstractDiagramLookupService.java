@@ -16,6 +16,12 @@
 
 package org.kie.workbench.common.stunner.core.backend.service;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.enterprise.event.Observes;
+
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.VFSLookupManager;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -26,21 +32,90 @@ import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
 import org.kie.workbench.common.stunner.core.service.DiagramLookupService;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
+/**
+ * Lists diagrams by their {@link DiagramRepresentation}. Representations of the most recently listed paths are kept,
+ * so a diagram is only unmarshalled again once its file changes or it has not been listed for a while.
+ * The number of kept representations is bounded by the {@value #CACHE_SIZE_PROPERTY} system property.
+ */
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractLookupManager<DiagramRepresentation, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
-    public void initialize(final VFSLookupManager<D> vfsLookupManager) {
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.workbench.stunner.diagram.lookup.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = 200;
+
+    private final Map<String, DiagramRepresentation> representations = newRepresentationsCache(Integer.getInteger(CACHE_SIZE_PROPERTY,
+                                                                                                                  DEFAULT_CACHE_SIZE));
+
+    public void initialize(final VFSLookupManager<DiagramRepresentation> vfsLookupManager) {
         vfsLookupManager
                 .setPathAcceptor(getDiagramService()::accepts)
-                .setItemSupplier(getDiagramService()::getDiagramByPath);
+                .setItemSupplier(this::getDiagramRepresentationByPath);
     }
 
     protected abstract BaseDiagramService<M, D> getDiagramService();
 
-    protected DiagramRepresentation buildResult(final D item) {
-        return new DiagramRepresentation.DiagramRepresentationBuilder(item).build();
+    public DiagramRepresentation getDiagramRepresentationByPath(final Path path) {
+        final String key = path.toURI();
+        final DiagramRepresentation cached = representations.get(key);
+        if (null != cached) {
+            return cached;
+        }
+        final D diagram = getDiagramService().getDiagramByPath(path);
+        if (null == diagram) {
+            return null;
+        }
+        final DiagramRepresentation representation =
+                new DiagramRepresentation.DiagramRepresentationBuilder(diagram).build();
+        representations.put(key,
+                            representation);
+        return representation;
+    }
+
+    public void onResourceUpdated(final @Observes ResourceUpdatedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceDeleted(final @Observes ResourceDeletedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceRenamed(final @Observes ResourceRenamedEvent event) {
+        evict(event.getPath());
+        evict(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(final @Observes ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::evict);
+    }
+
+    private void evict(final Path path) {
+        if (null != path) {
+            representations.remove(path.toURI());
+        }
+    }
+
+    private static Map<String, DiagramRepresentation> newRepresentationsCache(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, DiagramRepresentation>(16,
+                                                                                            0.75f,
+                                                                                            true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, DiagramRepresentation> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    protected DiagramRepresentation buildResult(final DiagramRepresentation item) {
+        return item;
     }
 }
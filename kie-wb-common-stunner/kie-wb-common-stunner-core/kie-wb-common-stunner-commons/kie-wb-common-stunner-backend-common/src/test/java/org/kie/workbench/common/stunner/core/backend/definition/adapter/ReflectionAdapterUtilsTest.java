@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ReflectionAdapterUtilsTest {
+
+    @Test
+    public void testGetFieldValueFromSuperclass() throws Exception {
+        final ChildBean bean = new ChildBean("parent",
+                                             "child");
+        assertEquals("parent",
+                     ReflectionAdapterUtils.getFieldValue(bean,
+                                                          "parentValue"));
+        assertEquals("child",
+                     ReflectionAdapterUtils.getFieldValue(bean,
+                                                          "childValue"));
+        assertNull(ReflectionAdapterUtils.getFieldValue(bean,
+                                                        "unknown"));
+        assertNull(ReflectionAdapterUtils.getFieldValue(bean,
+                                                        (String) null));
+    }
+
+    @Test
+    public void testGetFieldValueFallsBackToShadowedField() throws Exception {
+        final ChildBean bean = new ChildBean("parent",
+                                             "child");
+        assertEquals("parentShared",
+                     ReflectionAdapterUtils.getFieldValue(bean,
+                                                          "shared"));
+        final Set<Object> values = ReflectionAdapterUtils.getFieldValues(bean,
+                                                                         new HashSet<>(Arrays.asList("shared",
+                                                                                                     "childValue")));
+        assertEquals(new HashSet<>(Arrays.asList("parentShared",
+                                                 "child")),
+                     values);
+    }
+
+    @Test
+    public void testGetAnnotatedFieldValue() throws Exception {
+        final ChildBean bean = new ChildBean("parent",
+                                             "child");
+        assertEquals("child",
+                     ReflectionAdapterUtils.getAnnotatedFieldValue(bean,
+                                                                   Value.class));
+        assertEquals("parent",
+                     ReflectionAdapterUtils.getAnnotatedFieldValue(bean,
+                                                                   ParentBean.class,
+                                                                   Value.class));
+        bean.childValue = null;
+        assertEquals("parent",
+                     ReflectionAdapterUtils.getAnnotatedFieldValue(bean,
+                                                                   Value.class));
+    }
+
+    @Test
+    public void testFieldsAreResolvedOnce() throws Exception {
+        final ChildBean bean = new ChildBean("parent",
+                                             "child");
+        assertSame(ReflectionAdapterUtils.getField(bean,
+                                                   "parentValue"),
+                   ReflectionAdapterUtils.getField(new ChildBean("a",
+                                                                 "b"),
+                                                   "parentValue"));
+        assertSame(ReflectionAdapterUtils.getField(ParentBean.class,
+                                                   "parentValue"),
+                   ReflectionAdapterUtils.getField(bean,
+                                                   "parentValue"));
+        assertNull(ReflectionAdapterUtils.getField(ChildBean.class,
+                                                   "parentValue"));
+    }
+
+    private static class ParentBean {
+
+        @Value
+        private String parentValue;
+
+        private String shared = "parentShared";
+
+        ParentBean(final String parentValue) {
+            this.parentValue = parentValue;
+        }
+    }
+
+    private static class ChildBean extends ParentBean {
+
+        @Value
+        private String childValue;
+
+        private String shared;
+
+        ChildBean(final String parentValue,
+                  final String childValue) {
+            super(parentValue);
+            this.childValue = childValue;
+        }
+    }
+}
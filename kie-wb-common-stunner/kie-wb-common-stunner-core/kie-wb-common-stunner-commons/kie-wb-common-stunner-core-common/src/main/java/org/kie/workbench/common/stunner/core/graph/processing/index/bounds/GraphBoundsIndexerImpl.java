@@ -16,7 +16,10 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.enterprise.context.Dependent;
@@ -40,6 +43,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     ChildrenTraverseProcessor childrenTraverseProcessor;
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private BoundsIndex boundsIndex = null;
 
     @Inject
     public GraphBoundsIndexerImpl(final ChildrenTraverseProcessor childrenTraverseProcessor) {
@@ -49,6 +53,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        this.boundsIndex = null;
         return this;
     }
 
@@ -138,10 +143,26 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return result;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Returns the last node, in children traversal order, whose bounds contain the given point.
+     * The node bounds are indexed on the first lookup after building the indexer, so further
+     * lookups do not traverse the graph again.
+     */
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
+        return getBoundsIndex().findAt(x,
+                                       y);
+    }
+
+    private BoundsIndex getBoundsIndex() {
+        if (null == boundsIndex) {
+            boundsIndex = buildBoundsIndex();
+        }
+        return boundsIndex;
+    }
+
+    private BoundsIndex buildBoundsIndex() {
+        final List<IndexedBounds> entries = new ArrayList<>();
         childrenTraverseProcessor.traverse(graph,
                                            new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
 
@@ -149,16 +170,16 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                                                public void onNodeTraverse(final Node<View, Edge> node,
                                                                           final double parentX,
                                                                           final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
+                                                   final boolean isRoot = null != rootUUID && node.getUUID().equals(rootUUID);
+                                                   entries.add(new IndexedBounds(node,
+                                                                                 entries.size(),
+                                                                                 isRoot,
+                                                                                 getNodeAbsoluteCoordinates(node,
+                                                                                                            parentX,
+                                                                                                            parentY)));
                                                }
                                            }));
-        return result[0];
+        return new BoundsIndex(entries);
     }
 
     private Point2D getNodeCoordinates(final Node node) {
@@ -186,31 +207,10 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        this.boundsIndex = null;
         return this;
     }
 
@@ -218,6 +218,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     public void destroy() {
         this.graph = null;
         this.rootUUID = null;
+        this.boundsIndex = null;
         this.childrenTraverseProcessor = null;
     }
 
@@ -270,4 +271,141 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                                     parentLocation[1]);
         }
     }
+
+    private static class IndexedBounds {
+
+        private final Node<View<?>, Edge> node;
+        private final int order;
+        private final boolean root;
+        private final double ulX;
+        private final double ulY;
+        private final double lrX;
+        private final double lrY;
+
+        @SuppressWarnings("unchecked")
+        private IndexedBounds(final Node node,
+                              final int order,
+                              final boolean root,
+                              final double[] absoluteCoords) {
+            this.node = node;
+            this.order = order;
+            this.root = root;
+            this.ulX = absoluteCoords[0];
+            this.ulY = absoluteCoords[1];
+            this.lrX = absoluteCoords[2];
+            this.lrY = absoluteCoords[3];
+        }
+
+        private boolean contains(final double x,
+                                 final double y) {
+            return root || (x >= ulX && x <= lrX && y >= ulY && y <= lrY);
+        }
+    }
+
+    /**
+     * A uniform grid over the absolute node bounds. The cell size is given by the average node size,
+     * each node is registered in all the cells it overlaps, and the nodes that would span too many
+     * cells (the canvas root, big containers, etc) are just kept in a list that is always checked.
+     */
+    private static class BoundsIndex {
+
+        private static final int MAX_CELLS_PER_ENTRY = 64;
+
+        private final Map<Long, List<IndexedBounds>> cells = new HashMap<>();
+        private final List<IndexedBounds> unbounded = new ArrayList<>();
+        private final double cellSize;
+
+        private BoundsIndex(final List<IndexedBounds> entries) {
+            this.cellSize = getCellSize(entries);
+            for (final IndexedBounds entry : entries) {
+                add(entry);
+            }
+        }
+
+        private void add(final IndexedBounds entry) {
+            if (entry.root || !isFinite(entry)) {
+                unbounded.add(entry);
+                return;
+            }
+            final long minX = cell(entry.ulX);
+            final long minY = cell(entry.ulY);
+            final long maxX = cell(entry.lrX);
+            final long maxY = cell(entry.lrY);
+            if (maxX < minX || maxY < minY) {
+                return;
+            }
+            if ((maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS_PER_ENTRY) {
+                unbounded.add(entry);
+                return;
+            }
+            for (long cx = minX; cx <= maxX; cx++) {
+                for (long cy = minY; cy <= maxY; cy++) {
+                    cells.computeIfAbsent(key(cx,
+                                              cy),
+                                          k -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        private Node<View<?>, Edge> findAt(final double x,
+                                           final double y) {
+            IndexedBounds result = findAt(unbounded,
+                                          x,
+                                          y,
+                                          null);
+            result = findAt(cells.get(key(cell(x),
+                                          cell(y))),
+                            x,
+                            y,
+                            result);
+            return null != result ? result.node : null;
+        }
+
+        private static IndexedBounds findAt(final List<IndexedBounds> entries,
+                                            final double x,
+                                            final double y,
+                                            final IndexedBounds current) {
+            IndexedBounds result = current;
+            if (null != entries) {
+                for (final IndexedBounds entry : entries) {
+                    if ((null == result || entry.order > result.order) && entry.contains(x,
+                                                                                         y)) {
+                        result = entry;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private long cell(final double value) {
+            return (long) Math.floor(value / cellSize);
+        }
+
+        private static Long key(final long cx,
+                                final long cy) {
+            return (cx << 32) ^ (cy & 0xffffffffL);
+        }
+
+        private static boolean isFinite(final IndexedBounds entry) {
+            return isFinite(entry.ulX) && isFinite(entry.ulY) && isFinite(entry.lrX) && isFinite(entry.lrY);
+        }
+
+        private static boolean isFinite(final double value) {
+            return !Double.isNaN(value) && !Double.isInfinite(value);
+        }
+
+        private static double getCellSize(final List<IndexedBounds> entries) {
+            double total = 0;
+            int count = 0;
+            for (final IndexedBounds entry : entries) {
+                if (!entry.root && isFinite(entry)) {
+                    total += Math.max(entry.lrX - entry.ulX,
+                                      entry.lrY - entry.ulY);
+                    count++;
+                }
+            }
+            final double average = count > 0 ? total / count : 0;
+            return average >= 1 ? average : 100;
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.validation.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.validation.GraphValidationState;
+
+/**
+ * Keeps the results of a graph validation, per element, so further validations
+ * for the same graph and rule set only have to re-evaluate the elements that changed.
+ * <p>
+ * The state also maintains the node label counters used to evaluate the cardinality
+ * rules, so cardinality is re-evaluated just for the roles whose count changed.
+ * <p>
+ * An instance is bound to a single graph and rule set, the first validation or any
+ * validation for a different graph or rule set performs a full pass and rebuilds it.
+ * @see GraphValidatorImpl#validate(Graph, RuleSet, GraphValidationState, Collection, java.util.function.Consumer)
+ */
+public class GraphValidationStateImpl implements GraphValidationState<RuleViolation> {
+
+    private Graph graph;
+    private RuleSet ruleSet;
+    private final Set<String> cardinalityRoles = new LinkedHashSet<>();
+    private final Map<String, Integer> labelCounts = new HashMap<>();
+    private final Map<String, Set<String>> nodeLabels = new HashMap<>();
+    private final Map<String, Collection<RuleViolation>> cardinalityViolations = new HashMap<>();
+    private final Map<String, Collection<RuleViolation>> nodeViolations = new HashMap<>();
+    private final Map<String, Collection<RuleViolation>> edgeViolations = new HashMap<>();
+
+    @Override
+    public boolean isBoundTo(final Graph graph,
+                             final RuleSet ruleSet) {
+        return null != this.graph && this.graph == graph && this.ruleSet == ruleSet;
+    }
+
+    @Override
+    public void clear() {
+        graph = null;
+        ruleSet = null;
+        cardinalityRoles.clear();
+        labelCounts.clear();
+        nodeLabels.clear();
+        cardinalityViolations.clear();
+        nodeViolations.clear();
+        edgeViolations.clear();
+    }
+
+    @Override
+    public Collection<RuleViolation> getViolations() {
+        final Collection<RuleViolation> result = new LinkedHashSet<>();
+        cardinalityViolations.values().forEach(result::addAll);
+        nodeViolations.values().forEach(result::addAll);
+        edgeViolations.values().forEach(result::addAll);
+        return result;
+    }
+
+    void bind(final Graph graph,
+              final RuleSet ruleSet,
+              final Collection<String> cardinalityRoles) {
+        clear();
+        this.graph = graph;
+        this.ruleSet = ruleSet;
+        this.cardinalityRoles.addAll(cardinalityRoles);
+    }
+
+    Set<String> getCardinalityRoles() {
+        return cardinalityRoles;
+    }
+
+    int getLabelCount(final String role) {
+        final Integer count = labelCounts.get(role);
+        return null != count ? count : 0;
+    }
+
+    /**
+     * Registers the current labels for the node, or unregisters it if <code>labels</code> is
+     * <code>null</code>, and returns the labels whose count changed.
+     */
+    Set<String> updateNodeLabels(final String nodeUUID,
+                                 final Set<String> labels) {
+        final Set<String> oldLabels = null != labels ?
+                nodeLabels.put(nodeUUID,
+                               new LinkedHashSet<>(labels)) :
+                nodeLabels.remove(nodeUUID);
+        final Set<String> previous = null != oldLabels ? oldLabels : Collections.emptySet();
+        final Set<String> current = null != labels ? labels : Collections.emptySet();
+        final Set<String> changed = new LinkedHashSet<>();
+        previous.stream()
+                .filter(label -> !current.contains(label))
+                .forEach(label -> {
+                    labelCounts.put(label,
+                                    getLabelCount(label) - 1);
+                    changed.add(label);
+                });
+        current.stream()
+                .filter(label -> !previous.contains(label))
+                .forEach(label -> {
+                    labelCounts.put(label,
+                                    getLabelCount(label) + 1);
+                    changed.add(label);
+                });
+        return changed;
+    }
+
+    void setCardinalityViolations(final String role,
+                                  final Collection<RuleViolation> violations) {
+        put(cardinalityViolations,
+            role,
+            violations);
+    }
+
+    void setNodeViolations(final String nodeUUID,
+                           final Collection<RuleViolation> violations) {
+        put(nodeViolations,
+            nodeUUID,
+            violations);
+    }
+
+    void setEdgeViolations(final String edgeUUID,
+                           final Collection<RuleViolation> violations) {
+        put(edgeViolations,
+            edgeUUID,
+            violations);
+    }
+
+    private static void put(final Map<String, Collection<RuleViolation>> map,
+                            final String key,
+                            final Collection<RuleViolation> violations) {
+        if (null == violations || violations.isEmpty()) {
+            map.remove(key);
+        } else {
+            map.put(key,
+                    violations);
+        }
+    }
+}
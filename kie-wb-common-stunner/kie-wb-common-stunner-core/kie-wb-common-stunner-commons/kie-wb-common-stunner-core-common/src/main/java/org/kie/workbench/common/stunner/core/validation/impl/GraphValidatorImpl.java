@@ -16,8 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.validation.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
@@ -40,13 +43,16 @@ import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.AbstractTreeTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
+import org.kie.workbench.common.stunner.core.rule.Rule;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleSet;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.rule.RuleViolations;
 import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilder;
+import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
 import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
+import org.kie.workbench.common.stunner.core.validation.GraphValidationState;
 import org.kie.workbench.common.stunner.core.validation.GraphValidator;
 
 @ApplicationScoped
@@ -114,7 +120,7 @@ public class GraphValidatorImpl
                   final Optional<BiConsumer<Node, Collection<RuleViolation>>> nodeValidatorConsumer,
                   final Optional<BiConsumer<Edge, Collection<RuleViolation>>> edgeValidatorConsumer,
                   Consumer<Collection<RuleViolation>> resultConsumer) {
-        final RuleSet ruleSet = aRuleSet.orElse(getRuleSet(graph));
+        final RuleSet ruleSet = aRuleSet.orElseGet(() -> getRuleSet(graph));
         final ViolationsSet violations = new ViolationsSet();
         treeWalkTraverseProcessor
                 .traverse(graph,
@@ -138,54 +144,14 @@ public class GraphValidatorImpl
                               @Override
                               public boolean startEdgeTraversal(final Edge edge) {
                                   super.startEdgeTraversal(edge);
-                                  final Object content = edge.getContent();
-                                  final ViolationsSet edgeViolations =
-                                          new ViolationsSet();
-                                  if (content instanceof Child) {
+                                  final Collection<RuleViolation> edgeViolations;
+                                  if (edge.getContent() instanceof Child) {
                                       this.currentParents.push(edge.getSourceNode());
-                                  } else if (content instanceof View) {
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
-                                              Optional.ofNullable(edge.getSourceNode());
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
-                                              Optional.ofNullable(edge.getTargetNode());
-                                      // Check not empty connections.
-                                      final Optional<RuleViolation> emptyConnectionViolation =
-                                              evaluateNotEmptyConnections(graph,
-                                                                          edge,
-                                                                          sourceOpt,
-                                                                          targetOpt);
-                                      emptyConnectionViolation.ifPresent(edgeViolations::add);
-                                      // Evaluate connection rules.
-                                      edgeViolations.addViolations(
-                                              evaluateConnection(ruleSet,
-                                                                 graph,
-                                                                 edge,
-                                                                 sourceOpt,
-                                                                 targetOpt)
-                                      );
-                                      // Evaluate connector cardinality rules for this edge.
-                                      if (null != edge.getTargetNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateIncomingEdgeCardinality(ruleSet,
-                                                                                  graph,
-                                                                                  edge)
-                                          );
-                                      }
-                                      if (null != edge.getSourceNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateOutgoingEdgeCardinality(ruleSet,
-                                                                                  graph,
-                                                                                  edge)
-                                          );
-                                      }
-                                  } else if (content instanceof Dock) {
-                                      final Node parent = edge.getSourceNode();
-                                      final Node docked = edge.getTargetNode();
-                                      // Evaluate docking rules for the source & target nodes.
-                                      edgeViolations.addViolations(evaluateDocking(ruleSet,
-                                                                                   graph,
-                                                                                   parent,
-                                                                                   docked));
+                                      edgeViolations = new ViolationsSet();
+                                  } else {
+                                      edgeViolations = evaluateEdge(ruleSet,
+                                                                    graph,
+                                                                    edge);
                                   }
                                   edgeValidatorConsumer.ifPresent(c -> c.accept(edge,
                                                                                 edgeViolations));
@@ -233,6 +199,297 @@ public class GraphValidatorImpl
                           });
     }
 
+    @Override
+    public GraphValidationState<RuleViolation> newValidationState() {
+        return new GraphValidationStateImpl();
+    }
+
+    /**
+     * Performs an incremental validation for the <code>graph</code> instance.
+     * <p>
+     * The first call for a given <code>state</code>, or any call for a different graph or rule set, performs
+     * a full validation and keeps its results in the <code>state</code>. Further calls only re-evaluate
+     * the rules affected by the <code>changedElements</code>:
+     * - containment rules for the changed nodes and their children
+     * - docking, connection and connector cardinality rules for the changed edges and for all the edges
+     * connected to the changed nodes or to the source and target of the changed edges
+     * - cardinality rules for the roles whose node count changed
+     * The resulting violations are the same as the ones given by a full validation of the graph.
+     * @param graph The instance to validate.
+     * @param aRuleSet The rule set to validate against it. If <code>null</code>, the default
+     * rule set for the the graph will be used.
+     * @param validationState The state that keeps the results of the previous validations for the graph,
+     * as given by {@link #newValidationState()}.
+     * @param changedElements The nodes and edges that have been added, updated or removed since the
+     * previous validation. Nodes that lost or gained connections must be included as well.
+     * @param resultConsumer The consumer for all the resulting validation violations for the graph.
+     */
+    @Override
+    public void validate(final Graph graph,
+                         final RuleSet aRuleSet,
+                         final GraphValidationState<RuleViolation> validationState,
+                         final Collection<? extends Element> changedElements,
+                         final Consumer<Collection<RuleViolation>> resultConsumer) {
+        if (!(validationState instanceof GraphValidationStateImpl)) {
+            throw new IllegalArgumentException("The validation state must be created by this validator.");
+        }
+        final GraphValidationStateImpl state = (GraphValidationStateImpl) validationState;
+        final RuleSet ruleSet = null != aRuleSet ? aRuleSet : getRuleSet(graph);
+        if (!state.isBoundTo(graph,
+                             ruleSet)) {
+            initialize(graph,
+                       ruleSet,
+                       state);
+        } else {
+            update(graph,
+                   ruleSet,
+                   state,
+                   changedElements);
+        }
+        resultConsumer.accept(state.getViolations());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void initialize(final Graph graph,
+                            final RuleSet ruleSet,
+                            final GraphValidationStateImpl state) {
+        state.bind(graph,
+                   ruleSet,
+                   getCardinalityRoles(ruleSet));
+        final Iterable<Node> nodes = graph.nodes();
+        nodes.forEach(node -> state.updateNodeLabels(node.getUUID(),
+                                                     getLabels(node)));
+        evaluateCardinality(ruleSet,
+                            state,
+                            state.getCardinalityRoles());
+        // The graph cardinality is kept per role by the state, so just the
+        // node and edge violations from the full pass are registered.
+        validate(graph,
+                 Optional.of(ruleSet),
+                 Optional.empty(),
+                 Optional.of((node, violations) -> state.setNodeViolations(node.getUUID(),
+                                                                           new ViolationsSet(violations))),
+                 Optional.of((edge, violations) -> state.setEdgeViolations(edge.getUUID(),
+                                                                           new ViolationsSet(violations))),
+                 violations -> {
+                 });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void update(final Graph graph,
+                        final RuleSet ruleSet,
+                        final GraphValidationStateImpl state,
+                        final Collection<? extends Element> changedElements) {
+        final Set<Node> nodes = new LinkedHashSet<>();
+        final Set<Edge> edges = new LinkedHashSet<>();
+        final Set<String> changedRoles = new LinkedHashSet<>();
+        for (final Element element : changedElements) {
+            if (element instanceof Node) {
+                final Node node = (Node) element;
+                if (isInGraph(graph,
+                              node)) {
+                    nodes.add(node);
+                    // The containment for the children depends on this node.
+                    nodes.addAll(getChildren(node));
+                } else {
+                    state.setNodeViolations(node.getUUID(),
+                                            null);
+                    changedRoles.addAll(state.updateNodeLabels(node.getUUID(),
+                                                               null));
+                }
+                addEdges(node,
+                         edges);
+            } else if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                final Node source = edge.getSourceNode();
+                final Node target = edge.getTargetNode();
+                edges.add(edge);
+                // The connector cardinality for the source and target depends on all of their connections.
+                if (null != source) {
+                    addEdges(source,
+                             edges);
+                }
+                if (null != target) {
+                    addEdges(target,
+                             edges);
+                    if (edge.getContent() instanceof Child && isInGraph(graph,
+                                                                        target)) {
+                        nodes.add(target);
+                    }
+                }
+            }
+        }
+        for (final Node node : nodes) {
+            changedRoles.addAll(state.updateNodeLabels(node.getUUID(),
+                                                       getLabels(node)));
+            final Element parent = getParent(node);
+            state.setNodeViolations(node.getUUID(),
+                                    new ViolationsSet().addViolations(evaluateContainment(ruleSet,
+                                                                                          graph,
+                                                                                          null != parent ? parent : graph,
+                                                                                          node)));
+        }
+        for (final Edge edge : edges) {
+            final boolean evaluate = !(edge.getContent() instanceof Child) && isInGraph(graph,
+                                                                                       edge);
+            state.setEdgeViolations(edge.getUUID(),
+                                    evaluate ? evaluateEdge(ruleSet,
+                                                            graph,
+                                                            edge) : null);
+        }
+        changedRoles.retainAll(state.getCardinalityRoles());
+        evaluateCardinality(ruleSet,
+                            state,
+                            changedRoles);
+    }
+
+    /**
+     * Evaluates the cardinality rules for each of the given roles, using the label counters
+     * from the <code>state</code> rather than counting the graph nodes again.
+     */
+    private void evaluateCardinality(final RuleSet ruleSet,
+                                     final GraphValidationStateImpl state,
+                                     final Collection<String> roles) {
+        for (final String role : roles) {
+            log(" CARDINALITY [role=" + role + "]");
+            final RuleViolations violations = ruleManager
+                    .evaluate(ruleSet,
+                              RuleContextBuilder.DomainContexts.cardinality(Collections.singleton(role),
+                                                                            state.getLabelCount(role),
+                                                                            Optional.empty()));
+            state.setCardinalityViolations(role,
+                                           new ViolationsSet().addViolations(violations));
+        }
+    }
+
+    private static Set<String> getCardinalityRoles(final RuleSet ruleSet) {
+        final Set<String> roles = new LinkedHashSet<>();
+        for (final Rule rule : ruleSet.getRules()) {
+            if (rule instanceof Occurrences) {
+                roles.add(((Occurrences) rule).getRole());
+            }
+        }
+        return roles;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> getLabels(final Node node) {
+        final Set<String> labels = node.getLabels();
+        return null != labels ? labels : Collections.emptySet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Element getParent(final Node node) {
+        final List<Edge> inEdges = node.getInEdges();
+        if (null != inEdges) {
+            for (final Edge edge : inEdges) {
+                if (edge.getContent() instanceof Child && null != edge.getSourceNode()) {
+                    return edge.getSourceNode();
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Node> getChildren(final Node node) {
+        final List<Node> children = new ArrayList<>();
+        final List<Edge> outEdges = node.getOutEdges();
+        if (null != outEdges) {
+            for (final Edge edge : outEdges) {
+                if (edge.getContent() instanceof Child && null != edge.getTargetNode()) {
+                    children.add(edge.getTargetNode());
+                }
+            }
+        }
+        return children;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addEdges(final Node node,
+                                 final Set<Edge> edges) {
+        if (null != node.getInEdges()) {
+            edges.addAll(node.getInEdges());
+        }
+        if (null != node.getOutEdges()) {
+            edges.addAll(node.getOutEdges());
+        }
+    }
+
+    private static boolean isInGraph(final Graph graph,
+                                     final Node node) {
+        return null != node && graph.getNode(node.getUUID()) == node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isInGraph(final Graph graph,
+                                     final Edge edge) {
+        final Node source = edge.getSourceNode();
+        final Node target = edge.getTargetNode();
+        return (isInGraph(graph,
+                          source) && null != source.getOutEdges() && source.getOutEdges().contains(edge)) ||
+                (isInGraph(graph,
+                           target) && null != target.getInEdges() && target.getInEdges().contains(edge));
+    }
+
+    /**
+     * Evaluates the rules for a single edge: not empty connections, connection and connector cardinality
+     * rules for view connectors, or docking rules for dock edges.
+     */
+    @SuppressWarnings("unchecked")
+    private ViolationsSet evaluateEdge(final RuleSet ruleSet,
+                                       final Graph graph,
+                                       final Edge edge) {
+        final Object content = edge.getContent();
+        final ViolationsSet edgeViolations = new ViolationsSet();
+        if (content instanceof View) {
+
+            final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
+                    Optional.ofNullable(edge.getSourceNode());
+            final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
+                    Optional.ofNullable(edge.getTargetNode());
+            // Check not empty connections.
+            final Optional<RuleViolation> emptyConnectionViolation =
+                    evaluateNotEmptyConnections(graph,
+                                                edge,
+                                                sourceOpt,
+                                                targetOpt);
+            emptyConnectionViolation.ifPresent(edgeViolations::add);
+            // Evaluate connection rules.
+            edgeViolations.addViolations(
+                    evaluateConnection(ruleSet,
+                                       graph,
+                                       edge,
+                                       sourceOpt,
+                                       targetOpt)
+            );
+            // Evaluate connector cardinality rules for this edge.
+            if (null != edge.getTargetNode()) {
+                edgeViolations.addViolations(
+                        evaluateIncomingEdgeCardinality(ruleSet,
+                                                        graph,
+                                                        edge)
+                );
+            }
+            if (null != edge.getSourceNode()) {
+                edgeViolations.addViolations(
+                        evaluateOutgoingEdgeCardinality(ruleSet,
+                                                        graph,
+                                                        edge)
+                );
+            }
+        } else if (content instanceof Dock) {
+            final Node parent = edge.getSourceNode();
+            final Node docked = edge.getTargetNode();
+            // Evaluate docking rules for the source & target nodes.
+            edgeViolations.addViolations(evaluateDocking(ruleSet,
+                                                         graph,
+                                                         parent,
+                                                         docked));
+        }
+        return edgeViolations;
+    }
+
     private RuleSet getRuleSet(final Graph<? extends DefinitionSet, ?> graph) {
         final String defSetId = graph.getContent().getDefinition();
         final Object definitionSet = definitionManager.definitionSets().getDefinitionSetById(defSetId);
@@ -353,6 +610,13 @@ public class GraphValidatorImpl
 
     private class ViolationsSet extends LinkedHashSet<RuleViolation> {
 
+        public ViolationsSet() {
+        }
+
+        public ViolationsSet(final Collection<RuleViolation> violations) {
+            super(violations);
+        }
+
         public Set<RuleViolation> addViolations(final RuleViolations items) {
             final Set<RuleViolation> result = new LinkedHashSet<>();
             items.violations().forEach(v -> {
@@ -23,6 +23,8 @@ import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.GraphBoundsIndexerImpl;
@@ -33,6 +35,7 @@ import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
@@ -127,4 +130,30 @@ public class GraphBoundsIndexerImplTest {
                      size[1],
                      0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAtAfterBoundsUpdated() {
+        final View startNodeView = (View) graphInstanceParent.startNode.getContent();
+        final Point2D parentPosition = GraphUtils.getPosition((View) graphInstanceParent.parentNode.getContent());
+        final Point2D position = GraphUtils.getPosition(startNodeView);
+        final double[] size = GraphUtils.getNodeSize(startNodeView);
+        final double oldX = parentPosition.getX() + position.getX() + (size[0] / 2);
+        final double oldY = parentPosition.getY() + position.getY() + (size[1] / 2);
+        assertNull(graphBoundsIndexerImpl.getAt(oldX + 2000,
+                                                oldY + 2000));
+
+        // Move the node and build the indexer again, as callers do before any new interaction.
+        startNodeView.setBounds(new BoundsImpl(new BoundImpl(position.getX() + 2000,
+                                                             position.getY() + 2000),
+                                               new BoundImpl(position.getX() + 2000 + size[0],
+                                                             position.getY() + 2000 + size[1])));
+        graphBoundsIndexerImpl.build(graphInstanceParent.graph);
+        assertNotEquals(graphInstanceParent.startNode,
+                        graphBoundsIndexerImpl.getAt(oldX,
+                                                     oldY));
+        assertEquals(graphInstanceParent.startNode,
+                     graphBoundsIndexerImpl.getAt(oldX + 2000,
+                                                  oldY + 2000));
+    }
+}
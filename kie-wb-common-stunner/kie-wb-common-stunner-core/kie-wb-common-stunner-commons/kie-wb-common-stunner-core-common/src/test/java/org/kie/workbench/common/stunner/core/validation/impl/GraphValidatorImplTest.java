@@ -16,9 +16,15 @@
 
 package org.kie.workbench.common.stunner.core.validation.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +32,7 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
@@ -34,12 +41,18 @@ import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleSet;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.ConnectorCardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.ElementCardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.GraphConnectionContext;
 import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
+import org.kie.workbench.common.stunner.core.rule.violations.CardinalityMinRuleViolation;
+import org.kie.workbench.common.stunner.core.rule.violations.ContainmentRuleViolation;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
+import org.kie.workbench.common.stunner.core.validation.GraphValidationState;
 import org.kie.workbench.common.stunner.core.validation.Violation;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
@@ -54,7 +67,11 @@ import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyCard
 import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyConnection;
 import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyConnectorCardinality;
 import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyContainment;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -240,6 +257,242 @@ public class GraphValidatorImplTest {
                         });
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIncrementalValidationOnlyEvaluatesChangedElements() {
+        final RuleManager ruleManager = graphTestHandler.ruleManager;
+        final RuleSet ruleSet = graphTestHandler.ruleSet;
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        final GraphValidationStateImpl state = new GraphValidationStateImpl();
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Collections.emptyList(),
+                        this::assertNoError);
+        assertTrue(state.isBoundTo(graph,
+                                   ruleSet));
+        reset(ruleManager);
+        when(ruleManager.evaluate(any(RuleSet.class),
+                                  any(RuleEvaluationContext.class))).thenReturn(new DefaultRuleViolations());
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Collections.singletonList(testGraph1.endNode),
+                        this::assertNoError);
+        final ArgumentCaptor<RuleEvaluationContext> contextCaptor = ArgumentCaptor.forClass(RuleEvaluationContext.class);
+        verify(ruleManager,
+               times(4)).evaluate(eq(ruleSet),
+                                  contextCaptor.capture());
+        final List<RuleEvaluationContext> contexts = contextCaptor.getAllValues();
+        verifyContainment((NodeContainmentContext) contexts.get(0),
+                          graph,
+                          testGraph1.endNode);
+        verifyConnection((GraphConnectionContext) contexts.get(1),
+                         testGraph1.edge2,
+                         testGraph1.intermNode,
+                         testGraph1.endNode);
+        verifyConnectorCardinality((ConnectorCardinalityContext) contexts.get(2),
+                                   graph,
+                                   testGraph1.endNode,
+                                   testGraph1.edge2,
+                                   EdgeCardinalityContext.Direction.INCOMING,
+                                   Optional.empty());
+        verifyConnectorCardinality((ConnectorCardinalityContext) contexts.get(3),
+                                   graph,
+                                   testGraph1.intermNode,
+                                   testGraph1.edge2,
+                                   EdgeCardinalityContext.Direction.OUTGOING,
+                                   Optional.empty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIncrementalValidationEmptyViewConnectorNodes() {
+        final RuleSet ruleSet = graphTestHandler.ruleSet;
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        final GraphValidationStateImpl state = new GraphValidationStateImpl();
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Collections.emptyList(),
+                        violations -> assertTrue(violations.isEmpty()));
+        graphTestHandler.removeTargetConnection(testGraph1.edge2);
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Arrays.asList(testGraph1.edge2,
+                                      testGraph1.endNode),
+                        ruleViolations -> {
+                            assertEquals(1,
+                                         ruleViolations.size());
+                            final RuleViolation violation = ruleViolations.iterator().next();
+                            assertTrue(violation instanceof EmptyConnectionViolation);
+                            assertEquals(testGraph1.edge2.getUUID(),
+                                         ((EmptyConnectionViolation) violation).getArguments().get()[0]);
+                        });
+        // Connecting the edge again clears the violation.
+        graphTestHandler.connectTo(testGraph1.edge2,
+                                   testGraph1.endNode);
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Arrays.asList(testGraph1.edge2,
+                                      testGraph1.endNode),
+                        violations -> assertTrue(violations.isEmpty()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIncrementalValidationCardinality() {
+        final RuleManager ruleManager = graphTestHandler.ruleManager;
+        final RuleSet ruleSet = graphTestHandler.ruleSet;
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        final String role = testGraph1.endNode.getLabels().iterator().next().toString();
+        when(ruleSet.getRules()).thenReturn(Collections.singletonList(new Occurrences("endOccurrences",
+                                                                                      role,
+                                                                                      0,
+                                                                                      -1)));
+        final GraphValidationStateImpl state = new GraphValidationStateImpl();
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Collections.emptyList(),
+                        this::assertNoError);
+        reset(ruleManager);
+        when(ruleManager.evaluate(any(RuleSet.class),
+                                  any(RuleEvaluationContext.class))).thenReturn(new DefaultRuleViolations());
+        graph.removeNode(testGraph1.endNode.getUUID());
+        tested.validate(graph,
+                        ruleSet,
+                        state,
+                        Collections.singletonList(testGraph1.endNode),
+                        this::assertNoError);
+        final ArgumentCaptor<RuleEvaluationContext> contextCaptor = ArgumentCaptor.forClass(RuleEvaluationContext.class);
+        verify(ruleManager,
+               atLeastOnce()).evaluate(eq(ruleSet),
+                                       contextCaptor.capture());
+        final CardinalityContext cardinalityContext = contextCaptor.getAllValues().stream()
+                .filter(context -> context instanceof CardinalityContext)
+                .map(context -> (CardinalityContext) context)
+                .findFirst()
+                .get();
+        assertEquals(Collections.singleton(role),
+                     cardinalityContext.getRoles());
+        assertEquals(state.getLabelCount(role),
+                     cardinalityContext.getCandidateCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIncrementalValidationIsTheSameAsAFullValidation() {
+        final RuleManager ruleManager = graphTestHandler.ruleManager;
+        final RuleSet ruleSet = graphTestHandler.ruleSet;
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        final String role = testGraph1.endNode.getLabels().iterator().next().toString();
+        when(ruleSet.getRules()).thenReturn(Collections.singletonList(new Occurrences("endOccurrences",
+                                                                                      role,
+                                                                                      1,
+                                                                                      -1)));
+        // The intermediate node is never accepted by its parent and the end node role is mandatory.
+        when(ruleManager.evaluate(any(RuleSet.class),
+                                  any(RuleEvaluationContext.class))).thenAnswer(invocation -> {
+            final Object context = invocation.getArguments()[1];
+            final DefaultRuleViolations violations = new DefaultRuleViolations();
+            if (context instanceof NodeContainmentContext &&
+                    testGraph1.intermNode.equals(((NodeContainmentContext) context).getCandidate())) {
+                violations.addViolation(new ContainmentRuleViolation(((NodeContainmentContext) context).getParent().getUUID(),
+                                                                     testGraph1.intermNode.getUUID()));
+            } else if (context instanceof ElementCardinalityContext) {
+                final long count = StreamSupport.stream(((ElementCardinalityContext) context).getGraph().nodes().spliterator(),
+                                                        false)
+                        .filter(node -> ((Node) node).getLabels().contains(role))
+                        .count();
+                addCardinalityViolation(violations,
+                                        role,
+                                        (int) count);
+            } else if (context instanceof CardinalityContext &&
+                    ((CardinalityContext) context).getRoles().contains(role)) {
+                addCardinalityViolation(violations,
+                                        role,
+                                        ((CardinalityContext) context).getCandidateCount());
+            }
+            return violations;
+        });
+        final GraphValidationState<RuleViolation> state = tested.newValidationState();
+        assertSameAsFullValidation(state,
+                                   Collections.emptyList(),
+                                   1);
+        graphTestHandler.removeTargetConnection(testGraph1.edge2);
+        assertSameAsFullValidation(state,
+                                   Arrays.asList(testGraph1.edge2,
+                                                 testGraph1.endNode),
+                                   2);
+        graph.removeNode(testGraph1.endNode.getUUID());
+        assertSameAsFullValidation(state,
+                                   Collections.singletonList(testGraph1.endNode),
+                                   3);
+        graph.addNode(testGraph1.endNode);
+        graphTestHandler.connectTo(testGraph1.edge2,
+                                   testGraph1.endNode);
+        assertSameAsFullValidation(state,
+                                   Arrays.asList(testGraph1.edge2,
+                                                 testGraph1.endNode),
+                                   1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testIncrementalValidationWithAForeignState() {
+        tested.validate(graphTestHandler.graph,
+                        graphTestHandler.ruleSet,
+                        mock(GraphValidationState.class),
+                        Collections.emptyList(),
+                        this::assertNoError);
+    }
+
+    private void assertSameAsFullValidation(final GraphValidationState<RuleViolation> state,
+                                            final Collection<? extends Element> changedElements,
+                                            final int expectedCount) {
+        final List<RuleViolation> incremental = new ArrayList<>();
+        final List<RuleViolation> full = new ArrayList<>();
+        tested.validate(graphTestHandler.graph,
+                        graphTestHandler.ruleSet,
+                        state,
+                        changedElements,
+                        incremental::addAll);
+        tested.validate(graphTestHandler.graph,
+                        graphTestHandler.ruleSet,
+                        full::addAll);
+        assertEquals(expectedCount,
+                     describe(full).size());
+        assertEquals(describe(full),
+                     describe(incremental));
+        assertEquals(describe(full),
+                     describe(state.getViolations()));
+    }
+
+    private static Set<String> describe(final Collection<RuleViolation> violations) {
+        return violations.stream()
+                .map(violation -> violation.getClass().getSimpleName() +
+                        Arrays.toString(violation.getArguments().orElse(new Object[0])))
+                .collect(Collectors.toSet());
+    }
+
+    private static void addCardinalityViolation(final DefaultRuleViolations violations,
+                                                final String role,
+                                                final int count) {
+        if (count < 1) {
+            violations.addViolation(new CardinalityMinRuleViolation(role,
+                                                                    1,
+                                                                    count,
+                                                                    Violation.Type.ERROR));
+        }
+    }
+
     private void assertNoError(final Collection<RuleViolation> violations) {
         assertFalse(violations.stream()
                             .filter(v -> Violation.Type.ERROR.equals(v.getViolationType()))
@@ -128,9 +128,8 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
 
     public Definitions marshallToBpmn2Definitions(final Diagram<Graph, Metadata> diagram) throws IOException {
         String marshalled = marshall(diagram);
-        try (InputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(marshalled.getBytes(StandardCharsets.UTF_8)))) {
-            return parseDefinitions(inputStream);
-        }
+        return ProcessDefinitionsCache.getInstance().getDefinitions(marshalled,
+                                                                    BPMNDirectDiagramMarshaller::parseDefinitions);
     }
 
     private String renderToString(Bpmn2Resource resource) throws IOException {
@@ -148,7 +147,8 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
         // definition resolver provides utlities to access elements of the BPMN datamodel
         DefinitionResolver definitionResolver =
                 new DefinitionResolver(
-                        parseDefinitions(inputStream),
+                        ProcessDefinitionsCache.getInstance().getDefinitions(readContent(inputStream),
+                                                                             BPMNDirectDiagramMarshaller::parseDefinitions),
                         workItemDefinitionService.execute(metadata));
 
         metadata.setCanvasRootUUID(definitionResolver.getDefinitions().getId());
@@ -212,6 +212,22 @@ public class BPMNDirectDiagramMarshaller implements DiagramMarshaller<Graph, Met
         return diagramMetadataMarshaller;
     }
 
+    private static String readContent(final InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toString("UTF-8");
+    }
+
+    static Definitions parseDefinitions(final String content) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))) {
+            return parseDefinitions(inputStream);
+        }
+    }
+
     private static Definitions parseDefinitions(final InputStream inputStream) throws IOException {
         DroolsPackageImpl.init();
         BpsimPackageImpl.init();
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.kie.api.definition.process.Process;
+
+/**
+ * Keeps the last parsed BPMN2 contents, keyed by the hash of their content, so that the marshaller, the validator and
+ * any other backend consumer of the same process do not parse it again.
+ * EMF definitions are not thread safe, so every caller gets its own copy of them. Cached processes are shared and
+ * must be treated as read-only.
+ */
+public class ProcessDefinitionsCache {
+
+    private static final String CACHE_SIZE_PROPERTY = "bpmn.parse.cache.size";
+
+    private static final ProcessDefinitionsCache INSTANCE = new ProcessDefinitionsCache(Integer.getInteger(CACHE_SIZE_PROPERTY,
+                                                                                                            32));
+
+    @FunctionalInterface
+    public interface Parser<T, E extends Exception> {
+
+        T parse(String content) throws E;
+    }
+
+    private final Map<Key, Object> entries;
+
+    ProcessDefinitionsCache(final int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, Object>(16,
+                                                                                  0.75f,
+                                                                                  true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public static ProcessDefinitionsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return A copy of the EMF definitions of the given content, owned by the caller
+     */
+    public <E extends Exception> Definitions getDefinitions(final String content,
+                                                            final Parser<Definitions, E> parser) throws E {
+        return get(new Key(Definitions.class,
+                           hash(content),
+                           null),
+                   content,
+                   parser,
+                   ProcessDefinitionsCache::copy);
+    }
+
+    /**
+     * @return The jBPM processes of the given content, as read with the given class loader. The class loader is only
+     * weakly referenced by the cache, the entries of a collected class loader are dropped
+     */
+    public <E extends Exception> List<Process> getProcesses(final String content,
+                                                            final ClassLoader classLoader,
+                                                            final Parser<List<Process>, E> parser) throws E {
+        return get(new Key(Process.class,
+                           hash(content),
+                           classLoader),
+                   content,
+                   value -> {
+                       final List<Process> processes = parser.parse(value);
+                       return processes != null ? Collections.unmodifiableList(processes) : null;
+                   },
+                   UnaryOperator.identity());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * The cached value is never handed out as is when a copier is given: hits get a copy of it, and on a miss the
+     * caller keeps the parsed value while a copy of it is cached.
+     */
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T get(final Key key,
+                                           final String content,
+                                           final Parser<T, E> parser,
+                                           final UnaryOperator<T> copier) throws E {
+        removeCollectedClassLoaders();
+        final Object cached = entries.get(key);
+        if (cached != null) {
+            return copier.apply((T) cached);
+        }
+        //Parsed outside of the lock, concurrent parses of the same content are harmless
+        final T parsed = parser.parse(content);
+        if (parsed != null) {
+            entries.put(key,
+                        copier.apply(parsed));
+        }
+        return parsed;
+    }
+
+    private void removeCollectedClassLoaders() {
+        synchronized (entries) {
+            entries.keySet().removeIf(Key::isClassLoaderCollected);
+        }
+    }
+
+    private static Definitions copy(final Definitions definitions) {
+        //Reading an EMF object may resolve proxies or create its lists, concurrent copies of the same cached definitions
+        //are serialized. Copies of different contents don't wait for each other, and a copy is still much cheaper
+        //than a parse (see ProcessDefinitionsCacheTest#testCachedCopiesAreCheaperThanParsing)
+        synchronized (definitions) {
+            return EcoreUtil.copy(definitions);
+        }
+    }
+
+    private static String hash(final String content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x",
+                                        b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Key {
+
+        private final Class<?> type;
+        private final String hash;
+        //Weakly referenced, the cache must not keep the class loaders of the projects alive
+        private final WeakReference<ClassLoader> classLoader;
+        private final int classLoaderHash;
+
+        Key(final Class<?> type,
+            final String hash,
+            final ClassLoader classLoader) {
+            this.type = type;
+            this.hash = hash;
+            this.classLoader = classLoader != null ? new WeakReference<>(classLoader) : null;
+            this.classLoaderHash = System.identityHashCode(classLoader);
+        }
+
+        boolean isClassLoaderCollected() {
+            return classLoader != null && classLoader.get() == null;
+        }
+
+        private ClassLoader getClassLoader() {
+            return classLoader != null ? classLoader.get() : null;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            final ClassLoader loader = getClassLoader();
+            return type == key.type &&
+                    hash.equals(key.hash) &&
+                    (classLoader == null ? key.classLoader == null : loader != null && loader == key.getClassLoader());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type,
+                                hash,
+                                classLoaderHash);
+        }
+    }
+}
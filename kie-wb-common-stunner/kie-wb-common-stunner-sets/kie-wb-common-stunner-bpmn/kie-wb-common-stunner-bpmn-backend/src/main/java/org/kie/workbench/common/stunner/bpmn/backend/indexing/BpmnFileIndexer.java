@@ -95,15 +95,17 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         String bpmnStr = ioService.readAllString(path);
         ClassLoader moduleClassLoader = getModuleClassLoader(module);
 
+        boolean built = false;
         try {
             List<BpmnProcessDataEventListener> processDataList = buildProcessDefinition(bpmnStr,
                                                                                         moduleClassLoader);
-            if (processDataList != null) {
+            if (processDataList != null && !processDataList.isEmpty()) {
                 for (BpmnProcessDataEventListener processData : processDataList) {
                     addReferencedResourcesToIndexBuilder(builder,
                                                          processData);
                     builder.setPackageName(processData.getProcess().getPackageName());
                 }
+                built = true;
             }
         } catch (Exception e) {
             // log and ignore
@@ -132,6 +134,9 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
          * So until we can refactor the ProcessBuilderImpl logic (using functional logic for conditional handling?)
          * to be used here, let's keep it simple (as in, parsing the BPMN2 a second time when the build fails..)
          */
+        if (built) {
+            return builder;
+        }
 
         // parse process definitions
         XmlProcessReader processReader = new XmlProcessReader(modules,
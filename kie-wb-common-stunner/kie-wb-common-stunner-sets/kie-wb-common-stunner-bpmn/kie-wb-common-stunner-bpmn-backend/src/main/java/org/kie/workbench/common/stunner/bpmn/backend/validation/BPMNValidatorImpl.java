@@ -40,6 +40,7 @@ import org.jbpm.compiler.xml.XmlProcessReader;
 import org.jbpm.ruleflow.core.validation.RuleFlowProcessValidator;
 import org.kie.api.definition.process.Process;
 import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
+import org.kie.workbench.common.stunner.bpmn.backend.ProcessDefinitionsCache;
 import org.kie.workbench.common.stunner.bpmn.validation.BPMNValidator;
 import org.kie.workbench.common.stunner.bpmn.validation.BPMNViolation;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
@@ -112,8 +113,11 @@ public class BPMNValidatorImpl implements BPMNValidator {
         return Arrays.asList(new BPMNViolation(message.get(), Violation.Type.WARNING));
     }
 
-    private List<Process> parseProcess(String serializedProcess) throws SAXException, IOException {
-        return new XmlProcessReader(modules, getClass().getClassLoader()).read(new StringReader(serializedProcess));
+    private List<Process> parseProcess(String serializedProcess) throws Exception {
+        final ClassLoader classLoader = getClass().getClassLoader();
+        return ProcessDefinitionsCache.getInstance().getProcesses(serializedProcess,
+                                                                  classLoader,
+                                                                  content -> new XmlProcessReader(modules, classLoader).read(new StringReader(content)));
     }
 
     @Override
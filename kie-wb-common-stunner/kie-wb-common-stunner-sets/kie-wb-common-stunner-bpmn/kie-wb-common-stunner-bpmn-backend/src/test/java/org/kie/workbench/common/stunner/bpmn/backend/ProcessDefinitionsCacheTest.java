@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+
+import org.eclipse.bpmn2.Bpmn2Factory;
+import org.eclipse.bpmn2.Definitions;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.definition.process.Process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ProcessDefinitionsCacheTest {
+
+    private static final String CONTENT = "<definitions id=\"first\"/>";
+    private static final String OTHER_CONTENT = "<definitions id=\"second\"/>";
+    private static final String PROCESS = "/org/kie/workbench/common/stunner/bpmn/backend/service/diagram/embeddedSubprocess.bpmn";
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 10;
+
+    private ProcessDefinitionsCache cache;
+
+    private AtomicInteger parses;
+
+    @Before
+    public void setUp() {
+        cache = new ProcessDefinitionsCache(2);
+        parses = new AtomicInteger();
+    }
+
+    @Test
+    public void testDefinitionsAreParsedOncePerContent() {
+        final Definitions definitions = cache.getDefinitions(CONTENT,
+                                                             this::parseDefinitions);
+
+        assertEquals(CONTENT,
+                     cache.getDefinitions(CONTENT,
+                                          this::parseDefinitions).getId());
+        assertEquals(1,
+                     parses.get());
+        assertEquals(CONTENT,
+                     definitions.getId());
+
+        cache.getDefinitions(OTHER_CONTENT,
+                             this::parseDefinitions);
+        assertEquals(2,
+                     parses.get());
+    }
+
+    @Test
+    public void testEachCallerGetsItsOwnDefinitions() {
+        final Definitions first = cache.getDefinitions(CONTENT,
+                                                       this::parseDefinitions);
+        final Definitions second = cache.getDefinitions(CONTENT,
+                                                        this::parseDefinitions);
+        assertNotSame(first,
+                      second);
+
+        first.setId("changed");
+        second.setName("changed");
+        final Definitions third = cache.getDefinitions(CONTENT,
+                                                       this::parseDefinitions);
+        assertNotSame(second,
+                      third);
+        assertEquals(CONTENT,
+                     third.getId());
+        assertNull(third.getName());
+        assertEquals(1,
+                     parses.get());
+    }
+
+    @Test
+    public void testProcessesAreCachedPerClassLoader() {
+        final ClassLoader classLoader = getClass().getClassLoader();
+        final ClassLoader otherClassLoader = new ClassLoader(classLoader) {
+        };
+
+        final List<Process> processes = cache.getProcesses(CONTENT,
+                                                           classLoader,
+                                                           this::parseProcesses);
+        assertEquals(processes,
+                     cache.getProcesses(CONTENT,
+                                        classLoader,
+                                        this::parseProcesses));
+        assertEquals(1,
+                     parses.get());
+
+        cache.getProcesses(CONTENT,
+                           otherClassLoader,
+                           this::parseProcesses);
+        assertEquals(2,
+                     parses.get());
+    }
+
+    @Test
+    public void testClassLoadersAreNotKeptAlive() throws Exception {
+        ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+        };
+        final WeakReference<ClassLoader> reference = new WeakReference<>(classLoader);
+        cache.getProcesses(CONTENT,
+                           classLoader,
+                           this::parseProcesses);
+        assertEquals(1,
+                     cache.size());
+
+        classLoader = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertNull(reference.get());
+
+        cache.getDefinitions(OTHER_CONTENT,
+                             this::parseDefinitions);
+        assertEquals(1,
+                     cache.size());
+    }
+
+    /**
+     * Every caller of the same content waits for the others while copying the cached definitions, so the hits are
+     * measured in the worst case: all the threads getting the same process at once
+     */
+    @Test
+    public void testCachedCopiesAreCheaperThanParsing() throws Exception {
+        final String content = loadProcess();
+        final ProcessDefinitionsCache cache = new ProcessDefinitionsCache(1);
+        cache.getDefinitions(content,
+                             BPMNDirectDiagramMarshaller::parseDefinitions);
+
+        final long parseTime = measure(() -> BPMNDirectDiagramMarshaller.parseDefinitions(content));
+        final long hitTime = measure(() -> cache.getDefinitions(content,
+                                                                BPMNDirectDiagramMarshaller::parseDefinitions));
+
+        assertTrue("Cache hits took " + hitTime + "ns, parses took " + parseTime + "ns",
+                   hitTime < parseTime);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCachedProcessesAreReadOnly() {
+        cache.getProcesses(CONTENT,
+                           getClass().getClassLoader(),
+                           this::parseProcesses).clear();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        cache.getDefinitions(CONTENT,
+                             this::parseDefinitions);
+        cache.getDefinitions(OTHER_CONTENT,
+                             this::parseDefinitions);
+        cache.getDefinitions("<definitions id=\"third\"/>",
+                             this::parseDefinitions);
+        assertEquals(2,
+                     cache.size());
+
+        cache.getDefinitions(CONTENT,
+                             this::parseDefinitions);
+        assertEquals(4,
+                     parses.get());
+    }
+
+    @Test
+    public void testFailedParsesAreNotCached() {
+        assertNull(cache.getDefinitions(CONTENT,
+                                        content -> null));
+        assertEquals(0,
+                     cache.size());
+    }
+
+    private long measure(final Callable<Definitions> task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Callable<Definitions>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS * ITERATIONS; i++) {
+                tasks.add(task);
+            }
+            //warm up
+            for (Future<Definitions> result : executor.invokeAll(tasks)) {
+                assertNotNull(result.get());
+            }
+            final long start = System.nanoTime();
+            for (Future<Definitions> result : executor.invokeAll(tasks)) {
+                assertNotNull(result.get());
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String loadProcess() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream(PROCESS)) {
+            return IOUtils.toString(inputStream,
+                                    StandardCharsets.UTF_8);
+        }
+    }
+
+    private Definitions parseDefinitions(final String content) {
+        parses.incrementAndGet();
+        final Definitions definitions = Bpmn2Factory.eINSTANCE.createDefinitions();
+        definitions.setId(content);
+        return definitions;
+    }
+
+    private List<Process> parseProcesses(final String content) {
+        parses.incrementAndGet();
+        final List<Process> processes = new ArrayList<>();
+        processes.add(mock(Process.class));
+        return processes;
+    }
+}